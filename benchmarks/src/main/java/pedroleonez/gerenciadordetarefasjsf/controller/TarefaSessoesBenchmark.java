@@ -0,0 +1,92 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.BancoBenchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma sessão conforme o número de sessões cresce. {@code sessoes} telas ({@link TarefaBean} +
+ * {@link TarefaTabelaBean} com a primeira página carregada) ficam abertas durante toda a medição, e cada thread
+ * do JMH é um usuário com a própria sessão ({@link Usuario}): com {@code -t N}, N sessões distintas usam o
+ * repositório compartilhado ao mesmo tempo. {@link #abrirSessao} mede a chegada de uma sessão nova;
+ * {@link #recarregarTela}, a navegação de uma sessão já aberta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarefaSessoesBenchmark {
+
+    private static final int TAMANHO_PAGINA = 10;
+
+    @Param({"100000"})
+    public int tamanho;
+
+    @Param({"1", "100", "1000"})
+    public int sessoes;
+
+    private BancoBenchmark banco;
+    // Mantidas vivas apenas para ocupar o heap e os caches como sessões reais abertas
+    private TarefaTabelaBean[] abertas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = new BancoBenchmark(tamanho);
+        abertas = new TarefaTabelaBean[sessoes];
+        for (int i = 0; i < sessoes; i++) {
+            abertas[i] = new TarefaTabelaBean(banco.getRepository(), new TarefaBean(banco.getRepository()));
+            primeiraPagina(abertas[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.encerrar();
+    }
+
+    /** Sessão de um usuário (uma por thread do JMH), reaproveitada entre as chamadas dessa thread. */
+    @State(Scope.Thread)
+    public static class Usuario {
+
+        TarefaBean sessao;
+
+        @Setup(Level.Trial)
+        public void entrar(TarefaSessoesBenchmark estado) {
+            sessao = new TarefaBean(estado.banco.getRepository());
+        }
+    }
+
+    @Benchmark
+    public List<TarefaResumo> abrirSessao() {
+        return primeiraPagina(new TarefaTabelaBean(banco.getRepository(), new TarefaBean(banco.getRepository())));
+    }
+
+    @Benchmark
+    public List<TarefaResumo> recarregarTela(Usuario usuario) {
+        return primeiraPagina(new TarefaTabelaBean(banco.getRepository(), usuario.sessao));
+    }
+
+    // Inicializa a tela como o CDI faria ao abrir index.xhtml e lê a primeira página
+    private static List<TarefaResumo> primeiraPagina(TarefaTabelaBean tela) {
+        tela.init();
+        return tela.getTarefas().load(0, TAMANHO_PAGINA, Collections.emptyMap(), Collections.emptyMap());
+    }
+}
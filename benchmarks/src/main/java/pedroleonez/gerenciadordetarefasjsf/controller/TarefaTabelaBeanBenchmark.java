@@ -0,0 +1,71 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.BancoBenchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho da tabela ao abrir a tela ou aplicar um filtro: a tela é montada como o CDI faria, os critérios
+ * digitados na sessão são aplicados e a primeira página é carregada pelo {@link TarefaLazyDataModel}
+ * (contagem e página). Com {@link BancoBenchmark.Filtro#PADRAO} o caminho é o de {@code listarTarefas}.
+ * A contagem roda de forma síncrona, como quando o executor do repositório está ocupado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarefaTabelaBeanBenchmark {
+
+    private static final int TAMANHO_PAGINA = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"PADRAO", "RESPONSAVEL", "PRIORIDADE", "TEXTO", "COMBINADO", "ID"})
+    public BancoBenchmark.Filtro filtro;
+
+    private BancoBenchmark banco;
+    private TarefaBean sessao;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = new BancoBenchmark(tamanho);
+        sessao = new TarefaBean(banco.getRepository());
+        sessao.setFiltroId(filtro.id);
+        sessao.setFiltroTitulo(filtro.tituloOuDescricao);
+        sessao.setFiltroResponsavel(filtro.responsavel);
+        sessao.setFiltroPrioridade(filtro.prioridade);
+        sessao.setFiltroSituacao(filtro.situacao);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.encerrar();
+    }
+
+    @Benchmark
+    public List<TarefaResumo> filtrarTarefas() {
+        TarefaTabelaBean tela = new TarefaTabelaBean(banco.getRepository(), sessao);
+        tela.init();
+        tela.filtrarTarefas();
+        return tela.getTarefas().load(0, TAMANHO_PAGINA, Collections.emptyMap(), Collections.emptyMap());
+    }
+}
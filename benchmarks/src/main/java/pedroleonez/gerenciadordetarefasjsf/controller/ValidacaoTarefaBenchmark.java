@@ -0,0 +1,76 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação feita por {@code TarefaBean#salvarTarefa} antes de persistir: o mesmo validador padrão (mensagens
+ * interpoladas por EL, como no Tomcat) e a consolidação das mensagens sem duplicidade. O restante do método
+ * depende do {@code FacesContext} e é coberto pelos benchmarks do repositório.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoTarefaBenchmark {
+
+    private Validator validator;
+    private Tarefa valida;
+    private Tarefa invalida;
+
+    @Setup
+    public void preparar() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+        valida = new Tarefa();
+        valida.setTitulo("Revisar relatório mensal");
+        valida.setDescricao("Conferir os números do fechamento antes do envio.");
+        valida.setResponsavel("Maria");
+        valida.setPrioridade(Tarefa.Prioridade.ALTA);
+        valida.setDeadline(LocalDate.now().plusDays(3));
+        valida.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
+
+        // Formulário enviado quase vazio e com prazo vencido: várias violações de uma vez
+        invalida = new Tarefa();
+        invalida.setTitulo(" ");
+        invalida.setDeadline(LocalDate.now().minusDays(1));
+        invalida.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
+    }
+
+    @Benchmark
+    public Set<String> validarTarefaValida() {
+        return mensagens(valida);
+    }
+
+    @Benchmark
+    public Set<String> validarTarefaInvalida() {
+        return mensagens(invalida);
+    }
+
+    // Mesmo percurso de salvarTarefa: valida e reúne as mensagens distintas
+    private Set<String> mensagens(Tarefa tarefa) {
+        Set<ConstraintViolation<Tarefa>> violations = validator.validate(tarefa, Tarefa.Cadastro.class);
+        Set<String> mensagens = new LinkedHashSet<>();
+        violations.forEach(violation -> mensagens.add(violation.getMessage()));
+        return mensagens;
+    }
+}
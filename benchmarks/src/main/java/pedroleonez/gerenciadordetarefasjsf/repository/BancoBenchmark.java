@@ -0,0 +1,94 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Banco dos benchmarks: H2 em memória (modo PostgreSQL) com as migrações da aplicação e {@code tamanho} tarefas
+ * inseridas de uma vez pelo próprio banco. Responsáveis, prioridades, situações, prazos e palavras do título
+ * variam com o id, para que cada combinação de filtro tenha seletividade conhecida:
+ * 1/4 das tarefas por responsável, 1/3 por prioridade, 3/4 em andamento e 1/5 com "relatório" no título.
+ * O repositório só é criado depois da carga, como na subida da aplicação (índice textual e catálogo em memória).
+ */
+public final class BancoBenchmark {
+
+    public static final String UNIDADE = "tarefasPU-bench";
+
+    private final EntityManagerFactoryProducer producer = new EntityManagerFactoryProducer();
+    private final EntityManagerFactory emf;
+    private final TarefaRepository repository;
+    private final int tamanho;
+
+    public BancoBenchmark(int tamanho) {
+        this.tamanho = tamanho;
+        System.setProperty(EntityManagerFactoryProducer.PERSISTENCE_UNIT_PROPERTY, UNIDADE);
+        emf = producer.criarEntityManagerFactory();
+        popular(tamanho);
+        repository = new TarefaRepository(emf);
+        System.out.println("[DB] Banco de benchmark com " + tamanho + " tarefas.");
+    }
+
+    public TarefaRepository getRepository() {
+        return repository;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void encerrar() {
+        producer.fecharEntityManagerFactory(emf);
+        System.clearProperty(EntityManagerFactoryProducer.PERSISTENCE_UNIT_PROPERTY);
+    }
+
+    private void popular(int tamanho) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("INSERT INTO tarefas (id, titulo, descricao, responsavel, prioridade, deadline, situacao) "
+                    + "SELECT X, "
+                    + "CASE MOD(X, 5) WHEN 0 THEN 'Revisar relatório ' WHEN 1 THEN 'Atualizar planilha ' "
+                    + "WHEN 2 THEN 'Preparar reunião ' WHEN 3 THEN 'Corrigir cadastro ' ELSE 'Enviar proposta ' END || X, "
+                    + "REPEAT('Descrição detalhada ', 12) || X, "
+                    + "CASE MOD(X, 4) WHEN 0 THEN 'Ana' WHEN 1 THEN 'João' WHEN 2 THEN 'Maria' ELSE 'Carlos' END, "
+                    + "CASE MOD(X, 3) WHEN 0 THEN 'ALTA' WHEN 1 THEN 'MEDIA' ELSE 'BAIXA' END, "
+                    + "DATEADD('DAY', MOD(X, 730) - 30, CURRENT_DATE), "
+                    + "CASE WHEN MOD(X / 4, 4) = 3 THEN 'CONCLUIDA' ELSE 'EM_ANDAMENTO' END "
+                    + "FROM SYSTEM_RANGE(1, " + tamanho + ")")
+                    .executeUpdate();
+            // Ids gerados pela aplicação continuam depois da carga (a sequência é reservada em blocos de 50)
+            em.createNativeQuery("ALTER SEQUENCE tarefas_id_seq RESTART WITH " + (tamanho + 100L)).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Combinações de filtro medidas; a seletividade de cada uma segue a distribuição da carga. */
+    public enum Filtro {
+        /** Tela inicial: apenas em andamento. */
+        PADRAO(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO),
+        RESPONSAVEL(null, null, "Maria", null, Tarefa.Situacao.EM_ANDAMENTO),
+        PRIORIDADE(null, null, null, Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO),
+        TEXTO(null, "relatorio", null, null, null),
+        COMBINADO(null, "relatorio", "Maria", Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO),
+        ID(500L, null, null, null, null);
+
+        public final Long id;
+        public final String tituloOuDescricao;
+        public final String responsavel;
+        public final Tarefa.Prioridade prioridade;
+        public final Tarefa.Situacao situacao;
+
+        Filtro(Long id, String tituloOuDescricao, String responsavel, Tarefa.Prioridade prioridade,
+               Tarefa.Situacao situacao) {
+            this.id = id;
+            this.tituloOuDescricao = tituloOuDescricao;
+            this.responsavel = responsavel;
+            this.prioridade = prioridade;
+            this.situacao = situacao;
+        }
+    }
+}
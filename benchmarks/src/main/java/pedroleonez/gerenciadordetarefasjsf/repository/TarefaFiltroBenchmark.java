@@ -0,0 +1,82 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtros do {@link TarefaRepository} por tamanho de tabela e combinação de filtro ({@link BancoBenchmark.Filtro}):
+ * a primeira página de entidades, a mesma página como {@link TarefaResumo} e a contagem usada pelo paginador.
+ * O cache de consultas fica ativo, como em produção, por isso a página varia a cada chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarefaFiltroBenchmark {
+
+    private static final int TAMANHO_PAGINA = 10;
+    private static final int PAGINAS = 50;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"PADRAO", "RESPONSAVEL", "PRIORIDADE", "TEXTO", "COMBINADO", "ID"})
+    public BancoBenchmark.Filtro filtro;
+
+    private BancoBenchmark banco;
+    private TarefaRepository repository;
+    private int pagina;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = new BancoBenchmark(tamanho);
+        repository = banco.getRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.encerrar();
+    }
+
+    @Benchmark
+    public List<Tarefa> filtrar() {
+        return repository.filtrar(filtro.id, filtro.tituloOuDescricao, filtro.responsavel, filtro.prioridade,
+                filtro.situacao, proximaPagina(), TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public List<TarefaResumo> resumir() {
+        return repository.resumir(filtro.id, filtro.tituloOuDescricao, filtro.responsavel, filtro.prioridade,
+                filtro.situacao, proximaPagina(), TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public long contar() {
+        return repository.contar(filtro.id, filtro.tituloOuDescricao, filtro.responsavel, filtro.prioridade,
+                filtro.situacao);
+    }
+
+    // Alterna entre as primeiras páginas, as mais acessadas na tela
+    private int proximaPagina() {
+        pagina = (pagina + 1) % PAGINAS;
+        return pagina * TAMANHO_PAGINA;
+    }
+}
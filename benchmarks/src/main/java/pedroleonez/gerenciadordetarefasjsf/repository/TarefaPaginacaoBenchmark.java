@@ -0,0 +1,89 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paginação da tela inicial (em andamento) com OFFSET ({@link TarefaRepository#filtrar}) e com cursor
+ * ({@link TarefaRepository#filtrarApos}), a partir da página {@code pagina}. Cada chamada lê uma das
+ * {@value #PAGINAS} páginas seguintes, para não medir o cache de consultas; os cursores são obtidos no setup,
+ * como a tabela os teria após navegar até ali.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarefaPaginacaoBenchmark {
+
+    private static final int TAMANHO_PAGINA = 10;
+    private static final int PAGINAS = 30;
+    private static final BancoBenchmark.Filtro FILTRO = BancoBenchmark.Filtro.PADRAO;
+
+    // 3/4 em andamento: 1 milhão de tarefas cobrem a página 10.000 e as seguintes
+    @Param({"1000000"})
+    public int tamanho;
+
+    @Param({"1", "1000", "10000"})
+    public int pagina;
+
+    private BancoBenchmark banco;
+    private TarefaRepository repository;
+    private String[] cursores;
+    private int indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = new BancoBenchmark(tamanho);
+        repository = banco.getRepository();
+        cursores = new String[PAGINAS];
+        for (int i = 0; i < PAGINAS; i++) {
+            int primeiro = primeiro(i);
+            cursores[i] = primeiro == 0 ? null : CursorTarefa.de(repository.filtrar(FILTRO.id, FILTRO.tituloOuDescricao,
+                    FILTRO.responsavel, FILTRO.prioridade, FILTRO.situacao, primeiro - 1, 1).get(0)).codificar();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.encerrar();
+    }
+
+    @Benchmark
+    public List<Tarefa> offset() {
+        return repository.filtrar(FILTRO.id, FILTRO.tituloOuDescricao, FILTRO.responsavel, FILTRO.prioridade,
+                FILTRO.situacao, primeiro(proximo()), TAMANHO_PAGINA);
+    }
+
+    @Benchmark
+    public PaginaTarefas<Tarefa> cursor() {
+        return repository.filtrarApos(FILTRO.id, FILTRO.tituloOuDescricao, FILTRO.responsavel, FILTRO.prioridade,
+                FILTRO.situacao, cursores[proximo()], TAMANHO_PAGINA);
+    }
+
+    private int proximo() {
+        indice = (indice + 1) % PAGINAS;
+        return indice;
+    }
+
+    // Primeira linha da i-ésima página medida
+    private int primeiro(int i) {
+        return (pagina - 1 + i) * TAMANHO_PAGINA;
+    }
+}
@@ -0,0 +1,82 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritas e leituras do {@link TarefaRepository} por tamanho de tabela: inclusão, edição (leitura da tarefa e
+ * atualização, como no diálogo) e a listagem completa. As inclusões ficam no banco durante o fork, então a tabela
+ * cresce um pouco ao longo das iterações; o efeito é desprezível frente aos tamanhos medidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class TarefaRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    private BancoBenchmark banco;
+    private TarefaRepository repository;
+    private long proximoId;
+    private long sequencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        banco = new BancoBenchmark(tamanho);
+        repository = banco.getRepository();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        banco.encerrar();
+    }
+
+    @Benchmark
+    public Long salvar() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo("Tarefa de benchmark " + (++sequencia));
+        tarefa.setDescricao("Incluída pelo benchmark de salvar.");
+        tarefa.setResponsavel("Ana");
+        tarefa.setPrioridade(Tarefa.Prioridade.MEDIA);
+        tarefa.setDeadline(LocalDate.now().plusDays(7));
+        tarefa.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
+        repository.salvar(tarefa);
+        return tarefa.getId();
+    }
+
+    @Benchmark
+    public Tarefa atualizar() {
+        // Percorre as tarefas da carga em ordem, para não medir apenas linhas já no cache de segundo nível
+        proximoId = proximoId % tamanho + 1;
+        Tarefa tarefa = repository.buscarPorId(proximoId);
+        tarefa.setTitulo("Tarefa editada " + (++sequencia));
+        repository.atualizar(tarefa);
+        return tarefa;
+    }
+
+    @Benchmark
+    @Measurement(iterations = 3, time = 5)
+    public List<Tarefa> listarTodas() {
+        return repository.listarTodas();
+    }
+}
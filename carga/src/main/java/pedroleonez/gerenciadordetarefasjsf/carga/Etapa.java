@@ -0,0 +1,21 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+/** Requisições de um fluxo completo em {@code index.xhtml}, na ordem em que o usuário virtual as faz. */
+enum Etapa {
+    ABRIR_PAGINA("abrir página"),
+    ABRIR_DIALOGO("abrir dlgNovaTarefa"),
+    SALVAR("salvar"),
+    FILTRAR("filtrar (filtroForm)"),
+    CONCLUIR("concluir"),
+    REMOVER("remover");
+
+    private final String rotulo;
+
+    Etapa(String rotulo) {
+        this.rotulo = rotulo;
+    }
+
+    String getRotulo() {
+        return rotulo;
+    }
+}
@@ -0,0 +1,99 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências de um estágio da rampa. Guarda todas as amostras (e não faixas, como o {@code Histograma} da
+ * aplicação) para que p50 e p99 sejam exatos; o custo é irrelevante perto de uma requisição HTTP.
+ */
+final class Medicoes {
+
+    private final Map<Etapa, Amostras> porEtapa = new EnumMap<>(Etapa.class);
+    private final LongAdder fluxos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final long inicio = System.nanoTime();
+    private volatile long fim;
+
+    Medicoes() {
+        for (Etapa etapa : Etapa.values()) {
+            porEtapa.put(etapa, new Amostras());
+        }
+    }
+
+    void registrar(Etapa etapa, long nanos) {
+        porEtapa.get(etapa).adicionar(nanos);
+    }
+
+    void registrarFluxo() {
+        fluxos.increment();
+    }
+
+    void registrarFalha() {
+        falhas.increment();
+    }
+
+    /** Fecha a janela de medição; amostras que ainda chegarem não mudam a duração. */
+    void encerrar() {
+        fim = System.nanoTime();
+    }
+
+    double getSegundos() {
+        return (fim - inicio) / 1e9;
+    }
+
+    long getFluxos() {
+        return fluxos.sum();
+    }
+
+    long getFalhas() {
+        return falhas.sum();
+    }
+
+    long[] getAmostras(Etapa etapa) {
+        return porEtapa.get(etapa).ordenadas();
+    }
+
+    /** Todas as requisições do estágio, em ordem crescente de latência. */
+    long[] getTodasAmostras() {
+        long[] todas = new long[0];
+        for (Etapa etapa : Etapa.values()) {
+            long[] amostras = getAmostras(etapa);
+            int anterior = todas.length;
+            todas = Arrays.copyOf(todas, anterior + amostras.length);
+            System.arraycopy(amostras, 0, todas, anterior, amostras.length);
+        }
+        Arrays.sort(todas);
+        return todas;
+    }
+
+    /** Percentil pelo método do posto mais próximo, em milissegundos; {@code NaN} sem amostras. */
+    static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return Double.NaN;
+        }
+        int posicao = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(posicao, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static final class Amostras {
+        private long[] valores = new long[1024];
+        private int quantidade;
+
+        synchronized void adicionar(long nanos) {
+            if (quantidade == valores.length) {
+                valores = Arrays.copyOf(valores, quantidade * 2);
+            }
+            valores[quantidade++] = nanos;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(valores, quantidade);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+}
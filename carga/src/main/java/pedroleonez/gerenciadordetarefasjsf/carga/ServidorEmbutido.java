@@ -0,0 +1,67 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.Manager;
+import org.apache.catalina.Session;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tomcat embutido com o war da aplicação, no mesmo processo do gerador de carga: assim as sessões podem ser
+ * contadas pelo {@link Manager} e o heap medido diretamente. A unidade {@code tarefasPU-carga} (H2 em memória)
+ * vem do classpath deste módulo, visível para o war pelo class loader pai.
+ */
+final class ServidorEmbutido implements AutoCloseable {
+
+    static final String CONTEXTO = "/gerenciadorDeTarefasJSF";
+
+    private final Tomcat tomcat;
+    private final Context contexto;
+
+    private ServidorEmbutido(Tomcat tomcat, Context contexto) {
+        this.tomcat = tomcat;
+        this.contexto = contexto;
+    }
+
+    static ServidorEmbutido iniciar(Path war, int porta) throws IOException, LifecycleException {
+        if (!Files.isRegularFile(war)) {
+            throw new IllegalStateException("War não encontrado: " + war.toAbsolutePath()
+                    + ". Gere-o com \"./mvnw package\" na raiz ou informe -Dcarga.war.");
+        }
+        // Lida pelo EntityManagerFactoryProducer; variáveis JDBC_DATABASE_URL/DATABASE_URL teriam precedência
+        System.setProperty("tarefas.persistence.unit", "tarefasPU-carga");
+
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("carga-tomcat").toString());
+        tomcat.setPort(porta);
+        tomcat.getConnector();
+        Context contexto = tomcat.addWebapp(CONTEXTO, war.toAbsolutePath().toString());
+        tomcat.start();
+        return new ServidorEmbutido(tomcat, contexto);
+    }
+
+    String getUrlBase() {
+        return "http://localhost:" + tomcat.getConnector().getLocalPort() + CONTEXTO;
+    }
+
+    int getSessoesAtivas() {
+        return contexto.getManager().getActiveSessions();
+    }
+
+    /** Encerra as sessões abertas (ex.: as do aquecimento), liberando os beans de sessão e de view. */
+    void expirarSessoes() {
+        for (Session sessao : contexto.getManager().findSessions()) {
+            sessao.expire();
+        }
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
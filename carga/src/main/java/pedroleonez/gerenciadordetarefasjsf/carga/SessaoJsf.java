@@ -0,0 +1,142 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Um navegador mínimo para uma sessão HTTP: guarda o cookie de sessão e o {@code javax.faces.ViewState} da
+ * última resposta e monta as requisições parciais como o PrimeFaces as envia (origem, execute, render e os
+ * campos do formulário).
+ */
+final class SessaoJsf {
+
+    private static final Duration TEMPO_LIMITE = Duration.ofSeconds(30);
+
+    private static final Pattern VIEW_STATE_PAGINA =
+            Pattern.compile("name=\"javax\\.faces\\.ViewState\"[^>]*?value=\"([^\"]*)\"");
+    private static final Pattern VIEW_STATE_PARCIAL =
+            Pattern.compile("<update id=\"[^\"]*javax\\.faces\\.ViewState[^\"]*\"><!\\[CDATA\\[(.*?)]]></update>", Pattern.DOTALL);
+    private static final Pattern ERRO_PARCIAL =
+            Pattern.compile("<error>.*?<error-message><!\\[CDATA\\[(.*?)]]></error-message>", Pattern.DOTALL);
+    private static final Pattern COOKIE_SESSAO = Pattern.compile("JSESSIONID=([^;]+)");
+
+    private final HttpClient cliente;
+    private final String urlBase;
+    private String idSessao;
+    private String viewState;
+
+    SessaoJsf(HttpClient cliente, String urlBase) {
+        this.cliente = cliente;
+        this.urlBase = urlBase;
+    }
+
+    /** GET da página: começa uma nova view e guarda o seu ViewState. */
+    String abrir(String pagina) throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(urlBase + pagina))
+                .timeout(TEMPO_LIMITE)
+                .GET();
+        String corpo = enviar(requisicao, pagina);
+        Matcher viewState = VIEW_STATE_PAGINA.matcher(corpo);
+        if (!viewState.find()) {
+            throw new FalhaFluxo("GET " + pagina + " sem javax.faces.ViewState.");
+        }
+        this.viewState = viewState.group(1);
+        return corpo;
+    }
+
+    /**
+     * POST parcial de um {@code p:commandButton}. {@code executar} e {@code renderizar} são os ids resolvidos de
+     * {@code process} e {@code update} (separados por espaço; {@code renderizar} pode ser nulo). Falha se a
+     * resposta trouxer um {@code <error>} do JSF ou uma validação recusada.
+     */
+    String ajax(String pagina, String formulario, String origem, String executar, String renderizar,
+                Map<String, String> campos) throws IOException, InterruptedException {
+        if (viewState == null) {
+            throw new IllegalStateException("Abra a página antes de enviar requisições parciais.");
+        }
+        Map<String, String> parametros = new LinkedHashMap<>();
+        parametros.put("javax.faces.partial.ajax", "true");
+        parametros.put("javax.faces.source", origem);
+        parametros.put("javax.faces.partial.execute", executar);
+        if (renderizar != null) {
+            parametros.put("javax.faces.partial.render", renderizar);
+        }
+        parametros.put(origem, origem);
+        parametros.put(formulario, formulario);
+        parametros.putAll(campos);
+        parametros.put("javax.faces.ViewState", viewState);
+
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(urlBase + pagina))
+                .timeout(TEMPO_LIMITE)
+                .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+                .header("Faces-Request", "partial/ajax")
+                .header("X-Requested-With", "XMLHttpRequest")
+                .POST(HttpRequest.BodyPublishers.ofString(codificar(parametros)));
+        String corpo = enviar(requisicao, origem);
+
+        Matcher erro = ERRO_PARCIAL.matcher(corpo);
+        if (erro.find()) {
+            throw new FalhaFluxo(origem + ": " + erro.group(1));
+        }
+        if (corpo.contains("<redirect ")) {
+            throw new FalhaFluxo(origem + ": redirecionado (view expirada?).");
+        }
+        if (corpo.contains("\"validationFailed\":true")) {
+            throw new FalhaFluxo(origem + ": validação recusada.");
+        }
+        Matcher viewState = VIEW_STATE_PARCIAL.matcher(corpo);
+        if (viewState.find()) {
+            this.viewState = viewState.group(1);
+        }
+        return corpo;
+    }
+
+    private String enviar(HttpRequest.Builder requisicao, String descricao) throws IOException, InterruptedException {
+        if (idSessao != null) {
+            requisicao.header("Cookie", "JSESSIONID=" + idSessao);
+        }
+        HttpResponse<String> resposta = cliente.send(requisicao.build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        for (String cookie : resposta.headers().allValues("Set-Cookie")) {
+            Matcher sessao = COOKIE_SESSAO.matcher(cookie);
+            if (sessao.find()) {
+                idSessao = sessao.group(1);
+            }
+        }
+        if (resposta.statusCode() != 200) {
+            throw new FalhaFluxo(descricao + ": HTTP " + resposta.statusCode() + ".");
+        }
+        return resposta.body();
+    }
+
+    private static String codificar(Map<String, String> parametros) {
+        StringBuilder corpo = new StringBuilder(256);
+        for (Map.Entry<String, String> parametro : parametros.entrySet()) {
+            if (corpo.length() > 0) {
+                corpo.append('&');
+            }
+            corpo.append(URLEncoder.encode(parametro.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(parametro.getValue(), StandardCharsets.UTF_8));
+        }
+        return corpo.toString();
+    }
+
+    /** Resposta inesperada no meio de um fluxo; o usuário virtual conta a falha e recomeça com um novo GET. */
+    static final class FalhaFluxo extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        FalhaFluxo(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
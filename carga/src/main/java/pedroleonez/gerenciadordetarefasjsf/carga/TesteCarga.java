@@ -0,0 +1,162 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Teste de carga da tela de tarefas: sobe o war em um {@link ServidorEmbutido} e aumenta o número de usuários
+ * virtuais em estágios. Em cada estágio informa a vazão (fluxos e requisições por segundo), p50/p99 de cada
+ * requisição do fluxo e o heap ocupado por sessão, medido após um GC contra a linha de base sem sessões.
+ *
+ * <p>Configuração por system properties: {@code carga.war} (padrão {@code target/gerenciadorDeTarefasJSF.war}),
+ * {@code carga.usuarios} (estágios, padrão {@code 1,5,10,25,50}), {@code carga.duracaoSegundos} (30 por
+ * estágio), {@code carga.aquecimentoSegundos} (15), {@code carga.pausaMs} (espera entre fluxos, 0),
+ * {@code carga.porta} (0 = livre) e {@code carga.saida} (CSV, padrão {@code resultados-carga.csv}).</p>
+ */
+public final class TesteCarga {
+
+    private static final long MIB = 1024 * 1024;
+
+    // Numeração única entre aquecimento e estágios: o marcador de cada fluxo depende dela
+    private static int usuariosCriados;
+
+    private TesteCarga() {}
+
+    public static void main(String[] args) throws Exception {
+        Path war = Paths.get(System.getProperty("carga.war", "target/gerenciadorDeTarefasJSF.war"));
+        int[] estagios = lerEstagios(System.getProperty("carga.usuarios", "1,5,10,25,50"));
+        long duracao = Long.getLong("carga.duracaoSegundos", 30);
+        long aquecimento = Long.getLong("carga.aquecimentoSegundos", 15);
+        long pausa = Long.getLong("carga.pausaMs", 0);
+        Path saida = Paths.get(System.getProperty("carga.saida", "resultados-carga.csv"));
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        try (ServidorEmbutido servidor = ServidorEmbutido.iniciar(war, Integer.getInteger("carga.porta", 0));
+             PrintWriter csv = new PrintWriter(Files.newBufferedWriter(saida, StandardCharsets.UTF_8))) {
+            String urlBase = servidor.getUrlBase();
+            System.out.println("[CARGA] Aplicação em " + urlBase + ".");
+            AtomicReference<Medicoes> medicoes = new AtomicReference<>(new Medicoes());
+
+            // Aquecimento: JIT, caches e pool; as sessões criadas são descartadas antes da linha de base
+            List<UsuarioVirtual> usuarios = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            if (aquecimento > 0) {
+                System.out.println("[CARGA] Aquecendo com " + estagios[0] + " usuário(s) por " + aquecimento + " s.");
+                iniciarUsuarios(estagios[0], cliente, urlBase, medicoes, pausa, usuarios, threads);
+                TimeUnit.SECONDS.sleep(aquecimento);
+                pararUsuarios(usuarios, threads);
+                servidor.expirarSessoes();
+            }
+            long linhaDeBase = heapAposGc();
+            System.out.println("[CARGA] Heap sem sessões: " + linhaDeBase / MIB + " MiB.");
+
+            csv.println("usuarios;etapa;requisicoes;por_segundo;p50_ms;p99_ms;falhas;sessoes;heap_mib;heap_kib_por_sessao");
+            System.out.println(String.format(Locale.ROOT, "%-9s %10s %10s %9s %9s %7s %8s %10s %12s",
+                    "usuarios", "fluxos/s", "req/s", "p50 ms", "p99 ms", "falhas", "sessoes", "heap MiB", "KiB/sessao"));
+
+            for (int quantidade : estagios) {
+                iniciarUsuarios(quantidade - usuarios.size(), cliente, urlBase, medicoes, pausa, usuarios, threads);
+                Medicoes estagio = new Medicoes();
+                medicoes.set(estagio);
+                TimeUnit.SECONDS.sleep(duracao);
+                medicoes.set(new Medicoes());
+                estagio.encerrar();
+
+                int sessoes = servidor.getSessoesAtivas();
+                long heap = heapAposGc();
+                double kibPorSessao = sessoes > 0 ? (heap - linhaDeBase) / 1024.0 / sessoes : Double.NaN;
+                relatar(quantidade, estagio, sessoes, heap, kibPorSessao, csv);
+            }
+            pararUsuarios(usuarios, threads);
+        }
+        System.out.println("[CARGA] Resultados em " + saida.toAbsolutePath() + ".");
+        // Threads da aplicação (agendador de prazos, canal de invalidação) não devem prender a JVM
+        System.exit(0);
+    }
+
+    private static void relatar(int usuarios, Medicoes estagio, int sessoes, long heap, double kibPorSessao,
+                                PrintWriter csv) {
+        double segundos = estagio.getSegundos();
+        long[] todas = estagio.getTodasAmostras();
+        System.out.println(String.format(Locale.ROOT, "%-9d %10.1f %10.1f %9.1f %9.1f %7d %8d %10d %12.1f",
+                usuarios, estagio.getFluxos() / segundos, todas.length / segundos,
+                Medicoes.percentil(todas, 50), Medicoes.percentil(todas, 99),
+                estagio.getFalhas(), sessoes, heap / MIB, kibPorSessao));
+
+        for (Etapa etapa : Etapa.values()) {
+            long[] amostras = estagio.getAmostras(etapa);
+            System.out.println(String.format(Locale.ROOT, "  %-22s %9.1f %9.1f",
+                    etapa.getRotulo(), Medicoes.percentil(amostras, 50), Medicoes.percentil(amostras, 99)));
+            csv.println(linhaCsv(usuarios, etapa.name(), amostras, segundos, "", sessoes, heap, kibPorSessao));
+        }
+        csv.println(linhaCsv(usuarios, "TOTAL", todas, segundos, String.valueOf(estagio.getFalhas()),
+                sessoes, heap, kibPorSessao));
+        csv.flush();
+    }
+
+    private static String linhaCsv(int usuarios, String etapa, long[] amostras, double segundos, String falhas,
+                                   int sessoes, long heap, double kibPorSessao) {
+        return String.format(Locale.ROOT, "%d;%s;%d;%.2f;%.2f;%.2f;%s;%d;%d;%.1f", usuarios, etapa, amostras.length,
+                amostras.length / segundos, Medicoes.percentil(amostras, 50), Medicoes.percentil(amostras, 99),
+                falhas, sessoes, heap / MIB, kibPorSessao);
+    }
+
+    private static void iniciarUsuarios(int quantidade, HttpClient cliente, String urlBase,
+                                        AtomicReference<Medicoes> medicoes, long pausa,
+                                        List<UsuarioVirtual> usuarios, List<Thread> threads) {
+        for (int i = 0; i < quantidade; i++) {
+            int numero = ++usuariosCriados;
+            UsuarioVirtual usuario = new UsuarioVirtual(numero, cliente, urlBase, medicoes, pausa);
+            Thread thread = new Thread(usuario, "usuario-virtual-" + numero);
+            thread.setDaemon(true);
+            usuarios.add(usuario);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    private static void pararUsuarios(List<UsuarioVirtual> usuarios, List<Thread> threads) throws InterruptedException {
+        usuarios.forEach(UsuarioVirtual::parar);
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+        usuarios.clear();
+        threads.clear();
+    }
+
+    /** Heap ocupado depois de coletas completas, para medir só o que as sessões mantêm vivo. */
+    private static long heapAposGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static int[] lerEstagios(String valor) {
+        String[] partes = valor.split(",");
+        int[] estagios = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            estagios[i] = Integer.parseInt(partes[i].trim());
+            if (estagios[i] <= 0 || (i > 0 && estagios[i] < estagios[i - 1])) {
+                throw new IllegalArgumentException("carga.usuarios deve ser uma sequência crescente de números positivos: " + valor);
+            }
+        }
+        return estagios;
+    }
+}
@@ -0,0 +1,138 @@
+package pedroleonez.gerenciadordetarefasjsf.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Um usuário da tela de tarefas, com sessão própria, repetindo o fluxo completo de {@code index.xhtml}: abre a
+ * página, abre o diálogo de nova tarefa, salva, filtra pelo título da tarefa criada, conclui e remove. Cada
+ * fluxo cria e apaga a sua tarefa, então o banco não cresce durante o teste.
+ */
+final class UsuarioVirtual implements Runnable {
+
+    private static final String PAGINA = "/index.xhtml";
+    private static final String[] RESPONSAVEIS = {"Ana", "Bruno", "Carla", "Diego"};
+    private static final String[] PRIORIDADES = {"ALTA", "MEDIA", "BAIXA"};
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final Pattern LINHA_TABELA = Pattern.compile("<tr [^>]*data-rk=\"(\\d+)\"[^>]*>");
+    private static final Pattern INDICE_LINHA = Pattern.compile("data-ri=\"(\\d+)\"");
+
+    // Só as primeiras falhas vão para o log; as demais apenas entram na contagem do estágio
+    private static final int FALHAS_NO_LOG = 20;
+    private static final AtomicInteger falhasRegistradas = new AtomicInteger();
+
+    private final int numero;
+    private final SessaoJsf sessao;
+    private final AtomicReference<Medicoes> medicoes;
+    private final long pausaMillis;
+    private volatile boolean ativo = true;
+    private int iteracao;
+
+    UsuarioVirtual(int numero, HttpClient cliente, String urlBase, AtomicReference<Medicoes> medicoes, long pausaMillis) {
+        this.numero = numero;
+        this.sessao = new SessaoJsf(cliente, urlBase);
+        this.medicoes = medicoes;
+        this.pausaMillis = pausaMillis;
+    }
+
+    void parar() {
+        ativo = false;
+    }
+
+    @Override
+    public void run() {
+        while (ativo) {
+            // Fluxo inteiro contado no estágio em que começou
+            Medicoes estagio = medicoes.get();
+            try {
+                executarFluxo(estagio);
+                estagio.registrarFluxo();
+            } catch (SessaoJsf.FalhaFluxo | IOException e) {
+                estagio.registrarFalha();
+                if (falhasRegistradas.incrementAndGet() <= FALHAS_NO_LOG) {
+                    System.err.println("[CARGA] Usuário " + numero + ": " + e.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pausaMillis > 0) {
+                try {
+                    Thread.sleep(pausaMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void executarFluxo(Medicoes estagio) throws IOException, InterruptedException {
+        iteracao++;
+        // Palavra única por fluxo: o filtro de texto encontra exatamente a tarefa criada
+        String marcador = "carga" + numero + "x" + iteracao;
+
+        long inicio = System.nanoTime();
+        sessao.abrir(PAGINA);
+        inicio = medir(estagio, Etapa.ABRIR_PAGINA, inicio);
+
+        sessao.ajax(PAGINA, "novaTarefaForm", "novaTarefaForm:btnNovaTarefa", "novaTarefaForm",
+                "formNovaTarefaDialog dlgNovaTarefa", Map.of());
+        inicio = medir(estagio, Etapa.ABRIR_DIALOGO, inicio);
+
+        sessao.ajax(PAGINA, "formNovaTarefaDialog", "formNovaTarefaDialog:btnSalvar", "formNovaTarefaDialog",
+                "formNovaTarefaDialog", Map.of(
+                        "formNovaTarefaDialog:tituloTarefa", "Tarefa de carga " + marcador,
+                        "formNovaTarefaDialog:descricaoTarefa", "Criada pelo teste de carga (" + marcador + ").",
+                        "formNovaTarefaDialog:responsavelTarefa_input", RESPONSAVEIS[iteracao % RESPONSAVEIS.length],
+                        "formNovaTarefaDialog:prioridadeTarefa_input", PRIORIDADES[iteracao % PRIORIDADES.length],
+                        "formNovaTarefaDialog:deadlineTarefa_input", LocalDate.now().plusDays(7).format(FORMATO_DATA)));
+        inicio = medir(estagio, Etapa.SALVAR, inicio);
+
+        // Situação "Todas": a linha continua na página depois de concluída, para a remoção
+        String tabela = sessao.ajax(PAGINA, "filtroForm", "filtroForm:btnBuscar", "filtroForm",
+                "tabelaForm:tabelaTarefas filtroForm:exportacao", Map.of(
+                        "filtroForm:filtroId", "",
+                        "filtroForm:filtroTitulo", marcador,
+                        "filtroForm:filtroResponsavel_input", "",
+                        "filtroForm:filtroSituacao_input", ""));
+        medir(estagio, Etapa.FILTRAR, inicio);
+        String linha = localizarLinha(tabela, marcador);
+        inicio = System.nanoTime();
+
+        String concluir = "tabelaForm:tabelaTarefas:" + linha + ":btnConcluir";
+        sessao.ajax(PAGINA, "tabelaForm", concluir, concluir, "tabelaForm:tabelaTarefas", Map.of());
+        inicio = medir(estagio, Etapa.CONCLUIR, inicio);
+
+        String remover = "tabelaForm:tabelaTarefas:" + linha + ":btnRemover";
+        sessao.ajax(PAGINA, "tabelaForm", remover, remover, "tabelaForm:tabelaTarefas", Map.of());
+        medir(estagio, Etapa.REMOVER, inicio);
+    }
+
+    /** Índice ({@code data-ri}) da única linha que o filtro pelo marcador deve devolver. */
+    private static String localizarLinha(String tabela, String marcador) {
+        Matcher linha = LINHA_TABELA.matcher(tabela);
+        if (!linha.find()) {
+            throw new SessaoJsf.FalhaFluxo("filtro por " + marcador + " não encontrou a tarefa salva.");
+        }
+        Matcher indice = INDICE_LINHA.matcher(linha.group());
+        if (linha.find() || !indice.find()) {
+            throw new SessaoJsf.FalhaFluxo("filtro por " + marcador + " devolveu linhas inesperadas.");
+        }
+        return indice.group(1);
+    }
+
+    private static long medir(Medicoes estagio, Etapa etapa, long inicio) {
+        long agora = System.nanoTime();
+        estagio.registrar(etapa, agora - inicio);
+        return agora;
+    }
+}
@@ -0,0 +1,290 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.AlteracaoTarefa;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Agenda dos avisos de prazo. O banco é percorrido uma única vez, em ordem {@code (deadline, id)} e em blocos
+ * limitados, conforme a janela {@code hoje + antecedência} avança; cada tarefa lida vira uma entrada em uma fila
+ * de prioridade pela data do próximo aviso ("vencendo" e, depois do prazo, "atrasada"). Inclusões, edições,
+ * conclusões e remoções chegam pelas {@link AlteracaoTarefa} e ajustam a fila sem nova varredura.
+ * A memória fica restrita às tarefas com prazo dentro da janela. A fila não sobrevive a um reinício e cada nó
+ * tem a sua; o {@link Registro} no banco garante que cada aviso seja entregue uma única vez.
+ */
+final class AgendaPrazos {
+
+    /** Origem dos blocos da varredura (em produção, {@code TarefaRepository#prazosAte}). */
+    interface Fonte {
+        List<TarefaResumo> prazosAte(LocalDate fim, TarefaResumo apos, int quantidade);
+    }
+
+    /** Avisos já entregues (em produção, {@code TarefaRepository#reservarAvisos}), compartilhado pelos nós. */
+    interface Registro {
+        /** Reserva o aviso e devolve só as tarefas que ainda não o receberam para o deadline atual. */
+        List<TarefaResumo> reservar(TratadorPrazo.Aviso aviso, List<TarefaResumo> tarefas);
+    }
+
+    // Próximo aviso de uma tarefa e a partir de quando ele vale
+    private static final class Entrada {
+        final TarefaResumo tarefa;
+        final TratadorPrazo.Aviso aviso;
+        final LocalDate disparo;
+        final long enfileiradaEm;
+
+        Entrada(TarefaResumo tarefa, TratadorPrazo.Aviso aviso, LocalDate disparo, long enfileiradaEm) {
+            this.tarefa = tarefa;
+            this.aviso = aviso;
+            this.disparo = disparo;
+            this.enfileiradaEm = enfileiradaEm;
+        }
+    }
+
+    private final Fonte fonte;
+    private final Registro registro;
+    private final List<TratadorPrazo> tratadores;
+    private final int antecedenciaDias;
+    private final int lote;
+    private final int lotesPorCiclo;
+    private final ZoneId fuso;
+
+    private final PriorityQueue<Entrada> fila = new PriorityQueue<>(
+            Comparator.comparing((Entrada entrada) -> entrada.disparo).thenComparing(entrada -> entrada.tarefa.getId()));
+    // Versão atual de cada tarefa na fila; entradas de versões editadas, concluídas ou removidas são descartadas ao sair
+    private final Map<Long, TarefaResumo> vigentes = new HashMap<>();
+
+    // Última linha lida pela varredura e fim (exclusivo) da janela já percorrida por completo
+    private TarefaResumo cursor;
+    private LocalDate varridoAte;
+
+    // Avisos reservados e entregues por este nó
+    private final Map<TratadorPrazo.Aviso, Long> processadas = new EnumMap<>(TratadorPrazo.Aviso.class);
+    private long ciclos;
+    private long blocosLidos;
+    private long falhas;
+    private long duracaoUltimoCicloMillis;
+
+    AgendaPrazos(Fonte fonte, Registro registro, List<TratadorPrazo> tratadores, int antecedenciaDias, int lote,
+                 int lotesPorCiclo, ZoneId fuso) {
+        this.fonte = fonte;
+        this.registro = registro;
+        this.tratadores = new ArrayList<>(tratadores);
+        this.antecedenciaDias = antecedenciaDias;
+        this.lote = lote;
+        this.lotesPorCiclo = lotesPorCiclo;
+        this.fuso = fuso;
+    }
+
+    /**
+     * Executa um ciclo: entrega aos tratadores os avisos vencidos e, havendo folga, lê o próximo bloco da janela.
+     * Processa no máximo {@code lotesPorCiclo} lotes; o que sobrar fica para o ciclo seguinte (backlog).
+     */
+    void executarCiclo(Instant agora) {
+        long inicio = System.nanoTime();
+        LocalDate hoje = LocalDate.ofInstant(agora, fuso);
+        for (int i = 0; i < lotesPorCiclo; i++) {
+            Map<TratadorPrazo.Aviso, List<TarefaResumo>> devidas = retirarDevidas(hoje, agora.toEpochMilli());
+            if (devidas.isEmpty()) {
+                if (!varrer(hoje, agora.toEpochMilli())) {
+                    break;
+                }
+                continue;
+            }
+            // Fora do bloqueio: um tratador lento não atrasa as escritas que ajustam a fila
+            devidas.forEach(this::despachar);
+        }
+        synchronized (this) {
+            ciclos++;
+            duracaoUltimoCicloMillis = (System.nanoTime() - inicio) / 1_000_000;
+        }
+    }
+
+    /** Ajusta a fila a uma escrita confirmada no repositório. */
+    synchronized void aplicar(AlteracaoTarefa alteracao) {
+        switch (alteracao.getTipo()) {
+            case INCLUSAO:
+            case ATUALIZACAO:
+                long agora = System.currentTimeMillis();
+                for (Tarefa tarefa : alteracao.getTarefas()) {
+                    if (tarefa.getSituacao() == Tarefa.Situacao.EM_ANDAMENTO) {
+                        agendar(new TarefaResumo(tarefa.getId(), tarefa.getTitulo(), tarefa.getResponsavel(),
+                                tarefa.getDeadline()), agora);
+                    } else {
+                        vigentes.remove(tarefa.getId());
+                    }
+                }
+                break;
+            default:
+                alteracao.getIds().forEach(vigentes::remove);
+        }
+    }
+
+    // Tarefas ainda não alcançadas pela varredura serão lidas por ela; as demais entram direto na fila.
+    private void agendar(TarefaResumo tarefa, long agora) {
+        if (!jaVarrida(tarefa)) {
+            vigentes.remove(tarefa.getId());
+            return;
+        }
+        vigentes.put(tarefa.getId(), tarefa);
+        fila.add(new Entrada(tarefa, TratadorPrazo.Aviso.VENCENDO, tarefa.getDeadline().minusDays(antecedenciaDias), agora));
+    }
+
+    private boolean jaVarrida(TarefaResumo tarefa) {
+        if (varridoAte != null && tarefa.getDeadline().isBefore(varridoAte)) {
+            return true;
+        }
+        if (cursor == null) {
+            return false;
+        }
+        int comparacao = tarefa.getDeadline().compareTo(cursor.getDeadline());
+        return comparacao < 0 || (comparacao == 0 && tarefa.getId() <= cursor.getId());
+    }
+
+    // Lê o próximo bloco da janela; false quando a janela de hoje já foi percorrida.
+    private synchronized boolean varrer(LocalDate hoje, long agora) {
+        LocalDate fim = hoje.plusDays(antecedenciaDias + 1L);
+        if (varridoAte != null && !varridoAte.isBefore(fim)) {
+            return false;
+        }
+        // Feita sob o bloqueio para que nenhuma escrita caia entre a leitura e o avanço do cursor
+        List<TarefaResumo> bloco = fonte.prazosAte(fim, cursor, lote);
+        blocosLidos++;
+        for (TarefaResumo tarefa : bloco) {
+            vigentes.put(tarefa.getId(), tarefa);
+            fila.add(new Entrada(tarefa, TratadorPrazo.Aviso.VENCENDO, tarefa.getDeadline().minusDays(antecedenciaDias), agora));
+        }
+        if (!bloco.isEmpty()) {
+            cursor = bloco.get(bloco.size() - 1);
+        }
+        if (bloco.size() < lote) {
+            varridoAte = fim;
+        }
+        return !bloco.isEmpty();
+    }
+
+    // Retira da fila até um lote de avisos já devidos, agrupados pelo tipo de aviso.
+    private synchronized Map<TratadorPrazo.Aviso, List<TarefaResumo>> retirarDevidas(LocalDate hoje, long agora) {
+        Map<TratadorPrazo.Aviso, List<TarefaResumo>> devidas = new EnumMap<>(TratadorPrazo.Aviso.class);
+        int retiradas = 0;
+        while (retiradas < lote && !fila.isEmpty() && !fila.peek().disparo.isAfter(hoje)) {
+            Entrada entrada = fila.poll();
+            TarefaResumo tarefa = entrada.tarefa;
+            if (vigentes.get(tarefa.getId()) != tarefa) {
+                continue;
+            }
+            retiradas++;
+            if (hoje.isAfter(tarefa.getDeadline())) {
+                // Prazo já passou (inclusive tarefas lidas atrasadas): último aviso desta tarefa
+                vigentes.remove(tarefa.getId());
+                devidas.computeIfAbsent(TratadorPrazo.Aviso.ATRASADA, aviso -> new ArrayList<>()).add(tarefa);
+            } else {
+                devidas.computeIfAbsent(TratadorPrazo.Aviso.VENCENDO, aviso -> new ArrayList<>()).add(tarefa);
+                fila.add(new Entrada(tarefa, TratadorPrazo.Aviso.ATRASADA, tarefa.getDeadline().plusDays(1), agora));
+            }
+        }
+        return devidas;
+    }
+
+    // Os tratadores locais recebem o lote inteiro; os demais, só as tarefas cujo aviso foi reservado por este nó.
+    private void despachar(TratadorPrazo.Aviso aviso, List<TarefaResumo> tarefas) {
+        List<TarefaResumo> reservadas;
+        try {
+            reservadas = registro.reservar(aviso, tarefas);
+        } catch (RuntimeException e) {
+            // Sem a reserva não há como saber se outro nó já avisou: o lote fica sem os tratadores não locais
+            reservadas = List.of();
+            synchronized (this) {
+                falhas++;
+            }
+            System.err.println("[PRAZOS] Falha ao reservar avisos " + aviso + ": " + e.getMessage());
+        }
+        for (TratadorPrazo tratador : tratadores) {
+            List<TarefaResumo> destino = tratador.isLocal() ? tarefas : reservadas;
+            if (destino.isEmpty()) {
+                continue;
+            }
+            try {
+                tratador.tratar(aviso, destino);
+            } catch (RuntimeException e) {
+                // Um tratador com falha não impede os demais; o aviso não é repetido
+                synchronized (this) {
+                    falhas++;
+                }
+                System.err.println("[PRAZOS] Falha no tratador " + tratador.getNome() + ": " + e.getMessage());
+            }
+        }
+        synchronized (this) {
+            processadas.merge(aviso, (long) reservadas.size(), Long::sum);
+        }
+    }
+
+    /** Fotografia do estado da agenda para monitoramento. */
+    synchronized Metricas metricas(Instant agora) {
+        LocalDate hoje = LocalDate.ofInstant(agora, fuso);
+        long backlog = 0;
+        long devidaDesde = Long.MAX_VALUE;
+        for (Entrada entrada : fila) {
+            if (!entrada.disparo.isAfter(hoje) && vigentes.get(entrada.tarefa.getId()) == entrada.tarefa) {
+                backlog++;
+                long inicioDoDia = entrada.disparo.atStartOfDay(fuso).toInstant().toEpochMilli();
+                devidaDesde = Math.min(devidaDesde, Math.max(inicioDoDia, entrada.enfileiradaEm));
+            }
+        }
+        LocalDate fim = hoje.plusDays(antecedenciaDias + 1L);
+        return new Metricas(backlog, devidaDesde == Long.MAX_VALUE ? 0 : agora.toEpochMilli() - devidaDesde,
+                vigentes.size(), varridoAte == null || varridoAte.isBefore(fim),
+                processadas.getOrDefault(TratadorPrazo.Aviso.VENCENDO, 0L),
+                processadas.getOrDefault(TratadorPrazo.Aviso.ATRASADA, 0L),
+                ciclos, blocosLidos, falhas, duracaoUltimoCicloMillis);
+    }
+
+    /** Backlog (avisos devidos ainda não entregues), atraso do mais antigo e totais desde a inicialização. */
+    static final class Metricas {
+        private final long backlog;
+        private final long atrasoMillis;
+        private final long agendadas;
+        private final boolean varreduraPendente;
+        private final long vencendo;
+        private final long atrasadas;
+        private final long ciclos;
+        private final long blocosLidos;
+        private final long falhas;
+        private final long duracaoUltimoCicloMillis;
+
+        Metricas(long backlog, long atrasoMillis, long agendadas, boolean varreduraPendente, long vencendo,
+                 long atrasadas, long ciclos, long blocosLidos, long falhas, long duracaoUltimoCicloMillis) {
+            this.backlog = backlog;
+            this.atrasoMillis = atrasoMillis;
+            this.agendadas = agendadas;
+            this.varreduraPendente = varreduraPendente;
+            this.vencendo = vencendo;
+            this.atrasadas = atrasadas;
+            this.ciclos = ciclos;
+            this.blocosLidos = blocosLidos;
+            this.falhas = falhas;
+            this.duracaoUltimoCicloMillis = duracaoUltimoCicloMillis;
+        }
+
+        long getBacklog() { return backlog; }
+        long getAtrasoMillis() { return atrasoMillis; }
+        long getAgendadas() { return agendadas; }
+        boolean isVarreduraPendente() { return varreduraPendente; }
+        long getVencendo() { return vencendo; }
+        long getAtrasadas() { return atrasadas; }
+        long getCiclos() { return ciclos; }
+        long getBlocosLidos() { return blocosLidos; }
+        long getFalhas() { return falhas; }
+        long getDuracaoUltimoCicloMillis() { return duracaoUltimoCicloMillis; }
+    }
+}
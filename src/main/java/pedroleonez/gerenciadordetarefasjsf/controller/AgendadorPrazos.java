@@ -0,0 +1,117 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.AlteracaoTarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Dispara os avisos de prazo em segundo plano. A cada {@code PRAZOS_INTERVALO_SEGUNDOS} (padrão 60) executa um
+ * ciclo da {@link AgendaPrazos}; tarefas em andamento com prazo nos próximos {@code PRAZOS_ANTECEDENCIA_DIAS}
+ * (padrão 2) recebem o aviso "vencendo" e, passado o prazo, "atrasada". Os tratadores ativos são os listados em
+ * {@code PRAZOS_TRATADORES} (padrão {@code log,marcacao}). Intervalo zero desliga o agendador.
+ * Todos os nós rodam o agendador, mas cada aviso é reservado no banco antes do envio: após um reinício ou em
+ * outro nó ele não se repete (exceto nos tratadores locais, como a marcação das telas de cada nó).
+ */
+@ApplicationScoped
+public class AgendadorPrazos {
+
+    @Inject
+    private TarefaRepository repository;
+
+    @Inject
+    @Any
+    private Instance<TratadorPrazo> tratadoresDisponiveis;
+
+    private AgendaPrazos agenda;
+    private ScheduledExecutorService executor;
+
+    void iniciar(@Observes @Initialized(ApplicationScoped.class) Object contexto) {
+        int intervalo = lerInteiro("PRAZOS_INTERVALO_SEGUNDOS", 60);
+        if (intervalo <= 0) {
+            System.out.println("[PRAZOS] Agendador de prazos desligado.");
+            return;
+        }
+        Set<String> nomes = Arrays.stream(lerTexto("PRAZOS_TRATADORES", "log,marcacao").split(","))
+                .map(String::trim).filter(nome -> !nome.isEmpty()).collect(Collectors.toSet());
+        List<TratadorPrazo> ativos = new ArrayList<>();
+        for (TratadorPrazo tratador : tratadoresDisponiveis) {
+            if (nomes.contains(tratador.getNome())) {
+                ativos.add(tratador);
+            }
+        }
+
+        agenda = new AgendaPrazos(repository::prazosAte,
+                (aviso, tarefas) -> repository.reservarAvisos(aviso.name(), tarefas), ativos, lerInteiro("PRAZOS_ANTECEDENCIA_DIAS", 2),
+                lerInteiro("PRAZOS_LOTE", 500), lerInteiro("PRAZOS_LOTES_POR_CICLO", 20), ZoneId.systemDefault());
+        executor = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "tarefas-prazos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::executarCiclo, intervalo, intervalo, TimeUnit.SECONDS);
+        System.out.println("[PRAZOS] Agendador iniciado a cada " + intervalo + " s com os tratadores "
+                + ativos.stream().map(TratadorPrazo::getNome).collect(Collectors.joining(", ")) + ".");
+    }
+
+    void aoAlterar(@Observes AlteracaoTarefa alteracao) {
+        if (agenda != null) {
+            agenda.aplicar(alteracao);
+        }
+    }
+
+    @PreDestroy
+    void parar() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Estado atual da agenda, ou {@code null} com o agendador desligado. */
+    AgendaPrazos.Metricas metricas() {
+        return agenda != null ? agenda.metricas(Instant.now()) : null;
+    }
+
+    private void executarCiclo() {
+        try {
+            agenda.executarCiclo(Instant.now());
+        } catch (RuntimeException e) {
+            // Uma exceção encerraria o agendamento periódico; o próximo ciclo retoma do mesmo cursor
+            System.err.println("[PRAZOS] Falha no ciclo de prazos: " + e.getMessage());
+        }
+    }
+
+    private static String lerTexto(String variavel, String padrao) {
+        String valor = System.getenv(variavel);
+        return valor == null || valor.trim().isEmpty() ? padrao : valor.trim();
+    }
+
+    private static int lerInteiro(String variavel, int padrao) {
+        String valor = lerTexto(variavel, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            System.err.println("[PRAZOS] Valor inválido para " + variavel + ": " + valor + ". Usando " + padrao + ".");
+            return padrao;
+        }
+    }
+}
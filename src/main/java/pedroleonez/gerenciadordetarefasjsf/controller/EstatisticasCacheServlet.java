@@ -0,0 +1,38 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.EstatisticasCache;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/** Publica em JSON os contadores do cache de segundo nível para os painéis de monitoramento. */
+@WebServlet("/estatisticas/cache")
+public class EstatisticasCacheServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        List<EstatisticasCache.Regiao> regioes = CDI.current().select(EstatisticasCache.class).get().regioes();
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        PrintWriter out = resp.getWriter();
+        out.print("[");
+        for (int i = 0; i < regioes.size(); i++) {
+            EstatisticasCache.Regiao regiao = regioes.get(i);
+            if (i > 0) {
+                out.print(",");
+            }
+            out.printf("{\"regiao\":\"%s\",\"acertos\":%d,\"falhas\":%d,\"insercoes\":%d,\"evicoes\":%d,\"elementos\":%d}",
+                    regiao.getNome(), regiao.getAcertos(), regiao.getFalhas(), regiao.getInsercoes(),
+                    regiao.getEvicoes(), regiao.getElementosEmMemoria());
+        }
+        out.print("]");
+    }
+}
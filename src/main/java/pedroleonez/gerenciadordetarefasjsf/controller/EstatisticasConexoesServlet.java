@@ -0,0 +1,32 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.EstatisticasConexoes;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/** Publica em JSON o estado do pool de conexões JDBC para os painéis de monitoramento. */
+@WebServlet("/estatisticas/conexoes")
+public class EstatisticasConexoesServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        EstatisticasConexoes.Pool pool = CDI.current().select(EstatisticasConexoes.class).get().pool();
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        if (pool == null) {
+            resp.getWriter().print("{}");
+            return;
+        }
+        resp.getWriter().printf("{\"ativas\":%d,\"ociosas\":%d,\"aguardando\":%d,\"maximo\":%d,\"aquisicoes\":%d,"
+                        + "\"esperaMediaMicros\":%d,\"esperaMaximaMicros\":%d,\"usoMedioMillis\":%d,\"timeouts\":%d}",
+                pool.getAtivas(), pool.getOciosas(), pool.getAguardando(), pool.getMaximo(), pool.getAquisicoes(),
+                pool.getEsperaMediaMicros(), pool.getEsperaMaximaMicros(), pool.getUsoMedioMillis(), pool.getTimeouts());
+    }
+}
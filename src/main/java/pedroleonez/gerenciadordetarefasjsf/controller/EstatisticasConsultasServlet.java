@@ -0,0 +1,27 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.EstatisticasCache;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+/** Publica em JSON o aproveitamento do cache de planos de consulta do Hibernate. */
+@WebServlet("/estatisticas/consultas")
+public class EstatisticasConsultasServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        EstatisticasCache.PlanosConsulta planos = CDI.current().select(EstatisticasCache.class).get().planosConsulta();
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.getWriter().printf(Locale.ROOT, "{\"acertosPlano\":%d,\"falhasPlano\":%d,\"taxaAcertoPlano\":%.4f,\"execucoes\":%d}",
+                planos.getAcertos(), planos.getFalhas(), planos.getTaxaAcerto(), planos.getExecucoes());
+    }
+}
@@ -0,0 +1,32 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/** Publica em JSON o backlog e o atraso do agendador de prazos para os painéis de monitoramento. */
+@WebServlet("/estatisticas/prazos")
+public class EstatisticasPrazosServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        AgendaPrazos.Metricas metricas = CDI.current().select(AgendadorPrazos.class).get().metricas();
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        if (metricas == null) {
+            resp.getWriter().print("{}");
+            return;
+        }
+        resp.getWriter().printf("{\"backlog\":%d,\"atrasoMillis\":%d,\"agendadas\":%d,\"varreduraPendente\":%b,"
+                        + "\"vencendo\":%d,\"atrasadas\":%d,\"ciclos\":%d,\"blocosLidos\":%d,\"falhas\":%d,"
+                        + "\"duracaoUltimoCicloMillis\":%d}",
+                metricas.getBacklog(), metricas.getAtrasoMillis(), metricas.getAgendadas(), metricas.isVarreduraPendente(),
+                metricas.getVencendo(), metricas.getAtrasadas(), metricas.getCiclos(), metricas.getBlocosLidos(),
+                metricas.getFalhas(), metricas.getDuracaoUltimoCicloMillis());
+    }
+}
@@ -0,0 +1,30 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepositoryAsync;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/** Publica em JSON a ocupação do executor do repositório assíncrono (fila, operações longas, rejeições e espera). */
+@WebServlet("/estatisticas/repositorio")
+public class EstatisticasRepositorioServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        TarefaRepositoryAsync.Metricas metricas = CDI.current().select(TarefaRepositoryAsync.class).get().metricas();
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        resp.getWriter().printf("{\"virtuais\":%b,\"threads\":%d,\"capacidadeFila\":%d,\"emExecucao\":%d,\"aguardando\":%d,"
+                        + "\"longas\":%d,\"limiteLongas\":%d,\"concluidas\":%d,\"falhas\":%d,\"rejeitadas\":%d,\"esperaMediaMicros\":%d,\"esperaMaximaMicros\":%d}",
+                metricas.isVirtuais(), metricas.getThreads(), metricas.getCapacidadeFila(), metricas.getEmExecucao(),
+                metricas.getAguardando(), metricas.getLongas(), metricas.getLimiteLongas(), metricas.getConcluidas(),
+                metricas.getFalhas(), metricas.getRejeitadas(),
+                metricas.getEsperaMediaMicros(), metricas.getEsperaMaximaMicros());
+    }
+}
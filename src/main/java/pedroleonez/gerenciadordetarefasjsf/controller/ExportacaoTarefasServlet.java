@@ -0,0 +1,123 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepositoryAsync;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.json.JsonException;
+import javax.servlet.AsyncContext;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baixa em CSV ({@code ?formato=csv}, padrão) ou JSON ({@code ?formato=json}) as tarefas do filtro aplicado
+ * na tabela, enviado nos parâmetros {@code id}, {@code titulo}, {@code responsavel}, {@code prioridade} e
+ * {@code situacao} (ausentes = sem filtro; ver {@link TarefaLazyDataModel#getParametrosExportacao()}).
+ * A resposta é escrita enquanto as linhas chegam do banco, sem montar a lista em memória.
+ * A exportação roda no executor do {@link TarefaRepositoryAsync} como operação longa (servlet assíncrono):
+ * a thread do Tomcat é devolvida logo após ler os critérios, e com o limite de exportações simultâneas ou a
+ * fila do repositório cheios a resposta é 503.
+ */
+@WebServlet(value = "/exportacao/tarefas", asyncSupported = true)
+public class ExportacaoTarefasServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    // Limite para uma exportação em andamento antes que o contêiner encerre a resposta
+    private static final long TEMPO_MAXIMO_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        boolean json = "json".equalsIgnoreCase(req.getParameter("formato"));
+
+        // Critérios da view que gerou o link, lidos ainda na thread da requisição
+        Long id;
+        Tarefa.Prioridade prioridade;
+        Tarefa.Situacao situacao;
+        try {
+            String valorId = parametro(req, "id");
+            String valorPrioridade = parametro(req, "prioridade");
+            String valorSituacao = parametro(req, "situacao");
+            id = valorId == null ? null : Long.valueOf(valorId);
+            prioridade = valorPrioridade == null ? null : Tarefa.Prioridade.valueOf(valorPrioridade);
+            situacao = valorSituacao == null ? null : Tarefa.Situacao.valueOf(valorSituacao);
+        } catch (IllegalArgumentException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, "Filtro de exportação inválido: " + e.getMessage());
+            return;
+        }
+        String tituloOuDescricao = parametro(req, "titulo");
+        String responsavel = parametro(req, "responsavel");
+
+        AsyncContext async = req.startAsync();
+        async.setTimeout(TEMPO_MAXIMO_MILLIS);
+
+        CompletableFuture<Long> exportacao = CDI.current().select(TarefaRepositoryAsync.class).get().executarLonga(repository -> {
+            ExportadorTarefas exportador = new ExportadorTarefas(repository);
+            try {
+                resp.setContentType(json ? "application/json" : "text/csv");
+                resp.setCharacterEncoding("UTF-8");
+                resp.setHeader("Content-Disposition", "attachment; filename=\"tarefas." + (json ? "json" : "csv") + "\"");
+                Writer saida = new BufferedWriter(new OutputStreamWriter(resp.getOutputStream(), StandardCharsets.UTF_8));
+                return json
+                        ? exportador.exportarJson(id, tituloOuDescricao, responsavel, prioridade, situacao, saida)
+                        : exportador.exportarCsv(id, tituloOuDescricao, responsavel, prioridade, situacao, saida);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        exportacao.whenComplete((exportadas, erro) -> {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            if (causa == null) {
+                System.out.println("[EXPORTACAO] " + exportadas + " tarefas exportadas em " + (json ? "JSON" : "CSV") + ".");
+            } else if (causa instanceof RejectedExecutionException) {
+                resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                resp.setHeader("Retry-After", "5");
+                System.err.println("[EXPORTACAO] Recusada: " + causa.getMessage());
+            } else if (clienteDesconectou(causa)) {
+                System.err.println("[EXPORTACAO] Interrompida pelo cliente: " + causa.getMessage());
+            } else {
+                System.err.println("[EXPORTACAO] Falha: " + causa);
+                falhar(resp);
+            }
+            async.complete();
+        });
+    }
+
+    // Falha do banco ou da consulta: sem nenhum byte enviado, um 500 em vez de um arquivo vazio. Com a resposta
+    // já iniciada não há como trocar o status; o arquivo fica sem o final (o JSON sem fechar o array).
+    private static void falhar(HttpServletResponse resp) {
+        if (resp.isCommitted()) {
+            System.err.println("[EXPORTACAO] Resposta já iniciada; o arquivo enviado está incompleto.");
+            return;
+        }
+        try {
+            resp.reset();
+            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Falha ao gerar a exportação.");
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("[EXPORTACAO] Não foi possível enviar o erro: " + e.getMessage());
+        }
+    }
+
+    // Erros de escrita na resposta: o cliente fechou a conexão ou cancelou o download
+    private static boolean clienteDesconectou(Throwable causa) {
+        return causa instanceof IOException || causa instanceof UncheckedIOException
+                || (causa instanceof JsonException && causa.getCause() instanceof IOException);
+    }
+
+    private static String parametro(HttpServletRequest req, String nome) {
+        String valor = req.getParameter(nome);
+        return valor == null || valor.trim().isEmpty() ? null : valor.trim();
+    }
+}
@@ -0,0 +1,80 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Exporta o resultado de um filtro em CSV ou JSON escrevendo cada tarefa assim que o cursor do banco a entrega.
+ * O formato CSV é o mesmo aceito pela {@link ImportadorTarefas}, o que permite reimportar o arquivo.
+ */
+public class ExportadorTarefas {
+
+    private static final char SEPARADOR = ';';
+
+    private final TarefaRepository repository;
+
+    public ExportadorTarefas(TarefaRepository repository) {
+        this.repository = repository;
+    }
+
+    /** @return quantidade de tarefas exportadas */
+    public long exportarCsv(Long id, String tituloOuDescricao, String responsavel,
+                            Tarefa.Prioridade prioridade, Tarefa.Situacao situacao, Writer saida) throws IOException {
+        saida.write("id;titulo;descricao;responsavel;prioridade;deadline;situacao\n");
+        try {
+            long exportadas = repository.percorrer(id, tituloOuDescricao, responsavel, prioridade, situacao, tarefa -> {
+                try {
+                    saida.write(String.valueOf(tarefa.getId()));
+                    for (String valor : new String[]{tarefa.getTitulo(), tarefa.getDescricao(), tarefa.getResponsavel(),
+                            tarefa.getPrioridade().name(), tarefa.getDeadline().toString(), tarefa.getSituacao().name()}) {
+                        saida.write(SEPARADOR);
+                        saida.write(campoCsv(valor));
+                    }
+                    saida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // Só o arquivo completo é descarregado aqui: numa falha o que ainda estiver no buffer não é enviado
+            saida.flush();
+            return exportadas;
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente fechou a conexão no meio do download
+            throw e.getCause();
+        }
+    }
+
+    /** Array JSON com um objeto por tarefa, gerado em streaming. */
+    public long exportarJson(Long id, String tituloOuDescricao, String responsavel,
+                             Tarefa.Prioridade prioridade, Tarefa.Situacao situacao, Writer saida) {
+        JsonGenerator json = Json.createGenerator(saida);
+        json.writeStartArray();
+        long exportadas = repository.percorrer(id, tituloOuDescricao, responsavel, prioridade, situacao, tarefa ->
+                json.writeStartObject()
+                        .write("id", tarefa.getId())
+                        .write("titulo", tarefa.getTitulo())
+                        .write("descricao", tarefa.getDescricao())
+                        .write("responsavel", tarefa.getResponsavel())
+                        .write("prioridade", tarefa.getPrioridade().name())
+                        .write("deadline", tarefa.getDeadline().toString())
+                        .write("situacao", tarefa.getSituacao().name())
+                        .writeEnd());
+        json.writeEnd();
+        json.flush();
+        return exportadas;
+    }
+
+    // Aspas apenas quando necessário (separador, aspas ou quebra de linha), dobrando as aspas internas.
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(SEPARADOR) < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
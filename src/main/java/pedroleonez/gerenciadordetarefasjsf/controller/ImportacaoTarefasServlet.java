@@ -0,0 +1,61 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.stream.JsonParsingException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Recebe uma carga de tarefas no corpo da requisição ({@code text/csv} ou {@code application/json})
+ * e responde com o resumo da importação, incluindo a vazão em linhas por segundo.
+ */
+@WebServlet("/importacao/tarefas")
+public class ImportacaoTarefasServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        String tipo = req.getContentType() != null ? req.getContentType().toLowerCase() : "";
+        if (!tipo.contains("json") && !tipo.contains("csv")) {
+            resp.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Envie text/csv ou application/json.");
+            return;
+        }
+        if (req.getCharacterEncoding() == null) {
+            req.setCharacterEncoding("UTF-8");
+        }
+
+        ImportadorTarefas importador = new ImportadorTarefas(
+                CDI.current().select(TarefaRepository.class).get(),
+                CDI.current().select(Validator.class).get());
+
+        ImportadorTarefas.Resultado resultado;
+        try (Reader corpo = req.getReader()) {
+            resultado = tipo.contains("json") ? importador.importarJson(corpo) : importador.importarCsv(corpo);
+        } catch (IllegalArgumentException | JsonParsingException e) {
+            resp.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        JsonArrayBuilder erros = Json.createArrayBuilder();
+        resultado.getErros().forEach(erros::add);
+
+        resp.setContentType("application/json");
+        resp.setCharacterEncoding("UTF-8");
+        Json.createWriter(resp.getWriter()).writeObject(Json.createObjectBuilder()
+                .add("importadas", resultado.getImportadas())
+                .add("rejeitadas", resultado.getRejeitadas())
+                .add("duracaoMillis", resultado.getDuracaoMillis())
+                .add("linhasPorSegundo", resultado.getLinhasPorSegundo())
+                .add("erros", erros)
+                .build());
+    }
+}
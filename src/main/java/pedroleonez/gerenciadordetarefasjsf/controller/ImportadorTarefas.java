@@ -0,0 +1,325 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de tarefas a partir de CSV ou JSON lidos em streaming.
+ * Cada registro passa pelas validações do formulário, exceto a de prazo no futuro ({@link Tarefa.Cadastro}), para
+ * que um arquivo exportado com tarefas atrasadas ou concluídas possa ser reimportado; os válidos são gravados em blocos de
+ * {@link #TAMANHO_BLOCO} (uma transação por bloco, INSERTs em lotes JDBC) e os inválidos são relatados.
+ */
+public class ImportadorTarefas {
+
+    /** Registros gravados por transação. */
+    static final int TAMANHO_BLOCO = 1000;
+
+    /** Campos obrigatórios de cada registro; {@code situacao} é opcional e assume "em andamento". */
+    static final List<String> CAMPOS = List.of("titulo", "descricao", "responsavel", "prioridade", "deadline");
+
+    private static final int MAXIMO_ERROS_RELATADOS = 100;
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final TarefaRepository repository;
+    private final Validator validator;
+
+    public ImportadorTarefas(TarefaRepository repository, Validator validator) {
+        this.repository = repository;
+        this.validator = validator;
+    }
+
+    /** CSV com cabeçalho (separador {@code ,} ou {@code ;}, campos entre aspas no padrão RFC 4180). */
+    public Resultado importarCsv(Reader reader) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(reader);
+        Execucao execucao = new Execucao();
+
+        List<String> cabecalho = leitor.proximo();
+        if (cabecalho == null) {
+            return execucao.concluir();
+        }
+        List<String> campos = cabecalho.stream().map(ImportadorTarefas::normalizar).collect(Collectors.toList());
+        if (!campos.containsAll(CAMPOS)) {
+            throw new IllegalArgumentException("Cabeçalho CSV deve conter as colunas " + CAMPOS + ".");
+        }
+
+        int registro = 0;
+        List<String> valores;
+        while ((valores = leitor.proximo()) != null) {
+            registro++;
+            Map<String, String> linha = new HashMap<>();
+            for (int i = 0; i < campos.size() && i < valores.size(); i++) {
+                linha.put(campos.get(i), valores.get(i));
+            }
+            execucao.processar(registro, linha);
+        }
+        return execucao.concluir();
+    }
+
+    /** Array JSON de objetos com os mesmos campos do CSV; apenas um objeto fica em memória por vez. */
+    public Resultado importarJson(Reader reader) {
+        Execucao execucao = new Execucao();
+        try (JsonParser parser = Json.createParser(reader)) {
+            if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                throw new IllegalArgumentException("O JSON de importação deve ser um array de tarefas.");
+            }
+            int registro = 0;
+            while (parser.hasNext()) {
+                JsonParser.Event evento = parser.next();
+                if (evento == JsonParser.Event.END_ARRAY) {
+                    break;
+                }
+                registro++;
+                if (evento != JsonParser.Event.START_OBJECT) {
+                    execucao.rejeitar(registro, "esperado um objeto JSON");
+                    if (evento == JsonParser.Event.START_ARRAY) {
+                        parser.skipArray();
+                    }
+                    continue;
+                }
+                JsonObject objeto = parser.getObject();
+                Map<String, String> linha = new HashMap<>();
+                for (Map.Entry<String, JsonValue> campo : objeto.entrySet()) {
+                    JsonValue valor = campo.getValue();
+                    if (valor.getValueType() != JsonValue.ValueType.NULL) {
+                        linha.put(normalizar(campo.getKey()),
+                                valor instanceof JsonString ? ((JsonString) valor).getString() : valor.toString());
+                    }
+                }
+                execucao.processar(registro, linha);
+            }
+        }
+        return execucao.concluir();
+    }
+
+    // Converte um registro já separado em campos na entidade, sem validar as regras de negócio.
+    private static Tarefa converter(Map<String, String> linha) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setTitulo(texto(linha.get("titulo")));
+        tarefa.setDescricao(texto(linha.get("descricao")));
+        tarefa.setResponsavel(texto(linha.get("responsavel")));
+        tarefa.setPrioridade(enumeracao("prioridade", Tarefa.Prioridade.values(), Tarefa.Prioridade::getLabel,
+                linha.get("prioridade")));
+        tarefa.setDeadline(data(linha.get("deadline")));
+        Tarefa.Situacao situacao = enumeracao("situacao", Tarefa.Situacao.values(), Tarefa.Situacao::getLabel,
+                linha.get("situacao"));
+        tarefa.setSituacao(situacao != null ? situacao : Tarefa.Situacao.EM_ANDAMENTO);
+        return tarefa;
+    }
+
+    private static String texto(String valor) {
+        if (valor == null) return null;
+        String aparado = valor.trim();
+        return aparado.isEmpty() ? null : aparado;
+    }
+
+    // Aceita tanto o nome da constante (EM_ANDAMENTO) quanto o rótulo exibido na tela (Em andamento).
+    private static <E extends Enum<E>> E enumeracao(String campo, E[] constantes, Function<E, String> rotulo,
+                                                    String valor) {
+        String informado = texto(valor);
+        if (informado == null) {
+            return null;
+        }
+        String chave = normalizar(informado);
+        for (E constante : constantes) {
+            if (chave.equals(normalizar(constante.name())) || chave.equals(normalizar(rotulo.apply(constante)))) {
+                return constante;
+            }
+        }
+        throw new IllegalArgumentException("valor inválido para " + campo + ": " + informado);
+    }
+
+    private static LocalDate data(String valor) {
+        String informado = texto(valor);
+        if (informado == null) {
+            return null;
+        }
+        try {
+            return informado.contains("/") ? LocalDate.parse(informado, DATA_BRASILEIRA) : LocalDate.parse(informado);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("data inválida: " + informado);
+        }
+    }
+
+    // Comparação de nomes de campos e rótulos sem acentos, caixa ou separadores.
+    private static String normalizar(String valor) {
+        return Normalizer.normalize(valor.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .replaceAll("[\\s_-]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    // Estado de uma importação: bloco pendente, contadores e erros relatados.
+    private final class Execucao {
+        private final long inicio = System.nanoTime();
+        private final List<Tarefa> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        private final List<String> erros = new ArrayList<>();
+        private int primeiroRegistroDoBloco;
+        private int importadas;
+        private int rejeitadas;
+
+        void processar(int registro, Map<String, String> linha) {
+            Tarefa tarefa;
+            try {
+                tarefa = converter(linha);
+            } catch (IllegalArgumentException e) {
+                rejeitar(registro, e.getMessage());
+                return;
+            }
+
+            Set<ConstraintViolation<Tarefa>> violacoes = validator.validate(tarefa);
+            if (!violacoes.isEmpty()) {
+                rejeitar(registro, violacoes.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining(" ")));
+                return;
+            }
+
+            if (bloco.isEmpty()) {
+                primeiroRegistroDoBloco = registro;
+            }
+            bloco.add(tarefa);
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravarBloco(registro);
+            }
+        }
+
+        void rejeitar(int registro, String motivo) {
+            rejeitadas++;
+            if (erros.size() < MAXIMO_ERROS_RELATADOS) {
+                erros.add("Registro " + registro + ": " + motivo);
+            }
+        }
+
+        Resultado concluir() {
+            if (!bloco.isEmpty()) {
+                gravarBloco(-1);
+            }
+            long duracaoMillis = (System.nanoTime() - inicio) / 1_000_000;
+            Resultado resultado = new Resultado(importadas, rejeitadas, erros, duracaoMillis);
+            System.out.println("[IMPORTACAO] " + importadas + " tarefas importadas, " + rejeitadas + " rejeitadas em "
+                    + duracaoMillis + " ms (" + resultado.getLinhasPorSegundo() + " linhas/s).");
+            return resultado;
+        }
+
+        private void gravarBloco(int ultimoRegistro) {
+            try {
+                repository.salvarLote(bloco);
+                importadas += bloco.size();
+            } catch (RuntimeException e) {
+                // Um bloco que falha no banco é descartado inteiro; os demais seguem
+                rejeitadas += bloco.size();
+                if (erros.size() < MAXIMO_ERROS_RELATADOS) {
+                    erros.add("Registros " + primeiroRegistroDoBloco + " a "
+                            + (ultimoRegistro > 0 ? ultimoRegistro : "fim") + " não gravados: " + e.getMessage());
+                }
+            }
+            bloco.clear();
+        }
+    }
+
+    /** Resumo devolvido ao cliente da importação. */
+    public static final class Resultado {
+        private final int importadas;
+        private final int rejeitadas;
+        private final List<String> erros;
+        private final long duracaoMillis;
+
+        Resultado(int importadas, int rejeitadas, List<String> erros, long duracaoMillis) {
+            this.importadas = importadas;
+            this.rejeitadas = rejeitadas;
+            this.erros = List.copyOf(erros);
+            this.duracaoMillis = duracaoMillis;
+        }
+
+        public int getImportadas() { return importadas; }
+        public int getRejeitadas() { return rejeitadas; }
+        public List<String> getErros() { return erros; }
+        public long getDuracaoMillis() { return duracaoMillis; }
+
+        public long getLinhasPorSegundo() {
+            return duracaoMillis > 0 ? importadas * 1000L / duracaoMillis : importadas;
+        }
+    }
+
+    // Leitor CSV mínimo (RFC 4180): aspas duplas delimitam campos com separador, quebra de linha ou aspas ("").
+    private static final class LeitorCsv {
+        private final BufferedReader reader;
+        private char separador;
+
+        LeitorCsv(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        }
+
+        List<String> proximo() throws IOException {
+            int c = reader.read();
+            while (c == '\r' || c == '\n') {
+                c = reader.read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            while (c != -1) {
+                char atual = (char) c;
+                if (entreAspas) {
+                    if (atual == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            campo.append('"');
+                        } else {
+                            reader.reset();
+                            entreAspas = false;
+                        }
+                    } else {
+                        campo.append(atual);
+                    }
+                } else if (atual == '"') {
+                    entreAspas = true;
+                } else if (atual == '\n' || atual == '\r') {
+                    break;
+                } else if (separador == 0 && (atual == ',' || atual == ';')) {
+                    // O primeiro separador encontrado (no cabeçalho) vale para o arquivo todo
+                    separador = atual;
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else if (atual == separador) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(atual);
+                }
+                c = reader.read();
+            }
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+}
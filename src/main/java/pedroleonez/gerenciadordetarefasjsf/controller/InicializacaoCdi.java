@@ -0,0 +1,20 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.MedicaoInicializacao;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
+import javax.enterprise.inject.spi.Extension;
+
+/**
+ * Extensão CDI que mede a inicialização do Weld. As extensões são carregadas antes da varredura dos arquivos de
+ * beans, então o intervalo até {@link AfterDeploymentValidation} cobre descoberta, validação e implantação.
+ */
+public class InicializacaoCdi implements Extension {
+
+    private final long inicio = System.nanoTime();
+
+    void aoValidar(@Observes AfterDeploymentValidation evento) {
+        MedicaoInicializacao.registrar(MedicaoInicializacao.Fase.CDI, inicio);
+    }
+}
@@ -0,0 +1,37 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.MedicaoInicializacao;
+
+import javax.faces.application.Application;
+import javax.faces.event.SystemEvent;
+import javax.faces.event.SystemEventListener;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Mede a configuração do JSF. Como primeiro listener do web.xml, marca o início antes do listener do Mojarra;
+ * registrado também em faces-config.xml, fecha a medição no {@code PostConstructApplicationEvent}, publicado
+ * quando o Mojarra e o PrimeFaces terminam de configurar a aplicação.
+ */
+public class InicializacaoJsf implements ServletContextListener, SystemEventListener {
+
+    // Compartilhado porque o contêiner e o JSF criam instâncias separadas
+    private static volatile long inicio;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        inicio = System.nanoTime();
+    }
+
+    @Override
+    public boolean isListenerForSource(Object source) {
+        return source instanceof Application;
+    }
+
+    @Override
+    public void processEvent(SystemEvent event) {
+        if (inicio != 0) {
+            MedicaoInicializacao.registrar(MedicaoInicializacao.Fase.JSF, inicio);
+        }
+    }
+}
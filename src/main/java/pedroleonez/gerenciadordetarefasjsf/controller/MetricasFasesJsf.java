@@ -0,0 +1,72 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.Histograma;
+
+import javax.faces.component.UIViewRoot;
+import javax.faces.event.PhaseEvent;
+import javax.faces.event.PhaseId;
+import javax.faces.event.PhaseListener;
+
+/**
+ * Mede o tempo de cada fase do ciclo de vida do JSF, e da requisição inteira, nas requisições à tela de tarefas.
+ * O início de cada fase fica em um {@code long[]} por thread, criado uma única vez; os histogramas são estáticos
+ * porque o JSF instancia o listener por conta própria (registrado em faces-config.xml).
+ */
+public class MetricasFasesJsf implements PhaseListener {
+    private static final long serialVersionUID = 1L;
+
+    static final String TELA = "/index.xhtml";
+
+    // Índice = PhaseId.getOrdinal(): 1 (RESTORE_VIEW) a 6 (RENDER_RESPONSE); 0 fica sem uso
+    private static final Histograma[] FASES = new Histograma[PhaseId.VALUES.size()];
+    private static final Histograma REQUISICAO = new Histograma();
+
+    private static final ThreadLocal<long[]> INICIOS = ThreadLocal.withInitial(() -> new long[PhaseId.VALUES.size()]);
+
+    static {
+        for (int i = 0; i < FASES.length; i++) {
+            FASES[i] = new Histograma();
+        }
+    }
+
+    @Override
+    public void beforePhase(PhaseEvent event) {
+        INICIOS.get()[event.getPhaseId().getOrdinal()] = System.nanoTime();
+    }
+
+    @Override
+    public void afterPhase(PhaseEvent event) {
+        long agora = System.nanoTime();
+        // A view só é conhecida depois de RESTORE_VIEW
+        UIViewRoot view = event.getFacesContext().getViewRoot();
+        if (view == null || !TELA.equals(view.getViewId())) {
+            return;
+        }
+        long[] inicios = INICIOS.get();
+        int fase = event.getPhaseId().getOrdinal();
+        FASES[fase].registrar(agora - inicios[fase]);
+        if (event.getPhaseId() == PhaseId.RENDER_RESPONSE) {
+            REQUISICAO.registrar(agora - inicios[PhaseId.RESTORE_VIEW.getOrdinal()]);
+        }
+    }
+
+    @Override
+    public PhaseId getPhaseId() {
+        return PhaseId.ANY_PHASE;
+    }
+
+    /** Séries no formato de texto do Prometheus. */
+    static void escrever(StringBuilder saida) {
+        saida.append("# HELP tarefas_jsf_fase_segundos Duração de cada fase do JSF na tela de tarefas.\n")
+                .append("# TYPE tarefas_jsf_fase_segundos histogram\n");
+        for (PhaseId fase : PhaseId.VALUES) {
+            if (fase != PhaseId.ANY_PHASE) {
+                FASES[fase.getOrdinal()].escrever(saida, "tarefas_jsf_fase_segundos",
+                        "tela=\"" + TELA + "\",fase=\"" + fase.getName() + "\"");
+            }
+        }
+        saida.append("# HELP tarefas_jsf_requisicao_segundos Duração das requisições JSF à tela de tarefas.\n")
+                .append("# TYPE tarefas_jsf_requisicao_segundos histogram\n");
+        REQUISICAO.escrever(saida, "tarefas_jsf_requisicao_segundos", "tela=\"" + TELA + "\"");
+    }
+}
@@ -0,0 +1,35 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.MedicaoInicializacao;
+import pedroleonez.gerenciadordetarefasjsf.repository.MonitorConsultas;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.enterprise.inject.spi.CDI;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Endpoint de coleta do Prometheus (formato de texto 0.0.4): latência, linhas e falhas do repositório, instruções
+ * SQL, fases do JSF na tela de tarefas, sessões abertas e duração da inicialização. Os números já estão acumulados; a coleta apenas os lê.
+ */
+@WebServlet("/metricas")
+public class MetricasServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        StringBuilder saida = new StringBuilder(32 * 1024);
+        CDI.current().select(TarefaRepository.class).get().getMetricas().escrever(saida);
+        MonitorConsultas.escrever(saida);
+        MetricasFasesJsf.escrever(saida);
+        MetricasSessoes.escrever(saida);
+        MedicaoInicializacao.escrever(saida);
+
+        resp.setContentType("text/plain; version=0.0.4");
+        resp.setCharacterEncoding("UTF-8");
+        resp.getWriter().write(saida.toString());
+    }
+}
@@ -0,0 +1,36 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import javax.servlet.annotation.WebListener;
+import javax.servlet.http.HttpSessionEvent;
+import javax.servlet.http.HttpSessionListener;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Conta as sessões HTTP abertas e criadas desde a inicialização, publicadas em {@code /metricas}. */
+@WebListener
+public class MetricasSessoes implements HttpSessionListener {
+
+    private static final AtomicLong ATIVAS = new AtomicLong();
+    private static final LongAdder CRIADAS = new LongAdder();
+
+    @Override
+    public void sessionCreated(HttpSessionEvent se) {
+        ATIVAS.incrementAndGet();
+        CRIADAS.increment();
+    }
+
+    @Override
+    public void sessionDestroyed(HttpSessionEvent se) {
+        ATIVAS.decrementAndGet();
+    }
+
+    /** Séries no formato de texto do Prometheus. */
+    static void escrever(StringBuilder saida) {
+        saida.append("# HELP tarefas_sessoes_ativas Sessões HTTP abertas.\n")
+                .append("# TYPE tarefas_sessoes_ativas gauge\n")
+                .append("tarefas_sessoes_ativas ").append(ATIVAS.get()).append('\n')
+                .append("# HELP tarefas_sessoes_criadas_total Sessões HTTP criadas desde a inicialização.\n")
+                .append("# TYPE tarefas_sessoes_criadas_total counter\n")
+                .append("tarefas_sessoes_criadas_total ").append(CRIADAS.sum()).append('\n');
+    }
+}
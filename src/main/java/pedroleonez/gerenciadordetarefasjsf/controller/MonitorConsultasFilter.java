@@ -0,0 +1,40 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.MonitorConsultas;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.HttpFilter;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Abre um {@link MonitorConsultas.Escopo} por requisição: as instruções SQL feitas na thread da requisição são
+ * contadas, e requisições acima de {@code SQL_ORCAMENTO_REQUISICAO} instruções vão para o log com o componente
+ * JSF que disparou a ação ({@code javax.faces.source}).
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class MonitorConsultasFilter extends HttpFilter {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doFilter(HttpServletRequest req, HttpServletResponse resp, FilterChain chain)
+            throws IOException, ServletException {
+        MonitorConsultas.Escopo escopo = MonitorConsultas.abrir(req.getMethod() + " " + req.getRequestURI(),
+                MonitorConsultas.ORCAMENTO_PADRAO, false);
+        try {
+            chain.doFilter(req, resp);
+        } finally {
+            if (escopo.isAcimaDoOrcamento()) {
+                // Lido só depois do JSF: ler parâmetros antes dele fixaria a codificação do corpo da requisição
+                String origem = req.getParameter("javax.faces.source");
+                if (origem != null) {
+                    System.err.println("[SQL] Ação JSF acima do orçamento: " + origem + ".");
+                }
+            }
+            escopo.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.AlteracaoTarefa;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.faces.push.Push;
+import javax.faces.push.PushContext;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repassa as alterações confirmadas no repositório para os navegadores inscritos no canal {@code tarefas}
+ * ({@code <f:websocket>} em index.xhtml). Cada mensagem descreve só as linhas afetadas, e a tabela
+ * se corrige no navegador sem consultar o banco.
+ */
+@ApplicationScoped
+public class NotificadorTarefas {
+
+    /** Acima disso (ex.: importações) a mensagem leva só os ids e a quantidade, sem os dados das linhas. */
+    static final int LIMITE_LINHAS = 100;
+
+    @Inject
+    @Push(channel = "tarefas")
+    private PushContext canal;
+
+    void aoAlterar(@Observes AlteracaoTarefa alteracao) {
+        try {
+            canal.send(mensagem(alteracao));
+        } catch (RuntimeException e) {
+            // A escrita já foi confirmada; uma tela sem a notificação apenas mostra dados antigos até a próxima carga
+            System.err.println("[PUSH] Falha ao notificar " + alteracao.getTipo() + ": " + e.getMessage());
+        }
+    }
+
+    /** Corpo JSON enviado ao navegador: {@code {tipo, quantidade, ids, tarefas: [{id, titulo, ...}]}}. */
+    static Map<String, Object> mensagem(AlteracaoTarefa alteracao) {
+        Map<String, Object> mensagem = new LinkedHashMap<>();
+        mensagem.put("tipo", alteracao.getTipo().name());
+        mensagem.put("quantidade", alteracao.getIds().size());
+        if (alteracao.getIds().size() <= LIMITE_LINHAS) {
+            mensagem.put("ids", alteracao.getIds());
+        }
+
+        List<Map<String, Object>> linhas = new ArrayList<>();
+        if (alteracao.getTarefas().size() <= LIMITE_LINHAS) {
+            for (Tarefa tarefa : alteracao.getTarefas()) {
+                Map<String, Object> linha = new LinkedHashMap<>();
+                linha.put("id", tarefa.getId());
+                linha.put("titulo", tarefa.getTitulo());
+                linha.put("responsavel", tarefa.getResponsavel());
+                linha.put("deadline", String.valueOf(tarefa.getDeadline()));
+                linha.put("situacao", tarefa.getSituacao().name());
+                linhas.add(linha);
+            }
+        }
+        mensagem.put("tarefas", linhas);
+        return mensagem;
+    }
+}
@@ -0,0 +1,30 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.PainelTarefas;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+/**
+ * Painel de resumo exibido acima da tabela. Os números vêm dos contadores mantidos pelo repositório,
+ * então renderizar o painel não consulta o banco; é relido a cada alteração recebida pelo WebSocket.
+ */
+@Named
+@RequestScoped
+public class PainelTarefasBean {
+
+    @Inject
+    private TarefaRepository repository;
+
+    // Mesma fotografia para todas as expressões da requisição
+    private PainelTarefas painel;
+
+    public PainelTarefas getPainel() {
+        if (painel == null) {
+            painel = repository.painel();
+        }
+        return painel;
+    }
+}
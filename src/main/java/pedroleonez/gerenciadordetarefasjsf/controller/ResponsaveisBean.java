@@ -0,0 +1,27 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.List;
+
+/**
+ * Sugestões do campo "Responsável" ({@code p:autoComplete}). O catálogo é um só para toda a aplicação,
+ * mantido pelo repositório em memória, então cada tecla digitada é respondida sem consultar o banco.
+ */
+@Named
+@ApplicationScoped
+public class ResponsaveisBean {
+
+    // Sugestões exibidas por vez na lista do autocompletar
+    static final int LIMITE_SUGESTOES = 10;
+
+    @Inject
+    private TarefaRepository repository;
+
+    public List<String> sugerir(String texto) {
+        return repository.sugerirResponsaveis(texto, LIMITE_SUGESTOES);
+    }
+}
@@ -1,6 +1,5 @@
 package pedroleonez.gerenciadordetarefasjsf.controller;
 
-import javax.annotation.PostConstruct;
 import javax.enterprise.context.SessionScoped;
 import javax.faces.application.FacesMessage;
 import javax.faces.context.FacesContext;
@@ -12,29 +11,31 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.persistence.OptimisticLockException;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 
+import org.primefaces.PrimeFaces;
+
 import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
 import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
 
-/** Bean de sessão que coordena o CRUD de tarefas e a interação com a tela JSF. */
+/**
+ * Bean de sessão com o que precisa sobreviver entre telas: critérios do filtro e o diálogo de criação/edição.
+ * O estado da tabela (página, seleção) fica em {@link TarefaTabelaBean}, com escopo de view.
+ */
 @Named
 @SessionScoped
 public class TarefaBean implements Serializable {
     private static final long serialVersionUID = 1L;
 
-    // Tarefa manipulada pelos botões principais da tela
-    private Tarefa tarefa = new Tarefa();
-
     // Buffer utilizado pelo diálogo modal de criação/edição
     private Tarefa novaTarefa = new Tarefa();
 
-    // Resultado atualmente exibido na tabela
-    private List<Tarefa> tarefas;
-
-    private final TarefaRepository repository = new TarefaRepository();
+    // Proxy do repositório de escopo de aplicação; não é serializado com a sessão
+    @Inject
+    private transient TarefaRepository repository;
 
     @Inject
     private transient Validator validator;
@@ -49,65 +50,15 @@ public class TarefaBean implements Serializable {
     // Campo de data associado ao diálogo modal
     private LocalDate data;
 
-    // Listas auxiliares para combos e seletores
-    private final List<Tarefa.Prioridade> prioridades = List.of(Tarefa.Prioridade.values());
-    private final List<Tarefa.Situacao> situacoes = List.of(Tarefa.Situacao.values());
-    private final List<String> responsaveis = List.of("João", "Maria", "Carlos", "Ana"); // exemplo
-
-    /** Carrega a lista inicial exibindo apenas tarefas em andamento. */
-    @PostConstruct
-    public void init() {
-        listarTarefas();
-    }
-
-    // ===========================
-    // Métodos de manipulação
-    // ===========================
-
-    public void criarTarefa() {
-        tarefa.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
-        tarefa.setDeadline(data);
-        repository.salvar(tarefa);
-        tarefa = new Tarefa();
-        data = null;
-        listarTarefas();
-    }
-
-    public void atualizarTarefa() {
-        tarefa.setDeadline(data);
-        repository.atualizar(tarefa);
-        tarefa = new Tarefa();
-        data = null;
-        listarTarefas();
-    }
-
-    public void removerTarefa(Long id) {
-        repository.remover(id);
-        listarTarefas();
-    }
-
-    /** Marca uma tarefa como concluída e atualiza a lista (ocultando-a) */
-    public void concluirTarefa(Long id) {
-        Tarefa t = repository.buscarPorId(id);
-        if (t != null && t.getSituacao() == Tarefa.Situacao.EM_ANDAMENTO) {
-            t.setSituacao(Tarefa.Situacao.CONCLUIDA);
-            repository.atualizar(t);
-        }
-        // Após concluir, mostra apenas as tarefas ainda em andamento
-        listarTarefas();
-    }
+    // Listas auxiliares para combos e seletores (compartilhadas entre as sessões; responsáveis vêm do ResponsaveisBean)
+    private static final List<Tarefa.Prioridade> PRIORIDADES = List.of(Tarefa.Prioridade.values());
+    private static final List<Tarefa.Situacao> SITUACOES = List.of(Tarefa.Situacao.values());
 
-    /** Lista apenas tarefas em andamento (filtro padrão) */
-    public void listarTarefas() {
-        List<Tarefa> todas = repository.listarTodas();
-        // Exibir apenas tarefas em andamento por padrão
-        tarefas = todas.stream()
-                .filter(t -> t.getSituacao() == Tarefa.Situacao.EM_ANDAMENTO)
-                .collect(Collectors.toList());
-    }
+    public TarefaBean() {}
 
-    public void filtrarTarefas() {
-        tarefas = repository.filtrar(filtroId, filtroTitulo, filtroResponsavel, filtroPrioridade, filtroSituacao);
+    // Permite montar a sessão fora do contêiner CDI (testes e benchmarks).
+    TarefaBean(TarefaRepository repository) {
+        this.repository = repository;
     }
 
     // ===========================
@@ -121,18 +72,25 @@ public class TarefaBean implements Serializable {
         this.data = null;
     }
 
-    /** Prepara o diálogo para editar a tarefa selecionada criando uma cópia independente. */
-    public void prepararEdicao(Tarefa t) {
-        Tarefa copia = new Tarefa();
-        copia.setId(t.getId());
-        copia.setTitulo(t.getTitulo());
-        copia.setDescricao(t.getDescricao());
-        copia.setResponsavel(t.getResponsavel());
-        copia.setPrioridade(t.getPrioridade());
-        copia.setSituacao(t.getSituacao());
-        copia.setDeadline(t.getDeadline());
-        this.novaTarefa = copia;
-        this.data = t.getDeadline();
+    /**
+     * Prepara o diálogo para editar a tarefa da linha clicada. A tabela só tem as colunas exibidas,
+     * então a entidade completa (com descrição e versão) é lida aqui, uma única vez por edição.
+     */
+    public void prepararEdicao(Long id) {
+        Tarefa tarefa = getRepository().buscarPorId(id);
+        if (tarefa == null) {
+            FacesContext context = FacesContext.getCurrentInstance();
+            if (context != null) {
+                context.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_ERROR,
+                        "Esta tarefa foi removida por outro usuário.", null));
+                context.validationFailed();
+            }
+            prepararNovaTarefa();
+            return;
+        }
+        // Instância desanexada: as alterações do diálogo só chegam ao banco em salvarTarefa
+        this.novaTarefa = tarefa;
+        this.data = tarefa.getDeadline();
     }
 
     /**
@@ -143,7 +101,7 @@ public class TarefaBean implements Serializable {
         novaTarefa.setDeadline(data);
 
         FacesContext context = FacesContext.getCurrentInstance();
-        Set<ConstraintViolation<Tarefa>> violations = getValidator().validate(novaTarefa);
+        Set<ConstraintViolation<Tarefa>> violations = getValidator().validate(novaTarefa, Tarefa.Cadastro.class);
 
         if (!violations.isEmpty()) {
             Set<String> mensagensExistentes = context.getMessageList().stream()
@@ -164,29 +122,34 @@ public class TarefaBean implements Serializable {
 
         if (novaTarefa.getId() == null) {
             novaTarefa.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
-            repository.salvar(novaTarefa);
+            getRepository().salvar(novaTarefa);
+            // Quem criou vê a tarefa na posição certa da página; as demais telas recebem apenas o aviso de inclusão
+            PrimeFaces.current().ajax().update("tabelaForm:tabelaTarefas");
         } else {
-            repository.atualizar(novaTarefa);
+            try {
+                getRepository().atualizar(novaTarefa);
+            } catch (OptimisticLockException e) {
+                // Mantém o diálogo aberto: o usuário decide se reabre a tarefa com os dados atuais
+                context.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_ERROR,
+                        "Esta tarefa foi alterada ou removida por outro usuário.",
+                        "Feche o diálogo e abra a edição novamente para ver a versão atual."));
+                context.validationFailed();
+                return;
+            }
         }
 
+        // Edições chegam à tabela pela notificação em tempo real, que atualiza só as células da linha
         novaTarefa = new Tarefa();
         data = null;
-        listarTarefas();
     }
 
     // ===========================
     // Getters e Setters
     // ===========================
 
-    public Tarefa getTarefa() { return tarefa; }
-    public void setTarefa(Tarefa tarefa) { this.tarefa = tarefa; }
-
     public Tarefa getNovaTarefa() { return novaTarefa; }
     public void setNovaTarefa(Tarefa novaTarefa) { this.novaTarefa = novaTarefa; }
 
-    public List<Tarefa> getTarefas() { return tarefas; }
-    public void setTarefas(List<Tarefa> tarefas) { this.tarefas = tarefas; }
-
     public Long getFiltroId() { return filtroId; }
     public void setFiltroId(Long filtroId) { this.filtroId = filtroId; }
 
@@ -207,9 +170,15 @@ public class TarefaBean implements Serializable {
 
     public LocalDate getToday() { return LocalDate.now(); }
 
-    public List<Tarefa.Prioridade> getPrioridades() { return prioridades; }
-    public List<Tarefa.Situacao> getSituacoes() { return situacoes; }
-    public List<String> getResponsaveis() { return responsaveis; }
+    public List<Tarefa.Prioridade> getPrioridades() { return PRIORIDADES; }
+    public List<Tarefa.Situacao> getSituacoes() { return SITUACOES; }
+
+    private TarefaRepository getRepository() {
+        if (repository == null) {
+            repository = TarefaTabelaBean.localizarRepositorio();
+        }
+        return repository;
+    }
 
     private Validator getValidator() {
         if (validator == null) {
@@ -0,0 +1,193 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.primefaces.model.FilterMeta;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortMeta;
+import org.primefaces.model.SortOrder;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.CursorTarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.PaginaTarefas;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepositoryAsync;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Modelo preguiçoso da tabela de tarefas: a cada requisição busca no banco somente a página visível.
+ * Avançar ou voltar uma página usa o cursor da página atual (keyset); saltos arbitrários do paginador
+ * e buscas textuais (ordenadas por relevância) recorrem ao OFFSET. O total é contado apenas quando os
+ * critérios mudam ou quando houve escritas desde a última contagem. As linhas são {@link TarefaResumo}:
+ * só as colunas exibidas, sem a descrição. Com o {@link TarefaRepositoryAsync}, a contagem roda no executor do
+ * repositório enquanto a página é lida, e a requisição espera pela mais lenta das duas em vez da soma.
+ */
+public class TarefaLazyDataModel extends LazyDataModel<TarefaResumo> {
+    private static final long serialVersionUID = 1L;
+
+    // Não acompanha a view serializada; é obtido de novo do CDI quando necessário
+    private transient TarefaRepository repository;
+    private transient TarefaRepositoryAsync repositoryAsync;
+    // Indica que a contagem paralela foi configurada (o repositório assíncrono é relocalizado após a desserialização)
+    private boolean contagemParalela;
+
+    // Critérios aplicados na última busca; só as chaves do filtro ficam na sessão, nunca as linhas.
+    private Long id;
+    private String tituloOuDescricao;
+    private String responsavel;
+    private Tarefa.Prioridade prioridade;
+    private Tarefa.Situacao situacao = Tarefa.Situacao.EM_ANDAMENTO;
+
+    // Estado da página exibida, usado para navegar por cursor para as páginas vizinhas
+    private Integer primeiroAtual;
+    private String cursorAnterior;
+    private String cursorProximo;
+    private Integer total;
+    // Geração do repositório quando o total foi contado; escritas posteriores (de qualquer usuário) o invalidam
+    private long geracaoContada;
+
+    public TarefaLazyDataModel(TarefaRepository repository) {
+        this(repository, null);
+    }
+
+    public TarefaLazyDataModel(TarefaRepository repository, TarefaRepositoryAsync repositoryAsync) {
+        this.repository = repository;
+        this.repositoryAsync = repositoryAsync;
+        this.contagemParalela = repositoryAsync != null;
+    }
+
+    /** Situação filtrada na tela, usada pelo navegador para decidir se uma tarefa alterada continua visível. */
+    public Tarefa.Situacao getSituacao() {
+        return situacao;
+    }
+
+    /**
+     * Critérios aplicados nesta view como parâmetros de URL (cada um iniciado por {@code &}), lidos pelo
+     * {@link ExportacaoTarefasServlet}: o arquivo traz as linhas da tabela, e não o que estiver digitado no
+     * filtro da sessão, compartilhado entre abas.
+     */
+    public String getParametrosExportacao() {
+        StringBuilder parametros = new StringBuilder(64);
+        acrescentar(parametros, "id", id);
+        acrescentar(parametros, "titulo", tituloOuDescricao);
+        acrescentar(parametros, "responsavel", responsavel);
+        acrescentar(parametros, "prioridade", prioridade);
+        acrescentar(parametros, "situacao", situacao);
+        return parametros.toString();
+    }
+
+    /** Define os critérios usados nas próximas cargas de página. */
+    public void aplicarFiltro(Long id, String tituloOuDescricao, String responsavel,
+                              Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        this.id = id;
+        this.tituloOuDescricao = tituloOuDescricao;
+        this.responsavel = responsavel;
+        this.prioridade = prioridade;
+        this.situacao = situacao;
+        this.primeiroAtual = null;
+        this.cursorAnterior = null;
+        this.cursorProximo = null;
+        this.total = null;
+    }
+
+    @Override
+    public List<TarefaResumo> load(int first, int pageSize, String sortField, SortOrder sortOrder,
+                             Map<String, FilterMeta> filterBy) {
+        return carregarPagina(first, pageSize);
+    }
+
+    @Override
+    public List<TarefaResumo> load(int first, int pageSize, Map<String, SortMeta> sortBy, Map<String, FilterMeta> filterBy) {
+        return carregarPagina(first, pageSize);
+    }
+
+    @Override
+    public Object getRowKey(TarefaResumo tarefa) {
+        return tarefa.getId();
+    }
+
+    @Override
+    public TarefaResumo getRowData(String rowKey) {
+        List<TarefaResumo> pagina = getWrappedData();
+        if (pagina == null || rowKey == null) {
+            return null;
+        }
+        for (TarefaResumo tarefa : pagina) {
+            if (rowKey.equals(String.valueOf(tarefa.getId()))) {
+                return tarefa;
+            }
+        }
+        return null;
+    }
+
+    private List<TarefaResumo> carregarPagina(int first, int pageSize) {
+        if (repository == null) {
+            repository = TarefaTabelaBean.localizarRepositorio();
+        }
+        if (contagemParalela && repositoryAsync == null) {
+            repositoryAsync = TarefaTabelaBean.localizarRepositorioAsync();
+        }
+        long geracao = repository.getGeracao();
+        CompletableFuture<Long> contagem = null;
+        if (total == null || geracao != geracaoContada) {
+            contagem = contar();
+            geracaoContada = geracao;
+        }
+        List<TarefaResumo> linhas = lerPagina(first, pageSize);
+        if (contagem != null) {
+            total = contagem.join().intValue();
+        }
+        setRowCount(total);
+        return linhas;
+    }
+
+    private static void acrescentar(StringBuilder parametros, String nome, Object valor) {
+        if (valor != null && !valor.toString().trim().isEmpty()) {
+            parametros.append('&').append(nome).append('=').append(URLEncoder.encode(valor.toString(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // No executor do repositório quando há thread livre; com todas ocupadas (ou sem executor), na própria
+    // requisição, para que a página nunca espere na fila atrás de outras operações.
+    private CompletableFuture<Long> contar() {
+        if (repositoryAsync != null && repositoryAsync.temThreadLivre()) {
+            CompletableFuture<Long> contagem = repositoryAsync.contarAsync(id, tituloOuDescricao, responsavel, prioridade, situacao);
+            if (!contagem.isCompletedExceptionally()) {
+                return contagem;
+            }
+        }
+        return CompletableFuture.completedFuture(repository.contar(id, tituloOuDescricao, responsavel, prioridade, situacao));
+    }
+
+    private List<TarefaResumo> lerPagina(int first, int pageSize) {
+        boolean buscaTextual = tituloOuDescricao != null && !tituloOuDescricao.trim().isEmpty();
+
+        PaginaTarefas<TarefaResumo> pagina;
+        if (buscaTextual) {
+            primeiroAtual = null;
+            return repository.resumir(id, tituloOuDescricao, responsavel, prioridade, situacao, first, pageSize);
+        } else if (first == 0) {
+            pagina = repository.resumirApos(id, tituloOuDescricao, responsavel, prioridade, situacao, null, pageSize);
+        } else if (primeiroAtual != null && first == primeiroAtual + pageSize && cursorProximo != null) {
+            pagina = repository.resumirApos(id, tituloOuDescricao, responsavel, prioridade, situacao, cursorProximo, pageSize);
+        } else if (primeiroAtual != null && first == primeiroAtual - pageSize && cursorAnterior != null) {
+            pagina = repository.resumirAntes(id, tituloOuDescricao, responsavel, prioridade, situacao, cursorAnterior, pageSize);
+        } else {
+            // Salto para uma página não adjacente: OFFSET uma única vez e cursores a partir dela
+            List<TarefaResumo> linhas = repository.resumir(id, tituloOuDescricao, responsavel, prioridade, situacao, first, pageSize);
+            primeiroAtual = first;
+            cursorAnterior = linhas.isEmpty() ? null : CursorTarefa.de(linhas.get(0)).codificar();
+            cursorProximo = linhas.isEmpty() ? null : CursorTarefa.de(linhas.get(linhas.size() - 1)).codificar();
+            return linhas;
+        }
+
+        primeiroAtual = first;
+        cursorAnterior = pagina.getCursorAnterior();
+        cursorProximo = pagina.getCursorProximo();
+        return pagina.getTarefas();
+    }
+}
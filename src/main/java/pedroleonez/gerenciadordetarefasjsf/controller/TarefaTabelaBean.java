@@ -0,0 +1,131 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.inject.spi.CDI;
+import javax.faces.application.FacesMessage;
+import javax.faces.context.FacesContext;
+import javax.faces.view.ViewScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepositoryAsync;
+
+/**
+ * Estado da tabela de tarefas, com escopo de view: guarda apenas a página exibida, as chaves do filtro
+ * e a seleção. É descartado quando o usuário deixa a tela, em vez de acompanhar a sessão inteira.
+ */
+@Named
+@ViewScoped
+public class TarefaTabelaBean implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Modelo paginado da tabela: cada requisição busca apenas a página visível
+    private TarefaLazyDataModel tarefas;
+
+    // Linhas marcadas na tabela para as ações em massa
+    private List<TarefaResumo> tarefasSelecionadas = new ArrayList<>();
+
+    // Critérios digitados no filtro, mantidos na sessão
+    @Inject
+    private TarefaBean filtro;
+
+    // O repositório não é serializado com a view; após a desserialização é obtido novamente do CDI
+    @Inject
+    private transient TarefaRepository repository;
+
+    // Executor do repositório, usado para contar o total em paralelo com a leitura da página
+    @Inject
+    private transient TarefaRepositoryAsync repositoryAsync;
+
+    public TarefaTabelaBean() {}
+
+    // Permite montar a tela fora do contêiner CDI (testes e benchmarks).
+    TarefaTabelaBean(TarefaRepository repository, TarefaBean filtro) {
+        this.repository = repository;
+        this.filtro = filtro;
+    }
+
+    /** Carrega a lista inicial exibindo apenas tarefas em andamento. */
+    @PostConstruct
+    public void init() {
+        tarefas = new TarefaLazyDataModel(getRepository(), repositoryAsync);
+        listarTarefas();
+    }
+
+    /** Lista apenas tarefas em andamento (filtro padrão), deixando o filtro para o banco. */
+    public void listarTarefas() {
+        tarefas.aplicarFiltro(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO);
+    }
+
+    public void filtrarTarefas() {
+        tarefas.aplicarFiltro(filtro.getFiltroId(), filtro.getFiltroTitulo(), filtro.getFiltroResponsavel(),
+                filtro.getFiltroPrioridade(), filtro.getFiltroSituacao());
+    }
+
+    /** Remove a tarefa; esta tela relê a página, e as demais tiram a linha pela notificação em tempo real. */
+    public void removerTarefa(Long id) {
+        getRepository().removerTodas(List.of(id));
+    }
+
+    /** Marca uma tarefa como concluída; esta tela relê a página, e as demais ocultam a linha pela notificação. */
+    public void concluirTarefa(Long id) {
+        // UPDATE direto no banco; tarefas já concluídas não são afetadas
+        getRepository().concluir(List.of(id));
+    }
+
+    /** Conclui de uma vez todas as tarefas marcadas na tabela. */
+    public void concluirSelecionadas() {
+        int concluidas = getRepository().concluir(idsSelecionados());
+        informar(concluidas == 1 ? "1 tarefa concluída." : concluidas + " tarefas concluídas.");
+        tarefasSelecionadas = new ArrayList<>();
+    }
+
+    /** Remove de uma vez todas as tarefas marcadas na tabela. */
+    public void removerSelecionadas() {
+        int removidas = getRepository().removerTodas(idsSelecionados());
+        informar(removidas == 1 ? "1 tarefa removida." : removidas + " tarefas removidas.");
+        tarefasSelecionadas = new ArrayList<>();
+    }
+
+    public TarefaLazyDataModel getTarefas() { return tarefas; }
+
+    /** Critérios aplicados na tabela desta view, acrescentados aos links de exportação. */
+    public String getParametrosExportacao() { return tarefas.getParametrosExportacao(); }
+
+    public List<TarefaResumo> getTarefasSelecionadas() { return tarefasSelecionadas; }
+    public void setTarefasSelecionadas(List<TarefaResumo> tarefasSelecionadas) { this.tarefasSelecionadas = tarefasSelecionadas; }
+
+    private List<Long> idsSelecionados() {
+        return tarefasSelecionadas.stream().map(TarefaResumo::getId).collect(Collectors.toList());
+    }
+
+    private void informar(String mensagem) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context != null) {
+            context.addMessage(null, new FacesMessage(FacesMessage.SEVERITY_INFO, mensagem, null));
+        }
+    }
+
+    private TarefaRepository getRepository() {
+        if (repository == null) {
+            repository = localizarRepositorio();
+        }
+        return repository;
+    }
+
+    /** Repositório compartilhado, para componentes da tela restaurados de uma sessão serializada. */
+    static TarefaRepository localizarRepositorio() {
+        return CDI.current().select(TarefaRepository.class).get();
+    }
+
+    static TarefaRepositoryAsync localizarRepositorioAsync() {
+        return CDI.current().select(TarefaRepositoryAsync.class).get();
+    }
+}
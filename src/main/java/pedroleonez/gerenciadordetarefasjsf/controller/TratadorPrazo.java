@@ -0,0 +1,29 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import java.util.List;
+
+/**
+ * Ação executada pelo {@link AgendadorPrazos} quando tarefas em andamento entram no período de antecedência
+ * do prazo ou passam dele. Os tratadores são beans CDI escolhidos pelo nome na variável {@code PRAZOS_TRATADORES}.
+ * Cada chamada recebe um lote limitado de tarefas com o mesmo aviso.
+ */
+public interface TratadorPrazo {
+
+    /** Momento do prazo que gerou o aviso. */
+    enum Aviso { VENCENDO, ATRASADA }
+
+    /** Nome usado em {@code PRAZOS_TRATADORES} (ex.: {@code log}, {@code marcacao}, {@code email}). */
+    String getNome();
+
+    /**
+     * {@code true} quando o efeito fica neste nó (ex.: telas conectadas a ele) e deve acontecer em todos; os
+     * demais tratadores recebem cada aviso uma única vez, pelo nó que o reservou no banco.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+
+    void tratar(Aviso aviso, List<TarefaResumo> tarefas);
+}
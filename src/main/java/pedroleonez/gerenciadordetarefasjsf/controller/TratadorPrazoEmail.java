@@ -0,0 +1,36 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Stub local de e-mail: monta uma mensagem por responsável e a escreve no log em vez de enviá-la.
+ * Serve para validar o conteúdo dos avisos antes de ligar um servidor SMTP.
+ */
+@ApplicationScoped
+public class TratadorPrazoEmail implements TratadorPrazo {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    @Override
+    public String getNome() {
+        return "email";
+    }
+
+    @Override
+    public void tratar(Aviso aviso, List<TarefaResumo> tarefas) {
+        Map<String, List<TarefaResumo>> porResponsavel = tarefas.stream()
+                .collect(Collectors.groupingBy(TarefaResumo::getResponsavel, TreeMap::new, Collectors.toList()));
+        porResponsavel.forEach((responsavel, doResponsavel) -> System.out.println("[EMAIL] Para: " + responsavel
+                + " | Assunto: " + (aviso == Aviso.ATRASADA ? "Tarefas atrasadas" : "Tarefas próximas do prazo")
+                + " | " + doResponsavel.stream()
+                        .map(t -> "#" + t.getId() + " " + t.getTitulo() + " (" + DATA.format(t.getDeadline()) + ")")
+                        .collect(Collectors.joining("; "))));
+    }
+}
@@ -0,0 +1,29 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/** Registra no log da aplicação as tarefas que estão vencendo ou atrasadas. */
+@ApplicationScoped
+public class TratadorPrazoLog implements TratadorPrazo {
+
+    // Ids listados por linha de log; o restante aparece só na contagem
+    private static final int IDS_POR_LINHA = 20;
+
+    @Override
+    public String getNome() {
+        return "log";
+    }
+
+    @Override
+    public void tratar(Aviso aviso, List<TarefaResumo> tarefas) {
+        String ids = tarefas.stream().limit(IDS_POR_LINHA).map(t -> "#" + t.getId()).collect(Collectors.joining(", "));
+        if (tarefas.size() > IDS_POR_LINHA) {
+            ids += ", ...";
+        }
+        System.out.println("[PRAZOS] " + tarefas.size() + (aviso == Aviso.ATRASADA ? " tarefas atrasadas: " : " tarefas vencendo: ") + ids);
+    }
+}
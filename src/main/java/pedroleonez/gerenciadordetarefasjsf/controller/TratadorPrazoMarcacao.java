@@ -0,0 +1,52 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.faces.push.Push;
+import javax.faces.push.PushContext;
+import javax.inject.Inject;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Destaca nas telas abertas as linhas das tarefas vencendo ou atrasadas, pelo mesmo canal {@code tarefas}
+ * usado pelo {@link NotificadorTarefas}.
+ */
+@ApplicationScoped
+public class TratadorPrazoMarcacao implements TratadorPrazo {
+
+    @Inject
+    @Push(channel = "tarefas")
+    private PushContext canal;
+
+    @Override
+    public String getNome() {
+        return "marcacao";
+    }
+
+    // Cada nó destaca as linhas nas telas conectadas a ele
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public void tratar(Aviso aviso, List<TarefaResumo> tarefas) {
+        canal.send(mensagem(aviso, tarefas));
+    }
+
+    /** Corpo JSON enviado ao navegador: {@code {tipo: "PRAZO", aviso, quantidade, ids}}. */
+    static Map<String, Object> mensagem(Aviso aviso, List<TarefaResumo> tarefas) {
+        Map<String, Object> mensagem = new LinkedHashMap<>();
+        mensagem.put("tipo", "PRAZO");
+        mensagem.put("aviso", aviso.name());
+        mensagem.put("quantidade", tarefas.size());
+        if (tarefas.size() <= NotificadorTarefas.LIMITE_LINHAS) {
+            mensagem.put("ids", tarefas.stream().map(TarefaResumo::getId).collect(Collectors.toList()));
+        }
+        return mensagem;
+    }
+}
@@ -0,0 +1,31 @@
+package pedroleonez.gerenciadordetarefasjsf.model;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * Pessoa que pode receber tarefas. {@link Tarefa#getResponsavel()} guarda o nome, que é chave estrangeira
+ * para esta tabela; o catálogo inteiro fica em memória para o autocompletar da tela.
+ */
+@Entity
+@Table(name = "responsaveis")
+public class Responsavel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "responsaveis_id_seq")
+    @SequenceGenerator(name = "responsaveis_id_seq", sequenceName = "responsaveis_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 80)
+    private String nome;
+
+    public Responsavel() {}
+
+    public Responsavel(String nome) {
+        this.nome = nome;
+    }
+
+    public Long getId() { return id; }
+    public String getNome() { return nome; }
+}
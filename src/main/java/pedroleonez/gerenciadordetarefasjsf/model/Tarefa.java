@@ -1,18 +1,36 @@
 package pedroleonez.gerenciadordetarefasjsf.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import javax.validation.constraints.FutureOrPresent;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import java.io.Serializable;
 import java.time.LocalDate;
 
 /** Entidade JPA que representa uma tarefa gerenciada pela aplicação. */
 @Entity
-@Table(name = "tarefas")
-public class Tarefa {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@DynamicUpdate
+@Table(name = "tarefas", indexes = {
+        // Espelham a migração V2; o schema real é criado pelas migrações em db/migration
+        @Index(name = "idx_tarefas_situacao_deadline", columnList = "situacao, deadline, id"),
+        @Index(name = "idx_tarefas_situacao_responsavel", columnList = "situacao, responsavel"),
+        @Index(name = "idx_tarefas_situacao_prioridade_deadline", columnList = "situacao, prioridade, deadline")
+})
+public class Tarefa implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // Sequência com allocationSize (e não IDENTITY) para que os INSERTs possam ser enviados em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tarefas_id_seq")
+    @SequenceGenerator(name = "tarefas_id_seq", sequenceName = "tarefas_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Informe o título da tarefa.")
@@ -32,13 +50,24 @@ public class Tarefa {
     private Prioridade prioridade;
 
     @NotNull(message = "Informe a data limite.")
-    @FutureOrPresent(message = "A data limite não pode estar no passado.")
+    @FutureOrPresent(message = "A data limite não pode estar no passado.", groups = Cadastro.class)
     private LocalDate deadline;
 
     @Enumerated(EnumType.STRING)
     @NotNull(message = "Informe a situação da tarefa.")
     private Situacao situacao;
 
+    // Detecta edições concorrentes: o UPDATE só é aplicado se a versão lida ainda for a atual
+    @Version
+    private Long versao;
+
+    /**
+     * Validações de quem digita a tarefa no formulário: as padrão mais o prazo no futuro. Fora dele (importação,
+     * gravação pelo JPA) uma tarefa atrasada ou concluída continua válida.
+     */
+    public interface Cadastro extends Default {
+    }
+
     /** Níveis de prioridade exibidos para o usuário e salvos como texto. */
     public enum Prioridade {
         ALTA("Alta"),
@@ -93,4 +122,7 @@ public class Tarefa {
     public Situacao getSituacao() { return situacao; }
     public void setSituacao(Situacao situacao) { this.situacao = situacao; }
 
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
 }
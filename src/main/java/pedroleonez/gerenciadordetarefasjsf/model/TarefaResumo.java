@@ -0,0 +1,29 @@
+package pedroleonez.gerenciadordetarefasjsf.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Linha da tabela de tarefas: apenas as colunas exibidas e o {@code deadline} usado pelo cursor de paginação.
+ * Montada diretamente pela consulta ({@code SELECT NEW}), sem passar pelo contexto de persistência.
+ */
+public final class TarefaResumo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String titulo;
+    private final String responsavel;
+    private final LocalDate deadline;
+
+    public TarefaResumo(Long id, String titulo, String responsavel, LocalDate deadline) {
+        this.id = id;
+        this.titulo = titulo;
+        this.responsavel = responsavel;
+        this.deadline = deadline;
+    }
+
+    public Long getId() { return id; }
+    public String getTitulo() { return titulo; }
+    public String getResponsavel() { return responsavel; }
+    public LocalDate getDeadline() { return deadline; }
+}
@@ -0,0 +1,38 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Evento CDI disparado pelo {@link TarefaRepository} depois que uma escrita é confirmada no banco.
+ * Inclusões e atualizações levam as tarefas gravadas; conclusões e remoções, apenas os ids.
+ */
+public final class AlteracaoTarefa {
+
+    public enum Tipo { INCLUSAO, ATUALIZACAO, CONCLUSAO, REMOCAO }
+
+    private final Tipo tipo;
+    private final List<Long> ids;
+    private final List<Tarefa> tarefas;
+
+    private AlteracaoTarefa(Tipo tipo, List<Long> ids, List<Tarefa> tarefas) {
+        this.tipo = tipo;
+        this.ids = Collections.unmodifiableList(ids);
+        this.tarefas = Collections.unmodifiableList(tarefas);
+    }
+
+    public static AlteracaoTarefa comTarefas(Tipo tipo, List<Tarefa> tarefas) {
+        return new AlteracaoTarefa(tipo, tarefas.stream().map(Tarefa::getId).collect(Collectors.toList()), tarefas);
+    }
+
+    public static AlteracaoTarefa comIds(Tipo tipo, List<Long> ids) {
+        return new AlteracaoTarefa(tipo, ids, Collections.emptyList());
+    }
+
+    public Tipo getTipo() { return tipo; }
+    public List<Long> getIds() { return ids; }
+    public List<Tarefa> getTarefas() { return tarefas; }
+}
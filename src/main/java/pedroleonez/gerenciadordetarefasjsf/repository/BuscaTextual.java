@@ -0,0 +1,52 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Busca textual em título/descrição com ranking, casamento por prefixo e sem distinção de acentos.
+ * No PostgreSQL usa a coluna {@code busca} (tsvector + GIN); nos demais bancos, um índice invertido em memória.
+ * Os demais filtros ({@link CriteriosBusca}) entram na própria busca: nenhum método corta o conjunto antes deles.
+ */
+interface BuscaTextual {
+
+    /**
+     * Ids das tarefas que contêm todos os termos (por prefixo) e atendem aos filtros, do mais para o menos
+     * relevante, a partir da posição {@code primeiro}.
+     */
+    List<Long> buscar(CriteriosBusca criterios, int primeiro, int quantidade);
+
+    /** Total de tarefas que contêm todos os termos e atendem aos filtros, sem limite. */
+    long contar(CriteriosBusca criterios);
+
+    /**
+     * Até {@code quantidade} ids na ordem {@code (deadline, id)}, posteriores ({@code avancar}) ou anteriores à
+     * posição; sem posição, a partir do início ou do fim. Voltando, os ids vêm em ordem decrescente.
+     */
+    List<Long> buscarPorPrazo(CriteriosBusca criterios, CursorTarefa posicao, boolean avancar, int quantidade);
+
+    /** Entrega todos os ids na ordem {@code (deadline, id)}, em blocos de até {@code tamanhoBloco}. */
+    void percorrerPorPrazo(CriteriosBusca criterios, int tamanhoBloco, Consumer<List<Long>> bloco);
+
+    /** Atualiza o índice após inserir ou alterar uma tarefa. */
+    void indexar(Tarefa tarefa);
+
+    /** Retira a tarefa do índice após a remoção. */
+    void remover(Long id);
+
+    /** Escolhe a implementação conforme o dialeto configurado no factory. */
+    static BuscaTextual criar(EntityManagerFactory emf) {
+        Dialect dialeto = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        if (dialeto instanceof PostgreSQL81Dialect) {
+            return new BuscaTextualPostgres(emf);
+        }
+        System.out.println("[DB] Banco sem busca textual nativa. Utilizando índice invertido em memória.");
+        return IndiceInvertido.carregar(emf);
+    }
+}
@@ -0,0 +1,175 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.NativeQuery;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Busca textual via {@code tsvector}: a coluna gerada {@code busca} (migração V3) é mantida pelo próprio banco
+ * e consultada pelo índice GIN com a configuração {@code pt_unaccent} (português + unaccent). Os demais filtros,
+ * a ordenação e a paginação ficam na mesma instrução SQL.
+ */
+class BuscaTextualPostgres implements BuscaTextual {
+
+    private static final String ORIGEM = " FROM tarefas t, to_tsquery('pt_unaccent', :consulta) q WHERE t.busca @@ q";
+    private static final String CURSOR_APOS = " AND (t.deadline > :cursorDeadline OR (t.deadline = :cursorDeadline AND t.id > :cursorId))";
+    private static final String CURSOR_ANTES = " AND (t.deadline < :cursorDeadline OR (t.deadline = :cursorDeadline AND t.id < :cursorId))";
+
+    private final EntityManagerFactory emf;
+
+    BuscaTextualPostgres(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public List<Long> buscar(CriteriosBusca criterios, int primeiro, int quantidade) {
+        String consulta = consulta(criterios);
+        if (consulta == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT t.id" + ORIGEM + condicoes(criterios)
+                + " ORDER BY ts_rank(t.busca, q) DESC, t.id LIMIT :quantidade OFFSET :primeiro";
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            Query query = em.createNativeQuery(sql)
+                    .setParameter("quantidade", quantidade)
+                    .setParameter("primeiro", primeiro);
+            return ids(aplicarParametros(query, consulta, criterios).getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public long contar(CriteriosBusca criterios) {
+        String consulta = consulta(criterios);
+        if (consulta == null) {
+            return 0;
+        }
+        EntityManager em = emf.createEntityManager();
+        try {
+            Query query = em.createNativeQuery("SELECT COUNT(*)" + ORIGEM + condicoes(criterios));
+            return ((Number) aplicarParametros(query, consulta, criterios).getSingleResult()).longValue();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<Long> buscarPorPrazo(CriteriosBusca criterios, CursorTarefa posicao, boolean avancar, int quantidade) {
+        String consulta = consulta(criterios);
+        if (consulta == null) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT t.id" + ORIGEM + condicoes(criterios)
+                + (posicao == null ? "" : avancar ? CURSOR_APOS : CURSOR_ANTES)
+                + (avancar ? " ORDER BY t.deadline, t.id" : " ORDER BY t.deadline DESC, t.id DESC")
+                + " LIMIT :quantidade";
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            Query query = em.createNativeQuery(sql).setParameter("quantidade", quantidade);
+            if (posicao != null) {
+                query.setParameter("cursorDeadline", posicao.getDeadline());
+                query.setParameter("cursorId", posicao.getId());
+            }
+            return ids(aplicarParametros(query, consulta, criterios).getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public void percorrerPorPrazo(CriteriosBusca criterios, int tamanhoBloco, Consumer<List<Long>> bloco) {
+        String consulta = consulta(criterios);
+        if (consulta == null) {
+            return;
+        }
+        StatelessSession sessao = emf.unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            // O PostgreSQL só usa cursor (fetch size) dentro de uma transação
+            sessao.beginTransaction();
+            NativeQuery<?> query = sessao.createNativeQuery("SELECT t.id" + ORIGEM + condicoes(criterios)
+                    + " ORDER BY t.deadline, t.id");
+            aplicarParametros(query, consulta, criterios);
+            query.setFetchSize(tamanhoBloco);
+
+            List<Long> ids = new ArrayList<>(tamanhoBloco);
+            try (ScrollableResults linhas = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (linhas.next()) {
+                    ids.add(((Number) linhas.get(0)).longValue());
+                    if (ids.size() == tamanhoBloco) {
+                        bloco.accept(ids);
+                        ids = new ArrayList<>(tamanhoBloco);
+                    }
+                }
+            }
+            if (!ids.isEmpty()) {
+                bloco.accept(ids);
+            }
+            sessao.getTransaction().commit();
+        } catch (RuntimeException e) {
+            if (sessao.getTransaction().isActive()) {
+                sessao.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            sessao.close();
+        }
+    }
+
+    @Override
+    public void indexar(Tarefa tarefa) {
+        // A coluna gerada é recalculada pelo PostgreSQL a cada INSERT/UPDATE
+    }
+
+    @Override
+    public void remover(Long id) {
+        // A linha removida deixa o índice GIN junto com a tabela
+    }
+
+    // Expressão tsquery com todos os termos por prefixo, ou null quando o texto não tem termos pesquisáveis.
+    private static String consulta(CriteriosBusca criterios) {
+        List<String> termos = TermosBusca.tokenizar(criterios.texto);
+        // Apenas letras e dígitos chegam aqui, então a expressão tsquery não precisa de escape
+        return termos.isEmpty() ? null : String.join(":* & ", termos) + ":*";
+    }
+
+    // Mesmos filtros do JPQL da listagem; enums gravados pelo nome (EnumType.STRING)
+    private static String condicoes(CriteriosBusca criterios) {
+        StringBuilder sql = new StringBuilder();
+        if (criterios.id != null) sql.append(" AND t.id = :id");
+        if (criterios.responsavel != null) sql.append(" AND LOWER(t.responsavel) = LOWER(:responsavel)");
+        if (criterios.prioridade != null) sql.append(" AND t.prioridade = :prioridade");
+        if (criterios.situacao != null) sql.append(" AND t.situacao = :situacao");
+        return sql.toString();
+    }
+
+    private static <Q extends Query> Q aplicarParametros(Q query, String consulta, CriteriosBusca criterios) {
+        query.setParameter("consulta", consulta);
+        if (criterios.id != null) query.setParameter("id", criterios.id);
+        if (criterios.responsavel != null) query.setParameter("responsavel", criterios.responsavel);
+        if (criterios.prioridade != null) query.setParameter("prioridade", criterios.prioridade.name());
+        if (criterios.situacao != null) query.setParameter("situacao", criterios.situacao.name());
+        return query;
+    }
+
+    private static List<Long> ids(List<?> resultado) {
+        List<Long> ids = new ArrayList<>(resultado.size());
+        for (Object id : resultado) {
+            ids.add(((Number) id).longValue());
+        }
+        return ids;
+    }
+}
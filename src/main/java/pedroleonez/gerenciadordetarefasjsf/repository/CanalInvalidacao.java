@@ -0,0 +1,44 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.Consumer;
+
+/**
+ * Transporte dos avisos de invalidação entre os nós que compartilham o banco. Cada nó publica as próprias
+ * escritas e recebe apenas as dos demais, para descartar o que guarda em memória (cache de segundo nível,
+ * cache de consultas e índice de busca).
+ */
+interface CanalInvalidacao extends AutoCloseable {
+
+    /** Canal de um nó isolado: nada é publicado nem recebido. */
+    CanalInvalidacao NENHUM = new CanalInvalidacao() {
+        @Override public void publicar(Invalidacao invalidacao) {}
+        @Override public void assinar(Consumer<Invalidacao> ouvinte) {}
+        @Override public void close() {}
+    };
+
+    /** Envia o aviso aos demais nós. Falhas são registradas sem interromper a escrita que as originou. */
+    void publicar(Invalidacao invalidacao);
+
+    /** Registra quem trata os avisos vindos de outros nós. */
+    void assinar(Consumer<Invalidacao> ouvinte);
+
+    @Override
+    void close();
+
+    /** LISTEN/NOTIFY no PostgreSQL; nos demais bancos (H2 em desenvolvimento) a aplicação roda em um único nó. */
+    static CanalInvalidacao criar(EntityManagerFactory emf) {
+        Dialect dialeto = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        HikariDataSource pool = PoolConexoes.doFactory(emf);
+        if (dialeto instanceof PostgreSQL81Dialect && pool != null) {
+            return new CanalInvalidacaoPostgres(pool);
+        }
+        System.out.println("[DB] Banco sem LISTEN/NOTIFY. Invalidação de cache entre nós desativada.");
+        return NENHUM;
+    }
+}
@@ -0,0 +1,51 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Substituto em memória do LISTEN/NOTIFY, para simular vários nós na mesma JVM sem um PostgreSQL.
+ * Os nós criados por {@link #novoNo()} compartilham o barramento; a entrega é síncrona, na thread que publica.
+ */
+final class CanalInvalidacaoMemoria implements CanalInvalidacao {
+
+    private final Set<CanalInvalidacaoMemoria> barramento;
+    private final List<Consumer<Invalidacao>> ouvintes = new CopyOnWriteArrayList<>();
+
+    /** Primeiro nó de um barramento novo. */
+    CanalInvalidacaoMemoria() {
+        this(new CopyOnWriteArraySet<>());
+    }
+
+    private CanalInvalidacaoMemoria(Set<CanalInvalidacaoMemoria> barramento) {
+        this.barramento = barramento;
+        barramento.add(this);
+    }
+
+    /** Outro nó ligado ao mesmo barramento. */
+    CanalInvalidacaoMemoria novoNo() {
+        return new CanalInvalidacaoMemoria(barramento);
+    }
+
+    @Override
+    public void publicar(Invalidacao invalidacao) {
+        for (CanalInvalidacaoMemoria no : barramento) {
+            if (no != this) {
+                no.ouvintes.forEach(ouvinte -> ouvinte.accept(invalidacao));
+            }
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<Invalidacao> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    @Override
+    public void close() {
+        barramento.remove(this);
+    }
+}
@@ -0,0 +1,148 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Avisos de invalidação por {@code NOTIFY}/{@code LISTEN} no canal {@value #CANAL}. A publicação usa uma
+ * conexão do pool; a escuta, uma conexão dedicada fora do pool, mantida por uma thread que consulta as
+ * notificações pendentes a cada {@value #ESPERA_MILLIS} ms. Se a conexão cair, avisos podem ter sido
+ * perdidos, então a reconexão entrega uma invalidação completa.
+ */
+final class CanalInvalidacaoPostgres implements CanalInvalidacao {
+
+    static final String CANAL = "tarefas_invalidacao";
+
+    // O payload do NOTIFY aceita até 8000 bytes; 300 ids de até 19 dígitos ficam abaixo disso
+    private static final int MAXIMO_IDS_POR_AVISO = 300;
+    private static final int ESPERA_MILLIS = 250;
+    private static final long PAUSA_RECONEXAO_MILLIS = 2000;
+
+    private final HikariDataSource pool;
+    // Identifica este nó para ignorar as próprias notificações
+    private final String origem = UUID.randomUUID().toString();
+    private final List<Consumer<Invalidacao>> ouvintes = new CopyOnWriteArrayList<>();
+    private final Thread escuta;
+    private volatile boolean ativo = true;
+
+    CanalInvalidacaoPostgres(HikariDataSource pool) {
+        this.pool = pool;
+        this.escuta = new Thread(this::escutar, "tarefas-invalidacao");
+        this.escuta.setDaemon(true);
+        this.escuta.start();
+    }
+
+    @Override
+    public void publicar(Invalidacao invalidacao) {
+        try (Connection conexao = pool.getConnection();
+             PreparedStatement notify = conexao.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (Invalidacao parte : invalidacao.dividir(MAXIMO_IDS_POR_AVISO)) {
+                notify.setString(1, CANAL);
+                notify.setString(2, origem + "|" + parte.codificar());
+                notify.execute();
+            }
+            // O pool entrega conexões sem auto-commit; o NOTIFY só é enviado no commit
+            conexao.commit();
+        } catch (SQLException e) {
+            System.err.println("[DB] Falha ao publicar invalidação " + invalidacao.codificar() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void assinar(Consumer<Invalidacao> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    @Override
+    public void close() {
+        ativo = false;
+        escuta.interrupt();
+        try {
+            escuta.join(PAUSA_RECONEXAO_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void escutar() {
+        boolean reconexao = false;
+        while (ativo) {
+            try (Connection conexao = abrirConexaoDedicada()) {
+                try (Statement listen = conexao.createStatement()) {
+                    listen.execute("LISTEN " + CANAL);
+                }
+                System.out.println("[DB] Escutando invalidações no canal " + CANAL + ".");
+                if (reconexao) {
+                    entregar(Invalidacao.completa());
+                }
+                PGConnection pg = conexao.unwrap(PGConnection.class);
+                while (ativo) {
+                    PGNotification[] notificacoes = pg.getNotifications(ESPERA_MILLIS);
+                    if (notificacoes != null) {
+                        for (PGNotification notificacao : notificacoes) {
+                            receber(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!ativo) {
+                    return;
+                }
+                System.err.println("[DB] Escuta de invalidações interrompida: " + e.getMessage() + ". Reconectando.");
+                reconexao = true;
+                try {
+                    Thread.sleep(PAUSA_RECONEXAO_MILLIS);
+                } catch (InterruptedException interrompida) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receber(String payload) {
+        int separador = payload.indexOf('|');
+        if (separador < 0 || payload.substring(0, separador).equals(origem)) {
+            return;
+        }
+        try {
+            entregar(Invalidacao.decodificar(payload.substring(separador + 1)));
+        } catch (IllegalArgumentException e) {
+            System.err.println("[DB] Aviso de invalidação ignorado: " + e.getMessage());
+        }
+    }
+
+    private void entregar(Invalidacao invalidacao) {
+        for (Consumer<Invalidacao> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(invalidacao);
+            } catch (RuntimeException e) {
+                System.err.println("[DB] Falha ao aplicar invalidação " + invalidacao.codificar() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // LISTEN prende a conexão indefinidamente, por isso ela não sai do pool (nem conta para o vazamento)
+    private Connection abrirConexaoDedicada() throws SQLException {
+        if (pool.getDriverClassName() != null) {
+            try {
+                Class.forName(pool.getDriverClassName());
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("Driver JDBC não encontrado: " + pool.getDriverClassName(), e);
+            }
+        }
+        Connection conexao = DriverManager.getConnection(pool.getJdbcUrl(), pool.getUsername(), pool.getPassword());
+        conexao.setAutoCommit(true);
+        return conexao;
+    }
+}
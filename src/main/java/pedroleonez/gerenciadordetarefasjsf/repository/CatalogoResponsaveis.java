@@ -0,0 +1,106 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Nomes dos responsáveis em memória, com um índice de prefixos para o autocompletar. Cada nome entra no índice
+ * uma vez por palavra ("Maria da Silva" é encontrada por "mar", "da s" e "silv"), já normalizada sem acentos e
+ * em minúsculas. As chaves ficam em um array ordenado e a busca é uma pesquisa binária pelo primeiro prefixo
+ * seguida da leitura das chaves vizinhas. O índice é imutável; um novo nome publica uma cópia atualizada, então
+ * as leituras não usam bloqueio.
+ */
+final class CatalogoResponsaveis {
+
+    private volatile Indice indice = new Indice(new String[0], new String[0], new String[0]);
+
+    /** Troca o catálogo pelo conjunto informado (carga inicial). */
+    void carregar(Collection<String> nomes) {
+        indice = Indice.montar(new LinkedHashSet<>(nomes));
+    }
+
+    boolean contem(String nome) {
+        return Arrays.binarySearch(indice.nomes, nome) >= 0;
+    }
+
+    /** Acrescenta os nomes ainda desconhecidos (cadastrados por este ou por outro nó). */
+    synchronized void registrar(Collection<String> nomes) {
+        Set<String> novos = new LinkedHashSet<>();
+        for (String nome : nomes) {
+            if (nome != null && !contem(nome)) {
+                novos.add(nome);
+            }
+        }
+        if (!novos.isEmpty()) {
+            novos.addAll(Arrays.asList(indice.nomes));
+            indice = Indice.montar(novos);
+        }
+    }
+
+    int tamanho() {
+        return indice.nomes.length;
+    }
+
+    /** Até {@code limite} nomes com alguma palavra começando pelo texto digitado, em ordem alfabética. */
+    List<String> sugerir(String texto, int limite) {
+        String prefixo = String.join(" ", TermosBusca.tokenizar(texto));
+        Indice atual = indice;
+        if (prefixo.isEmpty()) {
+            return new ArrayList<>(Arrays.asList(atual.nomes).subList(0, Math.min(limite, atual.nomes.length)));
+        }
+        int posicao = Arrays.binarySearch(atual.chaves, prefixo);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        Set<String> sugestoes = new LinkedHashSet<>();
+        for (int i = posicao; i < atual.chaves.length && atual.chaves[i].startsWith(prefixo); i++) {
+            sugestoes.add(atual.nomesDasChaves[i]);
+            if (sugestoes.size() == limite) {
+                break;
+            }
+        }
+        List<String> resultado = new ArrayList<>(sugestoes);
+        resultado.sort(Comparator.naturalOrder());
+        return resultado;
+    }
+
+    // Arrays paralelos: chave normalizada (a partir de cada palavra do nome) e o nome original correspondente
+    private static final class Indice {
+        final String[] nomes;
+        final String[] chaves;
+        final String[] nomesDasChaves;
+
+        Indice(String[] nomes, String[] chaves, String[] nomesDasChaves) {
+            this.nomes = nomes;
+            this.chaves = chaves;
+            this.nomesDasChaves = nomesDasChaves;
+        }
+
+        static Indice montar(Set<String> nomes) {
+            String[] ordenados = nomes.toArray(new String[0]);
+            Arrays.sort(ordenados);
+
+            List<String[]> entradas = new ArrayList<>();
+            for (String nome : ordenados) {
+                List<String> palavras = TermosBusca.tokenizar(nome);
+                for (int i = 0; i < palavras.size(); i++) {
+                    entradas.add(new String[]{String.join(" ", palavras.subList(i, palavras.size())), nome});
+                }
+            }
+            entradas.sort(Comparator.comparing((String[] entrada) -> entrada[0]).thenComparing(entrada -> entrada[1]));
+
+            String[] chaves = new String[entradas.size()];
+            String[] nomesDasChaves = new String[entradas.size()];
+            for (int i = 0; i < entradas.size(); i++) {
+                chaves[i] = entradas.get(i)[0];
+                nomesDasChaves[i] = entradas.get(i)[1];
+            }
+            return new Indice(ordenados, chaves, nomesDasChaves);
+        }
+    }
+}
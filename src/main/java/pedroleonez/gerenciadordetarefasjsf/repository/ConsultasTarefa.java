@@ -0,0 +1,137 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.hibernate.annotations.QueryHints;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.List;
+
+/**
+ * JPQL de cada formato de consulta das listagens, montado uma única vez. Os cinco filtros opcionais
+ * (id, lote de ids do índice textual em memória, responsável, prioridade e situação) geram no máximo 32
+ * combinações, identificadas por uma máscara de bits. Como o texto de cada formato é sempre o mesmo objeto,
+ * o Hibernate encontra o plano já traduzido no seu cache de planos em vez de analisar o JPQL a cada busca.
+ */
+final class ConsultasTarefa {
+
+    static final int ID = 1;
+    static final int BUSCA = 1 << 1;
+    static final int RESPONSAVEL = 1 << 2;
+    static final int PRIORIDADE = 1 << 3;
+    static final int SITUACAO = 1 << 4;
+
+    /** Quantidade de formatos possíveis com os cinco filtros opcionais. */
+    static final int FORMATOS = 1 << 5;
+
+    // Contagem, ids e prazos aceitos (filtros do índice textual em memória) não dependem da projeção
+    private static final String[] CONTAGEM = montar("SELECT COUNT(t) FROM Tarefa t", "");
+    private static final String[] IDS = montar("SELECT t.id FROM Tarefa t", "");
+    private static final String[] PRAZOS = montar("SELECT t.id, t.deadline FROM Tarefa t", "");
+
+    private final String[] lista;
+    private final String[] apos;
+    private final String[] antes;
+    private final String[] ultimas;
+    private final String porIds;
+
+    /** @param selecao expressão do SELECT: {@code t} para a entidade ou um {@code NEW ...} da projeção */
+    ConsultasTarefa(String selecao) {
+        String inicio = "SELECT " + selecao + " FROM Tarefa t";
+        String cursorApos = " AND (t.deadline > :cursorDeadline OR (t.deadline = :cursorDeadline AND t.id > :cursorId))";
+        String cursorAntes = " AND (t.deadline < :cursorDeadline OR (t.deadline = :cursorDeadline AND t.id < :cursorId))";
+        this.lista = montar(inicio, " ORDER BY t.deadline, t.id");
+        this.apos = montar(inicio, cursorApos + " ORDER BY t.deadline, t.id");
+        this.antes = montar(inicio, cursorAntes + " ORDER BY t.deadline DESC, t.id DESC");
+        this.ultimas = montar(inicio, " ORDER BY t.deadline DESC, t.id DESC");
+        this.porIds = inicio + " WHERE t.id IN :ids";
+    }
+
+    /** Formato correspondente aos filtros efetivamente informados. */
+    static int mascara(Long id, List<Long> idsBusca, String responsavel,
+                       Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        int mascara = 0;
+        if (id != null) mascara |= ID;
+        if (idsBusca != null) mascara |= BUSCA;
+        if (responsavel != null && !responsavel.isEmpty()) mascara |= RESPONSAVEL;
+        if (prioridade != null) mascara |= PRIORIDADE;
+        if (situacao != null) mascara |= SITUACAO;
+        return mascara;
+    }
+
+    static String contagem(int mascara) { return CONTAGEM[mascara]; }
+    static String ids(int mascara) { return IDS[mascara]; }
+    static String prazos(int mascara) { return PRAZOS[mascara]; }
+
+    String lista(int mascara) { return lista[mascara]; }
+
+    /** Página por cursor; sem cursor, parte do início (avançando) ou do fim (voltando) da ordenação. */
+    String cursor(int mascara, boolean comCursor, boolean avancar) {
+        if (avancar) {
+            return comCursor ? apos[mascara] : lista[mascara];
+        }
+        return comCursor ? antes[mascara] : ultimas[mascara];
+    }
+
+    String porIds() { return porIds; }
+
+    /**
+     * Traduz antecipadamente todos os formatos: cada {@code createQuery} deixa o plano no cache de planos do
+     * Hibernate, sem executar a consulta.
+     *
+     * @return quantidade de planos compilados
+     */
+    int precompilar(EntityManager em) {
+        int compilados = 0;
+        for (String[] formatos : new String[][]{lista, apos, antes, ultimas}) {
+            for (String jpql : formatos) {
+                em.createQuery(jpql);
+                compilados++;
+            }
+        }
+        em.createQuery(porIds);
+        return compilados + 1;
+    }
+
+    /** Compila os formatos compartilhados (contagem, ids e prazos), independentes da projeção. */
+    static int precompilarCompartilhadas(EntityManager em) {
+        for (int i = 0; i < FORMATOS; i++) {
+            em.createQuery(CONTAGEM[i]);
+            em.createQuery(IDS[i]);
+            em.createQuery(PRAZOS[i]);
+        }
+        return 3 * FORMATOS;
+    }
+
+    /** Preenche os parâmetros do formato escolhido por {@link #mascara}. */
+    static void aplicarParametros(TypedQuery<?> query, Long id, List<Long> idsBusca, String responsavel,
+                                  Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        // Filtros repetidos vêm do cache de consultas; qualquer escrita na tabela tarefas os invalida.
+        query.setHint(QueryHints.CACHEABLE, true);
+        if (id != null) query.setParameter("id", id);
+        if (idsBusca != null) query.setParameter("idsBusca", idsBusca);
+        if (responsavel != null && !responsavel.isEmpty())
+            query.setParameter("responsavel", responsavel);
+        if (prioridade != null) query.setParameter("prioridade", prioridade);
+        if (situacao != null) query.setParameter("situacao", situacao);
+    }
+
+    // Um texto por máscara: mesma cláusula WHERE para listagem e contagem, para que enxerguem o mesmo conjunto.
+    private static String[] montar(String inicio, String fim) {
+        String[] formatos = new String[FORMATOS];
+        for (int mascara = 0; mascara < FORMATOS; mascara++) {
+            formatos[mascara] = inicio + condicoes(mascara) + fim;
+        }
+        return formatos;
+    }
+
+    private static String condicoes(int mascara) {
+        StringBuilder jpql = new StringBuilder(" WHERE 1=1");
+        if ((mascara & ID) != 0) jpql.append(" AND t.id = :id");
+        if ((mascara & BUSCA) != 0) jpql.append(" AND t.id IN :idsBusca");
+        if ((mascara & RESPONSAVEL) != 0) jpql.append(" AND LOWER(t.responsavel) = LOWER(:responsavel)");
+        if ((mascara & PRIORIDADE) != 0) jpql.append(" AND t.prioridade = :prioridade");
+        if ((mascara & SITUACAO) != 0) jpql.append(" AND t.situacao = :situacao");
+        return jpql.toString();
+    }
+}
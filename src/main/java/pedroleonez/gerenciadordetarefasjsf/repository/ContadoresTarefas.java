@@ -0,0 +1,202 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Contadores do painel mantidos em memória: cada escrita do repositório soma ou subtrai a contribuição das
+ * tarefas afetadas, e a leitura devolve uma fotografia pronta, sem consultar o banco. Uma reconciliação
+ * periódica recarrega tudo do banco, corrigindo desvios (escritas concorrentes com a própria reconciliação,
+ * operações em massa disputadas ou escritas de outros nós). Só as tarefas em andamento guardam detalhe
+ * (responsável, prioridade, prazo); as concluídas entram apenas no total da sua situação.
+ */
+final class ContadoresTarefas {
+
+    /** Contribuição de uma tarefa (ou de um grupo de tarefas com os mesmos valores) aos contadores. */
+    static final class Linha {
+        final String responsavel;
+        final Tarefa.Prioridade prioridade;
+        final Tarefa.Situacao situacao;
+        final LocalDate deadline;
+
+        Linha(String responsavel, Tarefa.Prioridade prioridade, Tarefa.Situacao situacao, LocalDate deadline) {
+            this.responsavel = responsavel;
+            this.prioridade = prioridade;
+            this.situacao = situacao;
+            this.deadline = deadline;
+        }
+
+        /** Grupo de tarefas fora de andamento, que só conta no total da situação. */
+        static Linha fechada(Tarefa.Situacao situacao) {
+            return new Linha(null, null, situacao, null);
+        }
+
+        static Linha de(Tarefa tarefa) {
+            return new Linha(tarefa.getResponsavel(), tarefa.getPrioridade(), tarefa.getSituacao(), tarefa.getDeadline());
+        }
+
+        Linha comSituacao(Tarefa.Situacao novaSituacao) {
+            return new Linha(responsavel, prioridade, novaSituacao, deadline);
+        }
+
+        boolean isAberta() {
+            return situacao == Tarefa.Situacao.EM_ANDAMENTO;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Linha)) return false;
+            Linha outra = (Linha) o;
+            return Objects.equals(responsavel, outra.responsavel) && prioridade == outra.prioridade
+                    && situacao == outra.situacao && Objects.equals(deadline, outra.deadline);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(responsavel, prioridade, situacao, deadline);
+        }
+    }
+
+    private final Map<Tarefa.Situacao, Long> porSituacao = new EnumMap<>(Tarefa.Situacao.class);
+    private final Map<String, Long> abertasPorResponsavel = new TreeMap<>();
+    private final Map<Tarefa.Prioridade, Long> abertasPorPrioridade = new EnumMap<>(Tarefa.Prioridade.class);
+    // Abertas por prazo: permite recalcular as atrasadas na virada do dia sem ir ao banco
+    private final TreeMap<LocalDate, Long> abertasPorDeadline = new TreeMap<>();
+
+    // Atrasadas em relação a diaAtrasadas, mantidas junto com as demais somas
+    private LocalDate diaAtrasadas;
+    private long atrasadas;
+
+    private boolean desatualizado = true;
+    // Escritas de outros nós desde a última reconciliação; contadas para não perder as que chegam durante ela
+    private long alteracoesRemotas;
+    private long alteracoesRemotasNoInicio;
+    private boolean reconciliando;
+    private long reconciliadoEm;
+    // Escritas aplicadas; se mudar durante a reconciliação, o agregado lido pode não incluí-las
+    private long escritas;
+    private long escritasNoInicio;
+    private PainelTarefas fotografia;
+
+    synchronized void somar(Linha linha, long quantidade) {
+        escritas++;
+        acumular(linha, quantidade);
+    }
+
+    private void acumular(Linha linha, long quantidade) {
+        if (linha.situacao != null) {
+            porSituacao.merge(linha.situacao, quantidade, Long::sum);
+        }
+        if (linha.isAberta()) {
+            somarChave(abertasPorResponsavel, linha.responsavel, quantidade);
+            somarChave(abertasPorPrioridade, linha.prioridade, quantidade);
+            somarChave(abertasPorDeadline, linha.deadline, quantidade);
+            if (diaAtrasadas != null && linha.deadline != null && linha.deadline.isBefore(diaAtrasadas)) {
+                atrasadas += quantidade;
+            }
+        }
+        fotografia = null;
+    }
+
+    /** Troca todos os contadores pelo resultado agregado do banco. */
+    synchronized void recarregar(List<Linha> linhas, List<Long> quantidades, long agoraNanos) {
+        porSituacao.clear();
+        abertasPorResponsavel.clear();
+        abertasPorPrioridade.clear();
+        abertasPorDeadline.clear();
+        diaAtrasadas = null;
+        for (int i = 0; i < linhas.size(); i++) {
+            acumular(linhas.get(i), quantidades.get(i));
+        }
+        // Uma escrita aplicada enquanto o agregado era lido foi sobrescrita: a próxima leitura reconcilia de novo
+        desatualizado = escritas != escritasNoInicio;
+        alteracoesRemotas -= alteracoesRemotasNoInicio;
+        reconciliando = false;
+        reconciliadoEm = agoraNanos;
+    }
+
+    /** Força a reconciliação na próxima leitura (ex.: operação em massa deste nó que não bateu). */
+    synchronized void marcarDesatualizado() {
+        desatualizado = true;
+    }
+
+    /**
+     * Registra uma escrita feita por outro nó. Ela não força a reconciliação imediata: várias escritas remotas
+     * seguidas resultam em uma só releitura, no máximo uma a cada intervalo de escritas remotas.
+     */
+    synchronized void marcarAlteracaoRemota() {
+        alteracoesRemotas++;
+    }
+
+    /**
+     * Indica se quem chama deve reconciliar agora: contadores desatualizados, escritas remotas pendentes há mais
+     * de {@code intervaloRemotoNanos} desde a última reconciliação ou {@code intervaloNanos} sem reconciliar.
+     * Apenas uma thread recebe {@code true} por vez; as demais seguem usando os contadores atuais.
+     */
+    synchronized boolean iniciarReconciliacao(long agoraNanos, long intervaloNanos, long intervaloRemotoNanos) {
+        long decorrido = agoraNanos - reconciliadoEm;
+        boolean devida = desatualizado || decorrido >= intervaloNanos
+                || (alteracoesRemotas > 0 && decorrido >= intervaloRemotoNanos);
+        if (reconciliando || !devida) {
+            return false;
+        }
+        reconciliando = true;
+        escritasNoInicio = escritas;
+        alteracoesRemotasNoInicio = alteracoesRemotas;
+        return true;
+    }
+
+    synchronized void cancelarReconciliacao() {
+        reconciliando = false;
+    }
+
+    synchronized PainelTarefas painel(LocalDate hoje) {
+        if (!hoje.equals(diaAtrasadas)) {
+            // Virada do dia: tarefas que venceram ontem passam a contar como atrasadas
+            diaAtrasadas = hoje;
+            atrasadas = abertasPorDeadline.headMap(hoje).values().stream().mapToLong(Long::longValue).sum();
+            fotografia = null;
+        }
+        if (fotografia == null) {
+            fotografia = montarFotografia();
+        }
+        return fotografia;
+    }
+
+    private PainelTarefas montarFotografia() {
+        List<PainelTarefas.Contagem> responsaveis = new ArrayList<>();
+        abertasPorResponsavel.forEach((nome, quantidade) -> responsaveis.add(new PainelTarefas.Contagem(nome, quantidade)));
+
+        List<PainelTarefas.Contagem> prioridades = new ArrayList<>();
+        for (Tarefa.Prioridade prioridade : Tarefa.Prioridade.values()) {
+            prioridades.add(new PainelTarefas.Contagem(prioridade.getLabel(), abertasPorPrioridade.getOrDefault(prioridade, 0L)));
+        }
+
+        List<PainelTarefas.Contagem> situacoes = new ArrayList<>();
+        for (Tarefa.Situacao situacao : Tarefa.Situacao.values()) {
+            situacoes.add(new PainelTarefas.Contagem(situacao.getLabel(), porSituacao.getOrDefault(situacao, 0L)));
+        }
+
+        return new PainelTarefas(responsaveis, prioridades, situacoes,
+                porSituacao.getOrDefault(Tarefa.Situacao.EM_ANDAMENTO, 0L), atrasadas);
+    }
+
+    // Soma ao contador da chave e remove as chaves zeradas (responsáveis que não têm mais tarefas abertas)
+    private static <K> void somarChave(Map<K, Long> contadores, K chave, long quantidade) {
+        if (chave == null) {
+            return;
+        }
+        Long total = contadores.merge(chave, quantidade, Long::sum);
+        if (total != null && total == 0) {
+            contadores.remove(chave);
+        }
+    }
+}
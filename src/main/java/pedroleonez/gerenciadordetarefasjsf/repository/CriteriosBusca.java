@@ -0,0 +1,24 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+/**
+ * Texto digitado e demais filtros de uma listagem, repassados juntos à {@link BuscaTextual}: os filtros são
+ * aplicados dentro da busca, antes de qualquer paginação, para que a página e o total enxerguem o mesmo conjunto.
+ */
+final class CriteriosBusca {
+
+    final String texto;
+    final Long id;
+    final String responsavel;
+    final Tarefa.Prioridade prioridade;
+    final Tarefa.Situacao situacao;
+
+    CriteriosBusca(String texto, Long id, String responsavel, Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        this.texto = texto;
+        this.id = id;
+        this.responsavel = responsavel != null && !responsavel.isEmpty() ? responsavel : null;
+        this.prioridade = prioridade;
+        this.situacao = situacao;
+    }
+}
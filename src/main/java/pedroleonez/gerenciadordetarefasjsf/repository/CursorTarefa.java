@@ -0,0 +1,54 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma tarefa na ordenação {@code (deadline, id)} usada pela paginação por cursor (keyset).
+ * Exposta à tela apenas como um token opaco em Base64.
+ */
+public final class CursorTarefa {
+
+    private final LocalDate deadline;
+    private final long id;
+
+    private CursorTarefa(LocalDate deadline, long id) {
+        this.deadline = deadline;
+        this.id = id;
+    }
+
+    public static CursorTarefa de(Tarefa tarefa) {
+        return new CursorTarefa(tarefa.getDeadline(), tarefa.getId());
+    }
+
+    public static CursorTarefa de(TarefaResumo tarefa) {
+        return new CursorTarefa(tarefa.getDeadline(), tarefa.getId());
+    }
+
+    /** Interpreta um token gerado por {@link #codificar()}; tokens adulterados resultam em erro. */
+    public static CursorTarefa decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|", 2);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Cursor de paginação inválido: " + token);
+            }
+            return new CursorTarefa(LocalDate.parse(partes[0]), Long.parseLong(partes[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido: " + token, e);
+        }
+    }
+
+    public String codificar() {
+        String valor = deadline + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDeadline() { return deadline; }
+    public long getId() { return id; }
+}
@@ -0,0 +1,270 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.internal.ParsedPersistenceXmlDescriptor;
+import org.hibernate.jpa.boot.internal.PersistenceXmlParser;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Produz o único {@link EntityManagerFactory} da aplicação e o fecha quando o contexto CDI é encerrado.
+ * Montar o factory é caro (metamodelo, pool de conexões, validação do schema), por isso ele é compartilhado por todas as sessões.
+ */
+@ApplicationScoped
+public class EntityManagerFactoryProducer {
+
+    // Permite que testes e benchmarks apontem para outra unidade de persistência (ex.: H2).
+    static final String PERSISTENCE_UNIT_PROPERTY = "tarefas.persistence.unit";
+    static final String DEFAULT_PERSISTENCE_UNIT = "tarefasPU";
+
+    @Produces
+    @ApplicationScoped
+    public EntityManagerFactory criarEntityManagerFactory() {
+        String unidade = System.getProperty(PERSISTENCE_UNIT_PROPERTY, DEFAULT_PERSISTENCE_UNIT);
+        try {
+            System.out.println("[DB] Inicializando EntityManagerFactory compartilhado (unidade " + unidade + ").");
+
+            Map<String, Object> cloudProps = resolveCloudDatabaseProperties();
+            Map<String, Object> props;
+
+            if (cloudProps != null) {
+                System.out.println("[DB] Ambiente gerenciado detectado. Utilizando variáveis de ambiente para configurar o banco.");
+                props = cloudProps;
+            } else {
+                System.out.println("[DB] Variáveis de ambiente específicas não encontradas. Utilizando persistence.xml (ambiente local).");
+                props = lerPropriedadesPersistenceXml(unidade);
+            }
+
+            // Migrações e Hibernate compartilham o mesmo pool.
+            HikariDataSource pool = PoolConexoes.criar(props);
+            try {
+                // O schema é responsabilidade das migrações; o Hibernate no máximo valida o mapeamento (fora do perfil producao).
+                MigracaoBanco.migrar(pool, pool.getJdbcUrl());
+
+                props.put("hibernate.connection.provider_class", PoolConexoes.provedor(pool));
+                return Persistence.createEntityManagerFactory(unidade, props);
+            } catch (RuntimeException e) {
+                pool.close();
+                throw e;
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new IllegalStateException("Erro ao inicializar EntityManagerFactory: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Monta o factory e o repositório (catálogo de responsáveis, consultas pré-compiladas) durante a inicialização,
+     * e não na primeira requisição. Com o banco indisponível, a aplicação sobe e a montagem é refeita no primeiro uso.
+     */
+    void iniciar(@Observes @Initialized(ApplicationScoped.class) Object contexto, TarefaRepository repository) {
+        long inicio = System.nanoTime();
+        try {
+            repository.getMetricas();
+            MedicaoInicializacao.registrar(MedicaoInicializacao.Fase.JPA, inicio);
+        } catch (RuntimeException e) {
+            System.err.println("[DB] Banco indisponível na inicialização; nova tentativa no primeiro acesso: " + e.getMessage());
+        }
+    }
+
+    /** Libera conexões e caches do Hibernate no encerramento da aplicação. */
+    public void fecharEntityManagerFactory(@Disposes EntityManagerFactory emf) {
+        if (emf.isOpen()) {
+            System.out.println("[DB] Encerrando EntityManagerFactory.");
+            // O Hibernate não fecha um DataSource recebido de fora
+            HikariDataSource pool = PoolConexoes.doFactory(emf);
+            emf.close();
+            if (pool != null) {
+                pool.close();
+            }
+        }
+    }
+
+    // Lê as propriedades da unidade declarada em persistence.xml para que as migrações usem o mesmo banco.
+    private Map<String, Object> lerPropriedadesPersistenceXml(String unidade) {
+        for (ParsedPersistenceXmlDescriptor descriptor : PersistenceXmlParser.locatePersistenceUnits(new HashMap<>())) {
+            if (unidade.equals(descriptor.getName())) {
+                Map<String, Object> props = new HashMap<>();
+                descriptor.getProperties().forEach((chave, valor) -> props.put(String.valueOf(chave), valor));
+                return props;
+            }
+        }
+        throw new IllegalStateException("Unidade de persistência não encontrada: " + unidade);
+    }
+
+    /**
+     * Resolve configurações de banco para ambientes Heroku/Render baseadas em variáveis de ambiente.
+     */
+    private Map<String, Object> resolveCloudDatabaseProperties() {
+        try {
+            Map<String, String> env = System.getenv();
+            String jdbcUrlVar = trimToNull(env.get("JDBC_DATABASE_URL"));
+            String databaseUrlVar = trimToNull(env.get("DATABASE_URL"));
+            String jdbcUserVar = trimToNull(env.get("JDBC_DATABASE_USERNAME"));
+            String jdbcPassVar = trimToNull(env.get("JDBC_DATABASE_PASSWORD"));
+
+            DatabaseCredentials credentials = null;
+
+            // Preferência: URL já em formato JDBC -> URL estilo Heroku -> peças PGHOST/PGDATABASE.
+            if (jdbcUrlVar != null) {
+                credentials = parseDatabaseUrl(jdbcUrlVar, true);
+                System.out.println("[DB] Usando JDBC_DATABASE_URL.");
+            } else if (databaseUrlVar != null) {
+                credentials = parseDatabaseUrl(databaseUrlVar, false);
+                System.out.println("[DB] Usando DATABASE_URL.");
+            } else {
+                credentials = resolveFromPgPieces(env);
+                if (credentials != null) {
+                    System.out.println("[DB] Usando variáveis PGHOST/PGDATABASE.");
+                }
+            }
+
+            if (credentials == null) {
+                System.out.println("[DB] Variáveis JDBC_DATABASE_URL/DATABASE_URL/PG* não encontradas.");
+                return null;
+            }
+
+            String username = jdbcUserVar != null ? jdbcUserVar : credentials.username;
+            String password = jdbcPassVar != null ? jdbcPassVar : credentials.password;
+
+            if (username == null) {
+                username = trimToNull(env.get("PGUSER"));
+            }
+            if (password == null) {
+                password = trimToNull(env.get("PGPASSWORD"));
+            }
+
+            Map<String, Object> props = new HashMap<>();
+            // Completa o conjunto de propriedades enviadas ao Hibernate quando estivermos na nuvem.
+            props.put("javax.persistence.jdbc.driver", "org.postgresql.Driver");
+            props.put("javax.persistence.jdbc.url", credentials.jdbcUrl);
+
+            if (username != null) {
+                props.put("javax.persistence.jdbc.user", username);
+            }
+            if (password != null) {
+                props.put("javax.persistence.jdbc.password", password);
+            }
+
+            props.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
+            // hibernate.hbm2ddl.auto fica com o valor do persistence.xml, definido pelo perfil do build
+            props.put("hibernate.show_sql", "false");
+            props.put("hibernate.format_sql", "false");
+
+            return props;
+        } catch (URISyntaxException ex) {
+            System.err.println("[DB] Não foi possível interpretar as variáveis de ambiente do banco: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    // Converte as URLs suportadas (jdbc, postgres://, postgresql://) para um JDBC completo + sslmode.
+    private DatabaseCredentials parseDatabaseUrl(String rawUrl, boolean alreadyJdbc) throws URISyntaxException {
+        String sanitized = trimToNull(rawUrl);
+        if (sanitized == null) {
+            return null;
+        }
+
+        String jdbcCandidate = sanitized;
+        if (!alreadyJdbc) {
+            if (jdbcCandidate.startsWith("postgres://")) {
+                jdbcCandidate = "jdbc:postgresql://" + jdbcCandidate.substring("postgres://".length());
+            } else if (jdbcCandidate.startsWith("postgresql://")) {
+                jdbcCandidate = "jdbc:" + jdbcCandidate;
+            }
+        }
+
+        URI uri = new URI(stripJdbcPrefix(jdbcCandidate));
+
+        StringBuilder jdbcBuilder = new StringBuilder("jdbc:postgresql://")
+                .append(uri.getHost());
+
+        if (uri.getPort() != -1) {
+            jdbcBuilder.append(":").append(uri.getPort());
+        }
+
+        if (uri.getPath() != null) {
+            jdbcBuilder.append(uri.getPath());
+        }
+
+        if (uri.getQuery() != null && !uri.getQuery().isEmpty()) {
+            jdbcBuilder.append("?").append(uri.getQuery());
+        }
+
+        String jdbcUrl = jdbcBuilder.toString();
+        if (!jdbcUrl.contains("sslmode=")) {
+            jdbcUrl = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "sslmode=require";
+        }
+
+        String username = null;
+        String password = null;
+
+        if (uri.getUserInfo() != null) {
+            String[] parts = uri.getUserInfo().split(":", 2);
+            username = parts[0];
+            if (parts.length > 1) {
+                password = parts[1];
+            }
+        }
+
+        System.out.println("[DB] JDBC final montado: " + jdbcUrl);
+        return new DatabaseCredentials(jdbcUrl, username, password);
+    }
+
+    private String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private String stripJdbcPrefix(String jdbcUrl) {
+        return jdbcUrl.startsWith("jdbc:") ? jdbcUrl.substring("jdbc:".length()) : jdbcUrl;
+    }
+
+    // Fallback para plataformas que exportam variáveis PGHOST/PGDATABASE/PGPORT em vez da URL completa.
+    private DatabaseCredentials resolveFromPgPieces(Map<String, String> env) {
+        String host = trimToNull(env.get("PGHOST"));
+        String db = trimToNull(env.get("PGDATABASE"));
+
+        if (host == null || db == null) {
+            return null;
+        }
+
+        String port = trimToNull(env.get("PGPORT"));
+
+        StringBuilder jdbc = new StringBuilder("jdbc:postgresql://").append(host);
+        if (port != null) {
+            jdbc.append(":").append(port);
+        }
+        jdbc.append("/").append(db);
+
+        String extraOptions = trimToNull(env.get("PGSSLMODE"));
+        jdbc.append("?sslmode=").append(extraOptions != null ? extraOptions : "require");
+
+        System.out.println("[DB] Montando JDBC a partir de PGHOST/PGDATABASE.");
+        return new DatabaseCredentials(jdbc.toString(), null, null);
+    }
+
+    // Estrutura simples para transporte das credenciais derivadas das variáveis de ambiente.
+    private static class DatabaseCredentials {
+        private final String jdbcUrl;
+        private final String username;
+        private final String password;
+
+        private DatabaseCredentials(String jdbcUrl, String username, String password) {
+            this.jdbcUrl = jdbcUrl;
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
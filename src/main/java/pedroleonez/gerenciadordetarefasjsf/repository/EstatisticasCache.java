@@ -0,0 +1,118 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consolida as estatísticas das regiões de cache do Hibernate (acertos, falhas, inserções) com as
+ * evicções registradas pelo provedor JCache, para acompanhamento e ajuste dos tamanhos em ehcache.xml.
+ * Também expõe o aproveitamento do cache de planos de consulta (JPQL já traduzido).
+ */
+@ApplicationScoped
+public class EstatisticasCache {
+
+    private EntityManagerFactory emf;
+
+    // Construtor exigido pelo CDI para criar o proxy do escopo de aplicação.
+    protected EstatisticasCache() {}
+
+    @Inject
+    public EstatisticasCache(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /** Fotografia atual de cada região (entidades, consultas e timestamps). */
+    public List<Regiao> regioes() {
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        List<Regiao> regioes = new ArrayList<>();
+        for (String nome : estatisticas.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regiao = estatisticas.getCacheRegionStatistics(nome);
+            if (regiao != null) {
+                regioes.add(new Regiao(nome, regiao.getHitCount(), regiao.getMissCount(), regiao.getPutCount(),
+                        evicoes(nome), regiao.getElementCountInMemory()));
+            }
+        }
+        return regioes;
+    }
+
+    /** Acertos e falhas do cache de planos desde a inicialização (ou a última limpeza das estatísticas). */
+    public PlanosConsulta planosConsulta() {
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        return new PlanosConsulta(estatisticas.getQueryPlanCacheHitCount(), estatisticas.getQueryPlanCacheMissCount(),
+                estatisticas.getQueryExecutionCount());
+    }
+
+    // Evicções vêm do MXBean padrão do JCache (habilitado em ehcache.xml); -1 quando indisponível.
+    private long evicoes(String cache) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            for (ObjectName nome : servidor.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                if (cache.equals(nome.getKeyProperty("Cache"))) {
+                    return ((Number) servidor.getAttribute(nome, "CacheEvictions")).longValue();
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[CACHE] Não foi possível ler evicções de " + cache + ": " + e.getMessage());
+        }
+        return -1;
+    }
+
+    /** Contadores de uma região de cache. */
+    public static final class Regiao {
+        private final String nome;
+        private final long acertos;
+        private final long falhas;
+        private final long insercoes;
+        private final long evicoes;
+        private final long elementosEmMemoria;
+
+        Regiao(String nome, long acertos, long falhas, long insercoes, long evicoes, long elementosEmMemoria) {
+            this.nome = nome;
+            this.acertos = acertos;
+            this.falhas = falhas;
+            this.insercoes = insercoes;
+            this.evicoes = evicoes;
+            this.elementosEmMemoria = elementosEmMemoria;
+        }
+
+        public String getNome() { return nome; }
+        public long getAcertos() { return acertos; }
+        public long getFalhas() { return falhas; }
+        public long getInsercoes() { return insercoes; }
+        public long getEvicoes() { return evicoes; }
+        public long getElementosEmMemoria() { return elementosEmMemoria; }
+    }
+
+    /** Contadores do cache de planos de consulta do Hibernate. */
+    public static final class PlanosConsulta {
+        private final long acertos;
+        private final long falhas;
+        private final long execucoes;
+
+        PlanosConsulta(long acertos, long falhas, long execucoes) {
+            this.acertos = acertos;
+            this.falhas = falhas;
+            this.execucoes = execucoes;
+        }
+
+        public long getAcertos() { return acertos; }
+        public long getFalhas() { return falhas; }
+        public long getExecucoes() { return execucoes; }
+
+        /** Fração das consultas que reutilizaram um plano pronto; 0 antes da primeira consulta. */
+        public double getTaxaAcerto() {
+            long total = acertos + falhas;
+            return total == 0 ? 0 : (double) acertos / total;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Expõe o estado do pool de conexões (ativas, ociosas, threads aguardando) e o tempo de espera
+ * para obter uma conexão, usado para dimensionar {@code JDBC_POOL_MAX_SIZE}.
+ */
+@ApplicationScoped
+public class EstatisticasConexoes {
+
+    private EntityManagerFactory emf;
+
+    // Construtor exigido pelo CDI para criar o proxy do escopo de aplicação.
+    protected EstatisticasConexoes() {}
+
+    @Inject
+    public EstatisticasConexoes(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    /** Fotografia atual do pool, ou {@code null} se o factory não usa o HikariCP. */
+    public Pool pool() {
+        HikariDataSource pool = PoolConexoes.doFactory(emf);
+        if (pool == null || !(pool.getMetricsTrackerFactory() instanceof MetricasPool)) {
+            return null;
+        }
+        return ((MetricasPool) pool.getMetricsTrackerFactory()).fotografia();
+    }
+
+    /** Contadores do pool; tempos de espera em microssegundos, de uso em milissegundos. */
+    public static final class Pool {
+        private final int ativas;
+        private final int ociosas;
+        private final int aguardando;
+        private final int maximo;
+        private final long aquisicoes;
+        private final long esperaMediaMicros;
+        private final long esperaMaximaMicros;
+        private final long usoMedioMillis;
+        private final long timeouts;
+
+        Pool(int ativas, int ociosas, int aguardando, int maximo, long aquisicoes,
+             long esperaMediaMicros, long esperaMaximaMicros, long usoMedioMillis, long timeouts) {
+            this.ativas = ativas;
+            this.ociosas = ociosas;
+            this.aguardando = aguardando;
+            this.maximo = maximo;
+            this.aquisicoes = aquisicoes;
+            this.esperaMediaMicros = esperaMediaMicros;
+            this.esperaMaximaMicros = esperaMaximaMicros;
+            this.usoMedioMillis = usoMedioMillis;
+            this.timeouts = timeouts;
+        }
+
+        public int getAtivas() { return ativas; }
+        public int getOciosas() { return ociosas; }
+        public int getAguardando() { return aguardando; }
+        public int getMaximo() { return maximo; }
+        public long getAquisicoes() { return aquisicoes; }
+        public long getEsperaMediaMicros() { return esperaMediaMicros; }
+        public long getEsperaMaximaMicros() { return esperaMaximaMicros; }
+        public long getUsoMedioMillis() { return usoMedioMillis; }
+        public long getTimeouts() { return timeouts; }
+    }
+}
@@ -0,0 +1,66 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latência com faixas fixas em potências de 2 (1 µs, 2 µs, 4 µs ... ~8,4 s e acima disso).
+ * Registrar uma medição é uma divisão, um {@code numberOfLeadingZeros} e dois {@link LongAdder}: nada é alocado e
+ * threads concorrentes não disputam o mesmo contador. A soma das faixas só é feita na leitura, em
+ * {@link #escrever}, no formato de texto do Prometheus (faixas acumuladas, em segundos).
+ */
+public final class Histograma {
+
+    // Faixas com limite superior de 2^i µs; a última recebe tudo o que passar de 2^(FAIXAS - 1) µs
+    private static final int FAIXAS = 25;
+
+    private final LongAdder[] contagens = new LongAdder[FAIXAS];
+    private final LongAdder somaNanos = new LongAdder();
+
+    public Histograma() {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens[i] = new LongAdder();
+        }
+    }
+
+    public void registrar(long nanos) {
+        contagens[faixa(nanos)].increment();
+        somaNanos.add(nanos);
+    }
+
+    // Menor i com nanos <= 2^i µs
+    static int faixa(long nanos) {
+        long micros = nanos <= 0 ? 0 : (nanos - 1) / 1_000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), FAIXAS - 1);
+    }
+
+    public long getQuantidade() {
+        long total = 0;
+        for (LongAdder contagem : contagens) {
+            total += contagem.sum();
+        }
+        return total;
+    }
+
+    public long getSomaNanos() {
+        return somaNanos.sum();
+    }
+
+    /**
+     * Escreve as linhas {@code _bucket}, {@code _sum} e {@code _count} da série. {@code rotulos} vem pronto
+     * ({@code operacao="salvar"}) ou vazio; as linhas {@code # HELP}/{@code # TYPE} ficam com quem chama.
+     */
+    public void escrever(StringBuilder saida, String nome, String rotulos) {
+        String prefixo = rotulos.isEmpty() ? "" : rotulos + ",";
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS - 1; i++) {
+            acumulado += contagens[i].sum();
+            saida.append(nome).append("_bucket{").append(prefixo).append("le=\"")
+                    .append((1L << i) / 1_000_000.0).append("\"} ").append(acumulado).append('\n');
+        }
+        acumulado += contagens[FAIXAS - 1].sum();
+        saida.append(nome).append("_bucket{").append(prefixo).append("le=\"+Inf\"} ").append(acumulado).append('\n');
+        String chaves = rotulos.isEmpty() ? "" : "{" + rotulos + "}";
+        saida.append(nome).append("_sum").append(chaves).append(' ').append(somaNanos.sum() / 1_000_000_000.0).append('\n');
+        saida.append(nome).append("_count").append(chaves).append(' ').append(acumulado).append('\n');
+    }
+}
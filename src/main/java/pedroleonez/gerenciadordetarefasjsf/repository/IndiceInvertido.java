@@ -0,0 +1,265 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice invertido em memória usado quando o banco não oferece busca textual (H2 nos testes).
+ * Os termos ficam ordenados para que a busca por prefixo seja um intervalo do mapa; termos do título
+ * pesam mais que os da descrição no ranking. Os demais filtros vêm do banco, em lotes de ids na ordem do
+ * ranking, e a página só é cortada depois deles.
+ */
+class IndiceInvertido implements BuscaTextual {
+
+    private static final int PESO_TITULO = 3;
+    private static final int PESO_DESCRICAO = 1;
+
+    // Ids por consulta de filtro ao banco (o PostgreSQL aceita no máximo 32767 parâmetros)
+    private static final int LOTE = 1000;
+
+    // Ordem (deadline, id) das linhas [id, deadline] devolvidas por ConsultasTarefa.prazos
+    private static final Comparator<Object[]> POR_PRAZO = Comparator
+            .comparing((Object[] linha) -> (LocalDate) linha[1])
+            .thenComparing(linha -> (Long) linha[0]);
+
+    private final EntityManagerFactory emf;
+
+    // termo -> (id da tarefa -> peso acumulado)
+    private final NavigableMap<String, Map<Long, Integer>> postagens = new TreeMap<>();
+    // id da tarefa -> termos indexados, para remoção sem varrer o índice inteiro
+    private final Map<Long, Set<String>> termosPorTarefa = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Monta o índice a partir das tarefas já gravadas. */
+    static IndiceInvertido carregar(EntityManagerFactory emf) {
+        IndiceInvertido indice = new IndiceInvertido(emf);
+        EntityManager em = emf.createEntityManager();
+        try {
+            List<Object[]> linhas = em.createQuery("SELECT t.id, t.titulo, t.descricao FROM Tarefa t", Object[].class)
+                    .getResultList();
+            for (Object[] linha : linhas) {
+                indice.indexar((Long) linha[0], (String) linha[1], (String) linha[2]);
+            }
+        } finally {
+            em.close();
+        }
+        return indice;
+    }
+
+    private IndiceInvertido(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @Override
+    public List<Long> buscar(CriteriosBusca criterios, int primeiro, int quantidade) {
+        List<Long> pagina = new ArrayList<>();
+        int posicao = 0;
+        List<Long> ranqueados = ranquear(criterios.texto);
+        EntityManager em = emf.createEntityManager();
+        try {
+            // Lotes na ordem do ranking até completar a página; os ids recusados pelos filtros não ocupam posição
+            for (int inicio = 0; inicio < ranqueados.size() && pagina.size() < quantidade; inicio += LOTE) {
+                List<Long> lote = lote(ranqueados, inicio);
+                Set<Long> aceitos = new HashSet<>(filtrar(em, ConsultasTarefa.ids(mascara(criterios)), Long.class,
+                        lote, criterios).getResultList());
+                for (Long id : lote) {
+                    if (aceitos.contains(id) && posicao++ >= primeiro) {
+                        pagina.add(id);
+                        if (pagina.size() == quantidade) {
+                            break;
+                        }
+                    }
+                }
+            }
+            return pagina;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public long contar(CriteriosBusca criterios) {
+        List<Long> ranqueados = ranquear(criterios.texto);
+        EntityManager em = emf.createEntityManager();
+        try {
+            long total = 0;
+            for (int inicio = 0; inicio < ranqueados.size(); inicio += LOTE) {
+                total += filtrar(em, ConsultasTarefa.contagem(mascara(criterios)), Long.class,
+                        lote(ranqueados, inicio), criterios).getSingleResult();
+            }
+            return total;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<Long> buscarPorPrazo(CriteriosBusca criterios, CursorTarefa posicao, boolean avancar, int quantidade) {
+        List<Object[]> linhas = aceitosPorPrazo(criterios);
+        if (!avancar) {
+            Collections.reverse(linhas);
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Object[] linha : linhas) {
+            if (ids.size() == quantidade) {
+                break;
+            }
+            if (posicao != null) {
+                int comparacao = POR_PRAZO.compare(linha, new Object[]{posicao.getId(), posicao.getDeadline()});
+                if (avancar ? comparacao <= 0 : comparacao >= 0) {
+                    continue;
+                }
+            }
+            ids.add((Long) linha[0]);
+        }
+        return ids;
+    }
+
+    @Override
+    public void percorrerPorPrazo(CriteriosBusca criterios, int tamanhoBloco, Consumer<List<Long>> bloco) {
+        List<Object[]> linhas = aceitosPorPrazo(criterios);
+        for (int inicio = 0; inicio < linhas.size(); inicio += tamanhoBloco) {
+            List<Long> ids = new ArrayList<>(tamanhoBloco);
+            for (Object[] linha : linhas.subList(inicio, Math.min(inicio + tamanhoBloco, linhas.size()))) {
+                ids.add((Long) linha[0]);
+            }
+            bloco.accept(ids);
+        }
+    }
+
+    // Todas as tarefas encontradas que passam pelos filtros, como [id, deadline] na ordem (deadline, id)
+    private List<Object[]> aceitosPorPrazo(CriteriosBusca criterios) {
+        List<Long> ranqueados = ranquear(criterios.texto);
+        List<Object[]> linhas = new ArrayList<>();
+        EntityManager em = emf.createEntityManager();
+        try {
+            for (int inicio = 0; inicio < ranqueados.size(); inicio += LOTE) {
+                linhas.addAll(filtrar(em, ConsultasTarefa.prazos(mascara(criterios)), Object[].class,
+                        lote(ranqueados, inicio), criterios).getResultList());
+            }
+        } finally {
+            em.close();
+        }
+        linhas.sort(POR_PRAZO);
+        return linhas;
+    }
+
+    private static <R> TypedQuery<R> filtrar(EntityManager em, String jpql, Class<R> tipo, List<Long> lote,
+                                             CriteriosBusca criterios) {
+        TypedQuery<R> query = em.createQuery(jpql, tipo);
+        ConsultasTarefa.aplicarParametros(query, criterios.id, lote, criterios.responsavel, criterios.prioridade,
+                criterios.situacao);
+        return query;
+    }
+
+    private static int mascara(CriteriosBusca criterios) {
+        return ConsultasTarefa.mascara(criterios.id, Collections.emptyList(), criterios.responsavel,
+                criterios.prioridade, criterios.situacao);
+    }
+
+    private static List<Long> lote(List<Long> ids, int inicio) {
+        return new ArrayList<>(ids.subList(inicio, Math.min(inicio + LOTE, ids.size())));
+    }
+
+    // Ids que contêm todos os termos (por prefixo), do mais para o menos relevante, sem limite.
+    private List<Long> ranquear(String texto) {
+        List<String> termos = TermosBusca.tokenizar(texto);
+        if (termos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> pontuacao = null;
+            for (String termo : termos) {
+                Map<Long, Integer> candidatos = new HashMap<>();
+                // Todos os termos indexados que começam com o termo digitado
+                for (Map<Long, Integer> docs : postagens.subMap(termo, true, termo + Character.MAX_VALUE, false).values()) {
+                    docs.forEach((id, peso) -> candidatos.merge(id, peso, Integer::sum));
+                }
+                if (pontuacao == null) {
+                    pontuacao = candidatos;
+                } else {
+                    // Todos os termos precisam aparecer na tarefa
+                    pontuacao.keySet().retainAll(candidatos.keySet());
+                    for (Map.Entry<Long, Integer> entrada : pontuacao.entrySet()) {
+                        entrada.setValue(entrada.getValue() + candidatos.get(entrada.getKey()));
+                    }
+                }
+                if (pontuacao.isEmpty()) {
+                    return new ArrayList<>();
+                }
+            }
+
+            List<Map.Entry<Long, Integer>> ordenados = new ArrayList<>(pontuacao.entrySet());
+            ordenados.sort(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<Long> ids = new ArrayList<>(ordenados.size());
+            for (Map.Entry<Long, Integer> entrada : ordenados) {
+                ids.add(entrada.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexar(Tarefa tarefa) {
+        indexar(tarefa.getId(), tarefa.getTitulo(), tarefa.getDescricao());
+    }
+
+    @Override
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexar(Long id, String titulo, String descricao) {
+        Map<String, Integer> pesos = new HashMap<>();
+        TermosBusca.tokenizar(titulo).forEach(termo -> pesos.merge(termo, PESO_TITULO, Integer::sum));
+        TermosBusca.tokenizar(descricao).forEach(termo -> pesos.merge(termo, PESO_DESCRICAO, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            pesos.forEach((termo, peso) -> postagens.computeIfAbsent(termo, t -> new HashMap<>()).put(id, peso));
+            termosPorTarefa.put(id, pesos.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removerSemLock(Long id) {
+        for (String termo : termosPorTarefa.getOrDefault(id, Collections.emptySet())) {
+            Map<Long, Integer> docs = postagens.get(termo);
+            docs.remove(id);
+            if (docs.isEmpty()) {
+                postagens.remove(termo);
+            }
+        }
+        termosPorTarefa.remove(id);
+    }
+}
@@ -0,0 +1,76 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Aviso trocado entre os nós da aplicação após uma escrita: o tipo da alteração e os ids afetados.
+ * Sem ids, vale para todas as tarefas (ex.: após perder notificações durante uma reconexão).
+ * Codificado em texto curto, {@code TIPO:1,2,3} ou {@code TIPO:*}, para caber no payload do NOTIFY.
+ */
+final class Invalidacao {
+
+    private static final String TODAS = "*";
+
+    private final AlteracaoTarefa.Tipo tipo;
+    private final List<Long> ids;
+
+    private Invalidacao(AlteracaoTarefa.Tipo tipo, List<Long> ids) {
+        this.tipo = tipo;
+        this.ids = Collections.unmodifiableList(ids);
+    }
+
+    static Invalidacao de(AlteracaoTarefa alteracao) {
+        return new Invalidacao(alteracao.getTipo(), new ArrayList<>(alteracao.getIds()));
+    }
+
+    static Invalidacao de(AlteracaoTarefa.Tipo tipo, List<Long> ids) {
+        return new Invalidacao(tipo, new ArrayList<>(ids));
+    }
+
+    /** Invalida tudo o que o nó guarda em memória sobre tarefas. */
+    static Invalidacao completa() {
+        return new Invalidacao(AlteracaoTarefa.Tipo.ATUALIZACAO, Collections.emptyList());
+    }
+
+    AlteracaoTarefa.Tipo getTipo() { return tipo; }
+    List<Long> getIds() { return ids; }
+    boolean isCompleta() { return ids.isEmpty(); }
+
+    /** Divide em avisos de no máximo {@code maximoIds} ids, para respeitar o limite de tamanho do transporte. */
+    List<Invalidacao> dividir(int maximoIds) {
+        if (ids.size() <= maximoIds) {
+            return List.of(this);
+        }
+        List<Invalidacao> partes = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += maximoIds) {
+            partes.add(new Invalidacao(tipo, ids.subList(inicio, Math.min(inicio + maximoIds, ids.size()))));
+        }
+        return partes;
+    }
+
+    String codificar() {
+        return tipo.name() + ":" + (isCompleta() ? TODAS
+                : ids.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /** @throws IllegalArgumentException se o texto não tiver sido gerado por {@link #codificar()} */
+    static Invalidacao decodificar(String texto) {
+        int separador = texto.indexOf(':');
+        if (separador < 0) {
+            throw new IllegalArgumentException("Aviso de invalidação inválido: " + texto);
+        }
+        AlteracaoTarefa.Tipo tipo = AlteracaoTarefa.Tipo.valueOf(texto.substring(0, separador));
+        String corpo = texto.substring(separador + 1);
+        if (TODAS.equals(corpo)) {
+            return new Invalidacao(tipo, Collections.emptyList());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (String id : corpo.split(",")) {
+            ids.add(Long.parseLong(id));
+        }
+        return new Invalidacao(tipo, ids);
+    }
+}
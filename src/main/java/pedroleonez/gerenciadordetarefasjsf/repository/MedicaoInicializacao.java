@@ -0,0 +1,83 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duração de cada fase da inicialização (CDI, JPA e JSF). Cada fase vai para o log ao terminar e, com as três
+ * concluídas, um resumo traz também o tempo desde o início da JVM; os valores ficam em {@code /metricas}.
+ * Uma fase executada dentro de outra (ex.: o JPA montado durante a configuração do JSF) é descontada dela.
+ */
+public final class MedicaoInicializacao {
+
+    public enum Fase {
+        CDI("CDI (Weld)"),
+        JPA("JPA (migrações + Hibernate)"),
+        JSF("JSF (Mojarra + PrimeFaces)");
+
+        private final String rotulo;
+
+        Fase(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        public String getRotulo() {
+            return rotulo;
+        }
+    }
+
+    // Início e fim (System.nanoTime) de cada fase concluída
+    private static final Map<Fase, long[]> INTERVALOS = new EnumMap<>(Fase.class);
+
+    private MedicaoInicializacao() {}
+
+    /** Registra a fase iniciada em {@code inicio} ({@link System#nanoTime()}) e concluída agora. */
+    public static void registrar(Fase fase, long inicio) {
+        long fim = System.nanoTime();
+        long millis;
+        String resumo = null;
+        synchronized (INTERVALOS) {
+            INTERVALOS.put(fase, new long[]{inicio, fim});
+            millis = TimeUnit.NANOSECONDS.toMillis(duracao(fase));
+            if (INTERVALOS.size() == Fase.values().length) {
+                resumo = String.format(Locale.ROOT, "Aplicação pronta em %d ms desde o início da JVM (CDI %d ms, JPA %d ms, JSF %d ms).",
+                        ManagementFactory.getRuntimeMXBean().getUptime(),
+                        TimeUnit.NANOSECONDS.toMillis(duracao(Fase.CDI)),
+                        TimeUnit.NANOSECONDS.toMillis(duracao(Fase.JPA)),
+                        TimeUnit.NANOSECONDS.toMillis(duracao(Fase.JSF)));
+            }
+        }
+        System.out.println("[INICIO] " + fase.getRotulo() + ": " + millis + " ms.");
+        if (resumo != null) {
+            System.out.println("[INICIO] " + resumo);
+        }
+    }
+
+    /** Séries no formato de texto do Prometheus, apenas das fases já concluídas. */
+    public static void escrever(StringBuilder saida) {
+        saida.append("# HELP tarefas_inicializacao_segundos Duração de cada fase da inicialização.\n")
+                .append("# TYPE tarefas_inicializacao_segundos gauge\n");
+        synchronized (INTERVALOS) {
+            for (Fase fase : INTERVALOS.keySet()) {
+                saida.append("tarefas_inicializacao_segundos{fase=\"").append(fase.name().toLowerCase(Locale.ROOT))
+                        .append("\"} ").append(duracao(fase) / 1e9).append('\n');
+            }
+        }
+    }
+
+    // Duração sem as fases que couberam inteiras dentro dela
+    private static long duracao(Fase fase) {
+        long[] intervalo = INTERVALOS.get(fase);
+        long nanos = intervalo[1] - intervalo[0];
+        for (Map.Entry<Fase, long[]> outra : INTERVALOS.entrySet()) {
+            long[] interno = outra.getValue();
+            if (outra.getKey() != fase && interno[0] >= intervalo[0] && interno[1] <= intervalo[1]) {
+                nanos -= interno[1] - interno[0];
+            }
+        }
+        return nanos;
+    }
+}
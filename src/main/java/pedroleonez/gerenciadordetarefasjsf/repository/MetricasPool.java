@@ -0,0 +1,60 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula os eventos que o HikariCP reporta (espera para obter conexão, tempo de uso, timeouts).
+ * Os contadores são {@link LongAdder} porque todas as requisições registram aqui ao pegar uma conexão.
+ */
+class MetricasPool implements MetricsTrackerFactory {
+
+    private final LongAdder aquisicoes = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final LongAccumulator esperaMaximaNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usoTotalMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats estado;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.estado = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long nanos) {
+                aquisicoes.increment();
+                esperaTotalNanos.add(nanos);
+                esperaMaximaNanos.accumulate(nanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long millis) {
+                usoTotalMillis.add(millis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    EstatisticasConexoes.Pool fotografia() {
+        PoolStats atual = estado;
+        long quantidade = aquisicoes.sum();
+        return new EstatisticasConexoes.Pool(
+                atual != null ? atual.getActiveConnections() : 0,
+                atual != null ? atual.getIdleConnections() : 0,
+                atual != null ? atual.getPendingThreads() : 0,
+                atual != null ? atual.getMaxConnections() : 0,
+                quantidade,
+                quantidade > 0 ? esperaTotalNanos.sum() / quantidade / 1_000 : 0,
+                esperaMaximaNanos.get() / 1_000,
+                quantidade > 0 ? usoTotalMillis.sum() / quantidade : 0,
+                timeouts.sum());
+    }
+}
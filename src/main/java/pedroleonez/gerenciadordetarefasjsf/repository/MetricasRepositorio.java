@@ -0,0 +1,130 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência, linhas e falhas de cada operação do {@link TarefaRepository}, mais as transações desfeitas.
+ * Os contadores ficam em arrays indexados pela {@link Operacao}, criados uma única vez: cada medição custa duas
+ * leituras de {@code System.nanoTime()} e alguns {@link LongAdder}, sem alocação.
+ */
+public final class MetricasRepositorio {
+
+    /** Operações medidas; o nome vira o rótulo {@code operacao} nas séries. */
+    public enum Operacao {
+        SALVAR("salvar"),
+        SALVAR_LOTE("salvar_lote"),
+        ATUALIZAR("atualizar"),
+        REMOVER("remover"),
+        CONCLUIR("concluir"),
+        REMOVER_TODAS("remover_todas"),
+        BUSCAR_POR_ID("buscar_por_id"),
+        LISTAR_TODAS("listar_todas"),
+        FILTRAR("filtrar"),
+        RESUMIR("resumir"),
+        FILTRAR_CURSOR("filtrar_cursor"),
+        RESUMIR_CURSOR("resumir_cursor"),
+        CONTAR("contar"),
+        PERCORRER("percorrer"),
+        PRAZOS_ATE("prazos_ate"),
+        RESERVAR_AVISOS("reservar_avisos"),
+        PAINEL("painel"),
+        SUGERIR_RESPONSAVEIS("sugerir_responsaveis");
+
+        private final String rotulo;
+
+        Operacao(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        public String getRotulo() {
+            return rotulo;
+        }
+    }
+
+    private static final Operacao[] OPERACOES = Operacao.values();
+
+    private final Histograma[] latencias = new Histograma[OPERACOES.length];
+    private final LongAdder[] linhas = new LongAdder[OPERACOES.length];
+    private final LongAdder[] falhas = new LongAdder[OPERACOES.length];
+    private final LongAdder transacoesDesfeitas = new LongAdder();
+    private final LongAdder conflitosVersao = new LongAdder();
+
+    MetricasRepositorio() {
+        for (int i = 0; i < OPERACOES.length; i++) {
+            latencias[i] = new Histograma();
+            linhas[i] = new LongAdder();
+            falhas[i] = new LongAdder();
+        }
+    }
+
+    /** Operação concluída: tempo desde {@code inicioNanos} e linhas lidas ou gravadas. */
+    void registrar(Operacao operacao, long inicioNanos, long quantidadeLinhas) {
+        latencias[operacao.ordinal()].registrar(System.nanoTime() - inicioNanos);
+        linhas[operacao.ordinal()].add(quantidadeLinhas);
+    }
+
+    /** Operação interrompida por exceção; o tempo até a falha também entra no histograma. */
+    void registrarFalha(Operacao operacao, long inicioNanos) {
+        latencias[operacao.ordinal()].registrar(System.nanoTime() - inicioNanos);
+        falhas[operacao.ordinal()].increment();
+    }
+
+    void registrarTransacaoDesfeita() {
+        transacoesDesfeitas.increment();
+    }
+
+    void registrarConflitoVersao() {
+        conflitosVersao.increment();
+    }
+
+    public long getChamadas(Operacao operacao) {
+        return latencias[operacao.ordinal()].getQuantidade();
+    }
+
+    public long getLinhas(Operacao operacao) {
+        return linhas[operacao.ordinal()].sum();
+    }
+
+    public long getFalhas(Operacao operacao) {
+        return falhas[operacao.ordinal()].sum();
+    }
+
+    public long getTransacoesDesfeitas() {
+        return transacoesDesfeitas.sum();
+    }
+
+    public long getConflitosVersao() {
+        return conflitosVersao.sum();
+    }
+
+    /** Séries no formato de texto do Prometheus, com as linhas {@code # HELP} e {@code # TYPE}. */
+    public void escrever(StringBuilder saida) {
+        saida.append("# HELP tarefas_repositorio_segundos Latência das operações do repositório.\n")
+                .append("# TYPE tarefas_repositorio_segundos histogram\n");
+        for (Operacao operacao : OPERACOES) {
+            latencias[operacao.ordinal()].escrever(saida, "tarefas_repositorio_segundos", rotulo(operacao));
+        }
+        saida.append("# HELP tarefas_repositorio_linhas_total Linhas devolvidas ou gravadas pelas operações.\n")
+                .append("# TYPE tarefas_repositorio_linhas_total counter\n");
+        for (Operacao operacao : OPERACOES) {
+            saida.append("tarefas_repositorio_linhas_total{").append(rotulo(operacao)).append("} ")
+                    .append(getLinhas(operacao)).append('\n');
+        }
+        saida.append("# HELP tarefas_repositorio_falhas_total Operações interrompidas por exceção.\n")
+                .append("# TYPE tarefas_repositorio_falhas_total counter\n");
+        for (Operacao operacao : OPERACOES) {
+            saida.append("tarefas_repositorio_falhas_total{").append(rotulo(operacao)).append("} ")
+                    .append(getFalhas(operacao)).append('\n');
+        }
+        saida.append("# HELP tarefas_repositorio_transacoes_desfeitas_total Transações encerradas com rollback.\n")
+                .append("# TYPE tarefas_repositorio_transacoes_desfeitas_total counter\n")
+                .append("tarefas_repositorio_transacoes_desfeitas_total ").append(getTransacoesDesfeitas()).append('\n')
+                .append("# HELP tarefas_repositorio_conflitos_versao_total Edições recusadas pelo controle otimista.\n")
+                .append("# TYPE tarefas_repositorio_conflitos_versao_total counter\n")
+                .append("tarefas_repositorio_conflitos_versao_total ").append(getConflitosVersao()).append('\n');
+    }
+
+    private static String rotulo(Operacao operacao) {
+        return "operacao=\"" + operacao.getRotulo() + "\"";
+    }
+}
@@ -0,0 +1,39 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+
+import javax.sql.DataSource;
+
+/**
+ * Aplica as migrações versionadas de {@code db/migration/<banco>} antes de o Hibernate validar o schema.
+ * Bancos criados antes das migrações recebem baseline na versão 0 e passam pela V1 sem perder dados.
+ */
+final class MigracaoBanco {
+
+    private MigracaoBanco() {}
+
+    static void migrar(DataSource dataSource, String jdbcUrl) {
+        MigrateResult resultado = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/" + resolverBanco(jdbcUrl))
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        System.out.println("[DB] Migrações aplicadas: " + resultado.migrationsExecuted
+                + " (versão atual: " + (resultado.targetSchemaVersion != null ? resultado.targetSchemaVersion : "inalterada") + ").");
+    }
+
+    // Cada banco tem sua pasta de scripts (ex.: o H2 não aceita índices por expressão).
+    private static String resolverBanco(String jdbcUrl) {
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:h2:")) {
+            return "h2";
+        }
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql:")) {
+            return "postgresql";
+        }
+        throw new IllegalStateException("Banco sem migrações configuradas: " + jdbcUrl);
+    }
+}
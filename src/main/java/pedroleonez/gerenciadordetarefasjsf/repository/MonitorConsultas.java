@@ -0,0 +1,283 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conta e cronometra as instruções SQL enviadas pelo Hibernate. As conexões entregues pelo pool são envolvidas
+ * em um proxy JDBC que registra cada execução (com os parâmetros ligados, para o log de consultas lentas) no
+ * {@link Escopo} aberto na thread, normalmente um por requisição HTTP.
+ * Instruções acima de {@code SQL_LENTA_MS} (padrão 500) vão para o log com os parâmetros; escopos que passam
+ * do orçamento de instruções são registrados e, no modo estrito usado pelos testes, falham com
+ * {@link OrcamentoExcedido}. Operações executadas em outras threads (repositório assíncrono) não entram no
+ * escopo da requisição.
+ */
+public final class MonitorConsultas {
+
+    /** Orçamento padrão por requisição ({@code SQL_ORCAMENTO_REQUISICAO}). */
+    public static final int ORCAMENTO_PADRAO = lerInteiro("SQL_ORCAMENTO_REQUISICAO", 10);
+
+    private static final long LIMITE_LENTA_NANOS = TimeUnit.MILLISECONDS.toNanos(lerInteiro("SQL_LENTA_MS", 500));
+
+    // Instruções guardadas por escopo para a mensagem de orçamento excedido
+    private static final int INSTRUCOES_NO_RELATORIO = 30;
+    private static final int TAMANHO_MAXIMO_PARAMETRO = 100;
+
+    private static final ThreadLocal<Escopo> ATUAL = new ThreadLocal<>();
+
+    private static final LongAdder INSTRUCOES = new LongAdder();
+    private static final LongAdder LENTAS = new LongAdder();
+    private static final LongAdder ACIMA_DO_ORCAMENTO = new LongAdder();
+
+    private MonitorConsultas() {}
+
+    /**
+     * Abre um escopo na thread atual; as instruções executadas até {@link Escopo#close()} são contadas nele e
+     * nos escopos externos. Com {@code estrito}, fechar um escopo acima do orçamento lança {@link OrcamentoExcedido}.
+     */
+    public static Escopo abrir(String descricao, int orcamento, boolean estrito) {
+        Escopo escopo = new Escopo(descricao, orcamento, estrito, ATUAL.get());
+        ATUAL.set(escopo);
+        return escopo;
+    }
+
+    /** Envolve a conexão do pool para que suas instruções sejam medidas. */
+    static Connection monitorar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(MonitorConsultas.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConexaoMonitorada(conexao));
+    }
+
+    static void registrar(String sql, Object[] parametros, int quantidadeParametros, long nanos) {
+        INSTRUCOES.increment();
+        for (Escopo escopo = ATUAL.get(); escopo != null; escopo = escopo.externo) {
+            escopo.contar(sql, nanos);
+        }
+        if (nanos >= LIMITE_LENTA_NANOS) {
+            LENTAS.increment();
+            Escopo escopo = ATUAL.get();
+            System.err.println("[SQL] Instrução lenta (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms"
+                    + (escopo != null ? ", " + escopo.descricao : "") + "): " + sql
+                    + (quantidadeParametros > 0 ? " | parâmetros " + descrever(parametros, quantidadeParametros) : ""));
+        }
+    }
+
+    public static long getInstrucoes() {
+        return INSTRUCOES.sum();
+    }
+
+    /** Séries no formato de texto do Prometheus. */
+    public static void escrever(StringBuilder saida) {
+        saida.append("# HELP tarefas_sql_instrucoes_total Instruções SQL executadas pelo Hibernate.\n")
+                .append("# TYPE tarefas_sql_instrucoes_total counter\n")
+                .append("tarefas_sql_instrucoes_total ").append(INSTRUCOES.sum()).append('\n')
+                .append("# HELP tarefas_sql_lentas_total Instruções acima de SQL_LENTA_MS.\n")
+                .append("# TYPE tarefas_sql_lentas_total counter\n")
+                .append("tarefas_sql_lentas_total ").append(LENTAS.sum()).append('\n')
+                .append("# HELP tarefas_sql_acima_orcamento_total Requisições com mais instruções que o orçamento.\n")
+                .append("# TYPE tarefas_sql_acima_orcamento_total counter\n")
+                .append("tarefas_sql_acima_orcamento_total ").append(ACIMA_DO_ORCAMENTO.sum()).append('\n');
+    }
+
+    private static String descrever(Object[] parametros, int quantidade) {
+        StringBuilder texto = new StringBuilder("[");
+        for (int i = 1; i <= quantidade; i++) {
+            if (i > 1) {
+                texto.append(", ");
+            }
+            String valor = String.valueOf(parametros[i]);
+            texto.append(valor.length() > TAMANHO_MAXIMO_PARAMETRO
+                    ? valor.substring(0, TAMANHO_MAXIMO_PARAMETRO) + "..." : valor);
+        }
+        return texto.append(']').toString();
+    }
+
+    /** Instruções executadas entre a abertura e o fechamento, em uma única thread. */
+    public static final class Escopo implements AutoCloseable {
+        private final String descricao;
+        private final int orcamento;
+        private final boolean estrito;
+        private final Escopo externo;
+        private final List<String> instrucoes = new ArrayList<>();
+        private int quantidade;
+        private long nanos;
+        private boolean fechado;
+
+        private Escopo(String descricao, int orcamento, boolean estrito, Escopo externo) {
+            this.descricao = descricao;
+            this.orcamento = orcamento;
+            this.estrito = estrito;
+            this.externo = externo;
+        }
+
+        private void contar(String sql, long duracao) {
+            quantidade++;
+            nanos += duracao;
+            if (instrucoes.size() < INSTRUCOES_NO_RELATORIO) {
+                instrucoes.add(sql);
+            }
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        public boolean isAcimaDoOrcamento() {
+            return orcamento > 0 && quantidade > orcamento;
+        }
+
+        /** Encerra o escopo; acima do orçamento, registra no log e, se estrito, lança {@link OrcamentoExcedido}. */
+        @Override
+        public void close() {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            if (ATUAL.get() == this) {
+                if (externo != null) {
+                    ATUAL.set(externo);
+                } else {
+                    ATUAL.remove();
+                }
+            }
+            if (isAcimaDoOrcamento()) {
+                ACIMA_DO_ORCAMENTO.increment();
+                String mensagem = descricao + ": " + quantidade + " instruções SQL em " + getMillis()
+                        + " ms (orçamento " + orcamento + ")";
+                if (estrito) {
+                    throw new OrcamentoExcedido(mensagem + ":\n  " + String.join("\n  ", instrucoes));
+                }
+                System.err.println("[SQL] " + mensagem + ".");
+            }
+        }
+    }
+
+    /** Escopo estrito fechado com mais instruções que o orçamento (N+1, recarga da tabela inteira etc.). */
+    public static final class OrcamentoExcedido extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        OrcamentoExcedido(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    // Repassa tudo à conexão real; as instruções criadas saem envolvidas por InstrucaoMonitorada.
+    private static final class ConexaoMonitorada implements InvocationHandler {
+        private final Connection conexao;
+
+        ConexaoMonitorada(Connection conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object resultado = repassar(conexao, metodo, args);
+            switch (metodo.getName()) {
+                case "prepareStatement":
+                    return envolver(resultado, PreparedStatement.class, (String) args[0]);
+                case "prepareCall":
+                    return envolver(resultado, CallableStatement.class, (String) args[0]);
+                case "createStatement":
+                    return envolver(resultado, Statement.class, null);
+                default:
+                    return resultado;
+            }
+        }
+
+        private static Object envolver(Object instrucao, Class<?> tipo, String sql) {
+            return Proxy.newProxyInstance(MonitorConsultas.class.getClassLoader(), new Class<?>[]{tipo},
+                    new InstrucaoMonitorada((Statement) instrucao, sql));
+        }
+    }
+
+    // Guarda os parâmetros ligados (índice JDBC = posição no array) e mede cada execução.
+    private static final class InstrucaoMonitorada implements InvocationHandler {
+        private final Statement instrucao;
+        private final String sql;
+        private Object[] parametros;
+        private int quantidadeParametros;
+
+        InstrucaoMonitorada(Statement instrucao, String sql) {
+            this.instrucao = instrucao;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (nome.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                ligar((Integer) args[0], nome.equals("setNull") ? null : args[1]);
+            } else if (nome.equals("clearParameters")) {
+                quantidadeParametros = 0;
+            } else if (nome.startsWith("execute")) {
+                long inicio = System.nanoTime();
+                try {
+                    return repassar(instrucao, metodo, args);
+                } finally {
+                    String texto = sql != null ? sql : args != null && args.length > 0 ? String.valueOf(args[0]) : "(lote)";
+                    registrar(texto, parametros, quantidadeParametros, System.nanoTime() - inicio);
+                }
+            }
+            return repassar(instrucao, metodo, args);
+        }
+
+        private void ligar(int indice, Object valor) {
+            if (parametros == null) {
+                parametros = new Object[Math.max(indice + 1, 8)];
+            } else if (indice >= parametros.length) {
+                parametros = Arrays.copyOf(parametros, Math.max(indice + 1, parametros.length * 2));
+            }
+            parametros[indice] = valor;
+            quantidadeParametros = Math.max(quantidadeParametros, indice);
+        }
+    }
+
+    private static Object repassar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int lerInteiro(String variavel, int padrao) {
+        String valor = System.getenv(variavel);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[SQL] Valor inválido para " + variavel + ": " + valor + ". Usando " + padrao + ".");
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página obtida por cursor: as tarefas em ordem {@code (deadline, id)} e os tokens para navegar
+ * para a página anterior/próxima ({@code null} quando não há mais registros naquela direção).
+ *
+ * @param <T> entidade completa ou a projeção usada pela tabela
+ */
+public final class PaginaTarefas<T> {
+
+    private final List<T> tarefas;
+    private final String cursorAnterior;
+    private final String cursorProximo;
+
+    PaginaTarefas(List<T> tarefas, String cursorAnterior, String cursorProximo) {
+        this.tarefas = Collections.unmodifiableList(tarefas);
+        this.cursorAnterior = cursorAnterior;
+        this.cursorProximo = cursorProximo;
+    }
+
+    public List<T> getTarefas() { return tarefas; }
+    public String getCursorAnterior() { return cursorAnterior; }
+    public String getCursorProximo() { return cursorProximo; }
+
+    public boolean isTemAnterior() { return cursorAnterior != null; }
+    public boolean isTemProxima() { return cursorProximo != null; }
+}
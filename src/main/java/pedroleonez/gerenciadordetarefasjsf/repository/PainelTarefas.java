@@ -0,0 +1,46 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fotografia dos contadores do painel de resumo: tarefas em andamento por responsável e por prioridade,
+ * total por situação e atrasadas (em andamento com {@code deadline} anterior a hoje).
+ */
+public final class PainelTarefas {
+
+    private final List<Contagem> abertasPorResponsavel;
+    private final List<Contagem> abertasPorPrioridade;
+    private final List<Contagem> porSituacao;
+    private final long abertas;
+    private final long atrasadas;
+
+    PainelTarefas(List<Contagem> abertasPorResponsavel, List<Contagem> abertasPorPrioridade,
+                  List<Contagem> porSituacao, long abertas, long atrasadas) {
+        this.abertasPorResponsavel = Collections.unmodifiableList(abertasPorResponsavel);
+        this.abertasPorPrioridade = Collections.unmodifiableList(abertasPorPrioridade);
+        this.porSituacao = Collections.unmodifiableList(porSituacao);
+        this.abertas = abertas;
+        this.atrasadas = atrasadas;
+    }
+
+    public List<Contagem> getAbertasPorResponsavel() { return abertasPorResponsavel; }
+    public List<Contagem> getAbertasPorPrioridade() { return abertasPorPrioridade; }
+    public List<Contagem> getPorSituacao() { return porSituacao; }
+    public long getAbertas() { return abertas; }
+    public long getAtrasadas() { return atrasadas; }
+
+    /** Quantidade associada a um rótulo (nome do responsável ou rótulo do enum). */
+    public static final class Contagem {
+        private final String rotulo;
+        private final long quantidade;
+
+        Contagem(String rotulo, long quantidade) {
+            this.rotulo = rotulo;
+            this.quantidade = quantidade;
+        }
+
+        public String getRotulo() { return rotulo; }
+        public long getQuantidade() { return quantidade; }
+    }
+}
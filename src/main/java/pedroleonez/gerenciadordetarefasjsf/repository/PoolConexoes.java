@@ -0,0 +1,135 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Monta o pool HikariCP usado pelo Hibernate e pelas migrações a partir das mesmas propriedades JDBC
+ * (persistence.xml ou variáveis de ambiente). Tamanho, timeout de aquisição e detecção de vazamentos
+ * podem ser ajustados por variáveis {@code JDBC_POOL_*}.
+ */
+final class PoolConexoes {
+
+    private PoolConexoes() {}
+
+    static HikariDataSource criar(Map<String, Object> props) {
+        String jdbcUrl = (String) props.get("javax.persistence.jdbc.url");
+
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("tarefas");
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername((String) props.get("javax.persistence.jdbc.user"));
+        config.setPassword((String) props.get("javax.persistence.jdbc.password"));
+        if (props.get("javax.persistence.jdbc.driver") != null) {
+            // No container o DriverManager nem sempre enxerga drivers do WEB-INF/lib
+            config.setDriverClassName((String) props.get("javax.persistence.jdbc.driver"));
+        }
+        // O Hibernate controla as transações (RESOURCE_LOCAL)
+        config.setAutoCommit(false);
+
+        config.setMaximumPoolSize(lerInteiro("JDBC_POOL_MAX_SIZE", 10));
+        config.setMinimumIdle(lerInteiro("JDBC_POOL_MIN_IDLE", 2));
+        config.setConnectionTimeout(lerInteiro("JDBC_POOL_ACQUIRE_TIMEOUT_MS", 10000));
+        config.setLeakDetectionThreshold(lerInteiro("JDBC_POOL_LEAK_DETECTION_MS", 60000));
+        config.setMetricsTrackerFactory(new MetricasPool());
+
+        if (jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql:")) {
+            // Prepared statements do lado do servidor: após prepareThreshold execuções o driver reaproveita o plano
+            config.addDataSourceProperty("prepareThreshold", lerInteiro("JDBC_PREPARE_THRESHOLD", 3));
+            config.addDataSourceProperty("preparedStatementCacheQueries", lerInteiro("JDBC_PREPARED_STATEMENT_CACHE_QUERIES", 256));
+            config.addDataSourceProperty("preparedStatementCacheSizeMiB", lerInteiro("JDBC_PREPARED_STATEMENT_CACHE_MIB", 5));
+            // Lotes de INSERT viram um único INSERT multi-valores no servidor
+            config.addDataSourceProperty("reWriteBatchedInserts", true);
+        }
+
+        System.out.println("[DB] Pool de conexões: máximo " + config.getMaximumPoolSize() + ", mínimo ocioso "
+                + config.getMinimumIdle() + ", timeout de aquisição " + config.getConnectionTimeout() + " ms.");
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Entrega o pool ao Hibernate. Um {@code DataSource} comum não serve: com usuário/senha na unidade
+     * o Hibernate chamaria {@code getConnection(usuario, senha)}, que o HikariCP não suporta.
+     */
+    static ConnectionProvider provedor(HikariDataSource pool) {
+        return new ProvedorHikari(pool);
+    }
+
+    /** Pool por trás do factory, ou {@code null} se o Hibernate estiver usando outro provedor de conexões. */
+    static HikariDataSource doFactory(EntityManagerFactory emf) {
+        ConnectionProvider provedor = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        if (provedor != null && provedor.isUnwrappableAs(DataSource.class)) {
+            DataSource dataSource = provedor.unwrap(DataSource.class);
+            if (dataSource instanceof HikariDataSource) {
+                return (HikariDataSource) dataSource;
+            }
+        }
+        return null;
+    }
+
+    private static final class ProvedorHikari implements ConnectionProvider {
+        private static final long serialVersionUID = 1L;
+
+        private final transient HikariDataSource pool;
+
+        private ProvedorHikari(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            // Instruções do Hibernate contadas e cronometradas por requisição (log de consultas lentas e orçamento)
+            return MonitorConsultas.monitorar(pool.getConnection());
+        }
+
+        @Override
+        public void closeConnection(Connection conexao) throws SQLException {
+            conexao.close();
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class unwrapType) {
+            return unwrapType.isInstance(pool) || ConnectionProvider.class.equals(unwrapType);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> unwrapType) {
+            if (unwrapType.isInstance(pool)) {
+                return (T) pool;
+            }
+            if (ConnectionProvider.class.equals(unwrapType)) {
+                return (T) this;
+            }
+            throw new UnknownUnwrapTypeException(unwrapType);
+        }
+    }
+
+    private static int lerInteiro(String variavel, int padrao) {
+        String valor = System.getenv(variavel);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[DB] Valor inválido para " + variavel + ": " + valor + ". Usando " + padrao + ".");
+            return padrao;
+        }
+    }
+}
@@ -1,82 +1,312 @@
 package pedroleonez.gerenciadordetarefasjsf.repository;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.query.Query;
+import pedroleonez.gerenciadordetarefasjsf.model.Responsavel;
 import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.MetricasRepositorio.Operacao;
 
-import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 import javax.persistence.*;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Repositório JPA com operações CRUD e filtros dinâmicos para {@link Tarefa}.
+ * O {@link EntityManagerFactory} é injetado e compartilhado por toda a aplicação; entidades e resultados
+ * de filtros passam pelo cache de segundo nível, invalidado pelo Hibernate a cada escrita.
+ * Cada escrita confirmada é publicada como {@link AlteracaoTarefa} para as telas abertas e enviada aos
+ * demais nós pelo {@link CanalInvalidacao}, para que descartem o que guardam em memória sobre as tarefas.
+ * Cada operação pública registra latência, linhas e falhas em {@link MetricasRepositorio}.
  */
 @ApplicationScoped
 public class TarefaRepository {
 
+    /** Mesmo valor de {@code hibernate.jdbc.batch_size} em persistence.xml. */
+    static final int TAMANHO_LOTE_JDBC = 50;
+
+    // Ids por instrução nas operações em massa (o PostgreSQL aceita no máximo 32767 parâmetros)
+    private static final int LIMITE_IN = 1000;
+
+    // Linhas trazidas do banco a cada ida ao cursor durante a exportação
+    private static final int TAMANHO_FETCH_EXPORTACAO = 500;
+
+    // Intervalo máximo entre reconciliações dos contadores do painel com o banco
+    private static final long INTERVALO_RECONCILIACAO = TimeUnit.MINUTES.toNanos(5);
+
+    // Intervalo mínimo entre reconciliações provocadas por escritas de outros nós
+    private static final long INTERVALO_RECONCILIACAO_REMOTA = TimeUnit.SECONDS.toNanos(10);
+
+    // Varredura de prazos: tarefas em andamento com deadline antes do fim da janela, pelo índice (situacao, deadline, id)
+    private static final String PRAZOS = "SELECT NEW " + TarefaResumo.class.getName()
+            + "(t.id, t.titulo, t.responsavel, t.deadline) FROM Tarefa t"
+            + " WHERE t.situacao = :emAndamento AND t.deadline < :fim";
+    private static final String PRAZOS_INICIO = PRAZOS + " ORDER BY t.deadline, t.id";
+    private static final String PRAZOS_APOS = PRAZOS
+            + " AND (t.deadline > :cursorDeadline OR (t.deadline = :cursorDeadline AND t.id > :cursorId))"
+            + " ORDER BY t.deadline, t.id";
+
+    // Reserva de um aviso de prazo: só grava se a tarefa ainda está em andamento com aquele deadline e o aviso
+    // não foi entregue; com a chave (tarefa_id, aviso, deadline), apenas um nó consegue inserir a linha
+    private static final String RESERVAR_AVISO = "INSERT INTO avisos_prazo (tarefa_id, aviso, deadline)"
+            + " SELECT t.id, :aviso, t.deadline FROM tarefas t"
+            + " WHERE t.id = :id AND t.deadline = :deadline AND t.situacao = 'EM_ANDAMENTO'"
+            + " ON CONFLICT DO NOTHING";
+
+    private static final String AGREGADO_PAINEL = "SELECT t.responsavel, t.prioridade, t.situacao, t.deadline, COUNT(t)"
+            + " FROM Tarefa t%s GROUP BY t.responsavel, t.prioridade, t.situacao, t.deadline";
+
+    // Reconciliação: detalhe só das tarefas em andamento; as demais situações entram apenas pelo total
+    private static final String AGREGADO_PAINEL_ABERTAS = String.format(AGREGADO_PAINEL, " WHERE t.situacao = :emAndamento");
+    private static final String TOTAIS_FECHADAS = "SELECT t.situacao, COUNT(t) FROM Tarefa t"
+            + " WHERE t.situacao <> :emAndamento GROUP BY t.situacao";
+
+    // O que cada consulta de listagem seleciona: a entidade inteira ou só as colunas exibidas na tabela
+    private static final Projecao<Tarefa> ENTIDADE = new Projecao<>(Tarefa.class, "t",
+            Tarefa::getId, tarefa -> CursorTarefa.de(tarefa));
+    private static final Projecao<TarefaResumo> RESUMO = new Projecao<>(TarefaResumo.class,
+            "NEW " + TarefaResumo.class.getName() + "(t.id, t.titulo, t.responsavel, t.deadline)",
+            TarefaResumo::getId, resumo -> CursorTarefa.de(resumo));
+
     private EntityManagerFactory emf;
+    // Substituído quando outro nó pede invalidação completa e o índice em memória precisa ser recarregado
+    private volatile BuscaTextual busca;
+    private CanalInvalidacao canal = CanalInvalidacao.NENHUM;
 
-    public TarefaRepository() {}
+    // Ausente fora do contêiner CDI (testes); nesse caso as alterações apenas avançam a geração
+    @Inject
+    private Event<AlteracaoTarefa> alteracoes;
 
-    // Inicializa o EntityManagerFactory logo após o CDI criar o bean.
-    @PostConstruct
-    public void init() {
-        try {
-            if (this.emf == null) {
-                System.out.println("[DB] Inicializando EntityManagerFactory (TarefaRepository.init).");
+    // Incrementada a cada escrita; permite às telas saber se a contagem que guardaram ainda vale
+    private final AtomicLong geracao = new AtomicLong();
 
-                Map<String, Object> cloudProps = resolveCloudDatabaseProperties();
+    // Contadores do painel de resumo, ajustados a cada escrita em vez de recalculados a cada exibição
+    private final ContadoresTarefas contadores = new ContadoresTarefas();
 
-                if (cloudProps != null) {
-                    System.out.println("[DB] Ambiente gerenciado detectado. Utilizando variáveis de ambiente para configurar o banco.");
-                    this.emf = Persistence.createEntityManagerFactory("tarefasPU", cloudProps);
-                } else {
-                    System.out.println("[DB] Variáveis de ambiente específicas não encontradas. Utilizando persistence.xml (ambiente local).");
-                    this.emf = Persistence.createEntityManagerFactory("tarefasPU");
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            throw new IllegalStateException("Erro ao inicializar EntityManagerFactory: " + e.getMessage(), e);
+    // Nomes de todos os responsáveis, compartilhados pelas sessões para o autocompletar
+    private final CatalogoResponsaveis catalogo = new CatalogoResponsaveis();
+
+    // Latência, linhas e falhas por operação, publicadas em /metricas
+    private final MetricasRepositorio metricas = new MetricasRepositorio();
+
+    // Construtor exigido pelo CDI para criar o proxy do escopo de aplicação.
+    protected TarefaRepository() {}
+
+    @Inject
+    public TarefaRepository(EntityManagerFactory emf) {
+        this(emf, CanalInvalidacao.criar(emf));
+    }
+
+    // Permite ligar o repositório a outro transporte de invalidação (testes com vários nós na mesma JVM).
+    TarefaRepository(EntityManagerFactory emf, CanalInvalidacao canal) {
+        this.emf = emf;
+        this.busca = BuscaTextual.criar(emf);
+        this.canal = canal;
+        carregarResponsaveis();
+        canal.assinar(this::aplicarInvalidacao);
+        precompilarConsultas();
+    }
+
+    @PreDestroy
+    void encerrar() {
+        canal.close();
+    }
+
+    // Traduz todos os formatos de listagem na inicialização; as buscas passam a reutilizar os planos prontos.
+    private void precompilarConsultas() {
+        long inicio = System.nanoTime();
+        int compilados;
+        EntityManager em = getEntityManager();
+        try {
+            compilados = ENTIDADE.consultas.precompilar(em) + RESUMO.consultas.precompilar(em)
+                    + ConsultasTarefa.precompilarCompartilhadas(em);
+        } finally {
+            em.close();
         }
+        System.out.println("[DB] " + compilados + " formatos de consulta pré-compilados em "
+                + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
     }
 
-    // Garante acesso ao EntityManager recriando o factory caso ele ainda não exista.
     private EntityManager getEntityManager() {
-        if (emf == null) {
-            System.out.println("[DB] EntityManagerFactory não inicializado. Tentando reinicializar...");
-            init();
-            if (emf == null) {
-                throw new IllegalStateException("EntityManagerFactory não foi inicializado.");
+        return emf.createEntityManager();
+    }
+
+    private void carregarResponsaveis() {
+        EntityManager em = getEntityManager();
+        try {
+            catalogo.carregar(em.createQuery("SELECT r.nome FROM Responsavel r", String.class).getResultList());
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Até {@code limite} responsáveis com alguma palavra do nome começando pelo texto (sem distinção de acentos),
+     * respondidos pelo catálogo em memória, sem ir ao banco.
+     */
+    public List<String> sugerirResponsaveis(String texto, int limite) {
+        long inicio = System.nanoTime();
+        List<String> sugestoes = catalogo.sugerir(texto, limite);
+        metricas.registrar(Operacao.SUGERIR_RESPONSAVEIS, inicio, sugestoes.size());
+        return sugestoes;
+    }
+
+    /** Contadores e histogramas das operações deste repositório. */
+    public MetricasRepositorio getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Cadastra, na transação corrente, os responsáveis das tarefas que ainda não estão no catálogo (a coluna
+     * tarefas.responsavel é chave estrangeira). O catálogo só recebe os nomes depois do commit.
+     *
+     * @return nomes desconhecidos pelo catálogo, a registrar após o commit
+     */
+    private List<String> garantirResponsaveis(EntityManager em, Collection<String> nomes) {
+        List<String> desconhecidos = new ArrayList<>();
+        for (String nome : new LinkedHashSet<>(nomes)) {
+            if (nome != null && !catalogo.contem(nome)) {
+                desconhecidos.add(nome);
             }
         }
-        return emf.createEntityManager();
+        if (desconhecidos.isEmpty()) {
+            return desconhecidos;
+        }
+        // Outro nó pode ter cadastrado o nome depois da carga do catálogo
+        Set<String> existentes = new HashSet<>();
+        for (int inicio = 0; inicio < desconhecidos.size(); inicio += LIMITE_IN) {
+            existentes.addAll(em.createQuery("SELECT r.nome FROM Responsavel r WHERE r.nome IN :nomes", String.class)
+                    .setParameter("nomes", desconhecidos.subList(inicio, Math.min(inicio + LIMITE_IN, desconhecidos.size())))
+                    .getResultList());
+        }
+        desconhecidos.stream().filter(nome -> !existentes.contains(nome)).forEach(nome -> em.persist(new Responsavel(nome)));
+        // Os responsáveis precisam chegar ao banco antes das tarefas que os referenciam
+        em.flush();
+        return desconhecidos;
     }
 
     public void salvar(Tarefa tarefa) {
+        long inicio = System.nanoTime();
         EntityManager em = getEntityManager();
         try {
             em.getTransaction().begin();
+            List<String> novos = garantirResponsaveis(em, List.of(tarefa.getResponsavel()));
             em.persist(tarefa);
             em.getTransaction().commit();
+            catalogo.registrar(novos);
+            contadores.somar(ContadoresTarefas.Linha.de(tarefa), 1);
+            busca.indexar(tarefa);
+            publicar(AlteracaoTarefa.comTarefas(AlteracaoTarefa.Tipo.INCLUSAO, List.of(tarefa)));
+            metricas.registrar(Operacao.SALVAR, inicio, 1);
+        } catch (RuntimeException e) {
+            desfazer(em);
+            metricas.registrarFalha(Operacao.SALVAR, inicio);
+            throw e;
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Grava várias tarefas em uma única transação. O contexto é descarregado a cada
+     * {@link #TAMANHO_LOTE_JDBC} entidades, o que gera um lote JDBC por bloco e mantém a memória constante.
+     */
+    public void salvarLote(List<Tarefa> tarefas) {
+        long inicio = System.nanoTime();
+        EntityManager em = getEntityManager();
+        try {
+            em.getTransaction().begin();
+            List<String> novos = garantirResponsaveis(em,
+                    tarefas.stream().map(Tarefa::getResponsavel).collect(Collectors.toList()));
+            for (int i = 0; i < tarefas.size(); i++) {
+                em.persist(tarefas.get(i));
+                if ((i + 1) % TAMANHO_LOTE_JDBC == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            catalogo.registrar(novos);
+            tarefas.forEach(tarefa -> contadores.somar(ContadoresTarefas.Linha.de(tarefa), 1));
+            tarefas.forEach(busca::indexar);
+            publicar(AlteracaoTarefa.comTarefas(AlteracaoTarefa.Tipo.INCLUSAO, tarefas));
+            metricas.registrar(Operacao.SALVAR_LOTE, inicio, tarefas.size());
+        } catch (RuntimeException e) {
+            desfazer(em);
+            metricas.registrarFalha(Operacao.SALVAR_LOTE, inicio);
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Grava as alterações de uma tarefa editada fora do contexto de persistência. Apenas as colunas alteradas
+     * entram no UPDATE, condicionado à versão lida na edição.
+     *
+     * @throws OptimisticLockException se outra sessão alterou ou removeu a tarefa desde essa leitura
+     */
     public void atualizar(Tarefa tarefa) {
+        long inicio = System.nanoTime();
         EntityManager em = getEntityManager();
         try {
             em.getTransaction().begin();
-            em.merge(tarefa);
+            Tarefa atual = tarefa.getId() != null ? em.find(Tarefa.class, tarefa.getId()) : null;
+            if (tarefa.getVersao() != null && atual == null) {
+                throw new OptimisticLockException("A tarefa " + tarefa.getId() + " foi removida.");
+            }
+            // Valores antes do merge, que os copia para a instância gerenciada
+            ContadoresTarefas.Linha anterior = atual != null ? ContadoresTarefas.Linha.de(atual) : null;
+            List<String> novos = garantirResponsaveis(em, List.of(tarefa.getResponsavel()));
+            Tarefa gravada = em.merge(tarefa);
             em.getTransaction().commit();
+            catalogo.registrar(novos);
+            if (anterior != null) {
+                contadores.somar(anterior, -1);
+            }
+            contadores.somar(ContadoresTarefas.Linha.de(gravada), 1);
+            // A entidade editada passa a carregar a nova versão
+            tarefa.setVersao(gravada.getVersao());
+            busca.indexar(gravada);
+            publicar(AlteracaoTarefa.comTarefas(AlteracaoTarefa.Tipo.ATUALIZACAO, List.of(gravada)));
+            metricas.registrar(Operacao.ATUALIZAR, inicio, 1);
+        } catch (RollbackException e) {
+            metricas.registrarTransacaoDesfeita();
+            metricas.registrarFalha(Operacao.ATUALIZAR, inicio);
+            // Conflito detectado só no flush do commit chega embrulhado
+            if (e.getCause() instanceof OptimisticLockException) {
+                metricas.registrarConflitoVersao();
+                throw (OptimisticLockException) e.getCause();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            desfazer(em);
+            if (e instanceof OptimisticLockException) {
+                metricas.registrarConflitoVersao();
+            }
+            metricas.registrarFalha(Operacao.ATUALIZAR, inicio);
+            throw e;
         } finally {
             em.close();
         }
     }
 
     public void remover(Long id) {
+        long inicio = System.nanoTime();
         EntityManager em = getEntityManager();
         try {
             em.getTransaction().begin();
@@ -85,25 +315,309 @@ public class TarefaRepository {
                 em.remove(tarefa);
             }
             em.getTransaction().commit();
+            // Id inexistente (já removido em outra tela): nada a avisar nem a recontar
+            if (tarefa != null) {
+                contadores.somar(ContadoresTarefas.Linha.de(tarefa), -1);
+                busca.remover(id);
+                publicar(AlteracaoTarefa.comIds(AlteracaoTarefa.Tipo.REMOCAO, List.of(id)));
+            }
+            metricas.registrar(Operacao.REMOVER, inicio, tarefa != null ? 1 : 0);
+        } catch (RuntimeException e) {
+            desfazer(em);
+            metricas.registrarFalha(Operacao.REMOVER, inicio);
+            throw e;
         } finally {
             em.close();
         }
     }
 
+    /**
+     * Marca como concluídas, com um único {@code UPDATE ... WHERE id IN (...)}, as tarefas ainda em andamento.
+     * A condição sobre a situação dispensa ler a tarefa antes (sem corrida entre leitura e escrita) e a versão é
+     * incrementada para que edições abertas antes da conclusão sejam recusadas. O Hibernate invalida as regiões
+     * de cache de {@link Tarefa} após a operação em massa.
+     *
+     * @return quantidade de tarefas efetivamente alteradas
+     */
+    public int concluir(Collection<Long> ids) {
+        long inicio = System.nanoTime();
+        try {
+            Map<ContadoresTarefas.Linha, Long> afetadas = agruparPorIds(ids, true);
+            int concluidas = executarEmMassa(ids, "UPDATE Tarefa t SET t.situacao = :concluida, t.versao = t.versao + 1"
+                    + " WHERE t.id IN :ids AND t.situacao = :emAndamento", query -> query
+                    .setParameter("concluida", Tarefa.Situacao.CONCLUIDA)
+                    .setParameter("emAndamento", Tarefa.Situacao.EM_ANDAMENTO));
+            aplicarEmMassa(afetadas, concluidas, linha -> linha.comSituacao(Tarefa.Situacao.CONCLUIDA));
+            if (concluidas > 0) {
+                publicar(AlteracaoTarefa.comIds(AlteracaoTarefa.Tipo.CONCLUSAO, new ArrayList<>(ids)));
+            }
+            metricas.registrar(Operacao.CONCLUIR, inicio, concluidas);
+            return concluidas;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.CONCLUIR, inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Remove as tarefas com um único {@code DELETE ... WHERE id IN (...)}, sem carregá-las antes.
+     *
+     * @return quantidade de tarefas removidas
+     */
+    public int removerTodas(Collection<Long> ids) {
+        long inicio = System.nanoTime();
+        try {
+            Map<ContadoresTarefas.Linha, Long> afetadas = agruparPorIds(ids, false);
+            int removidas = executarEmMassa(ids, "DELETE FROM Tarefa t WHERE t.id IN :ids", query -> query);
+            aplicarEmMassa(afetadas, removidas, linha -> null);
+            ids.forEach(busca::remover);
+            if (removidas > 0) {
+                publicar(AlteracaoTarefa.comIds(AlteracaoTarefa.Tipo.REMOCAO, new ArrayList<>(ids)));
+            }
+            metricas.registrar(Operacao.REMOVER_TODAS, inicio, removidas);
+            return removidas;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.REMOVER_TODAS, inicio);
+            throw e;
+        }
+    }
+
+    /**
+     * Contadores do painel de resumo. Vêm da memória, ajustados a cada escrita deste nó; o banco só é consultado
+     * na primeira exibição, quando a última reconciliação passou de cinco minutos e, havendo escritas de outros
+     * nós, no máximo a cada dez segundos.
+     */
+    public PainelTarefas painel() {
+        long inicio = System.nanoTime();
+        try {
+            if (contadores.iniciarReconciliacao(inicio, INTERVALO_RECONCILIACAO, INTERVALO_RECONCILIACAO_REMOTA)) {
+                reconciliarContadores();
+            }
+            PainelTarefas painel = contadores.painel(LocalDate.now());
+            metricas.registrar(Operacao.PAINEL, inicio, 0);
+            return painel;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.PAINEL, inicio);
+            throw e;
+        }
+    }
+
+    // Recarrega os contadores: grupos das tarefas em andamento e um total por situação para as demais. O número
+    // de grupos acompanha as tarefas abertas, não a tabela inteira.
+    private void reconciliarContadores() {
+        long inicio = System.nanoTime();
+        try {
+            Map<ContadoresTarefas.Linha, Long> grupos = agrupar(AGREGADO_PAINEL_ABERTAS,
+                    query -> query.setParameter("emAndamento", Tarefa.Situacao.EM_ANDAMENTO));
+            EntityManager em = getEntityManager();
+            try {
+                for (Object[] total : em.createQuery(TOTAIS_FECHADAS, Object[].class)
+                        .setParameter("emAndamento", Tarefa.Situacao.EM_ANDAMENTO).getResultList()) {
+                    grupos.put(ContadoresTarefas.Linha.fechada((Tarefa.Situacao) total[0]), (Long) total[1]);
+                }
+            } finally {
+                em.close();
+            }
+            contadores.recarregar(new ArrayList<>(grupos.keySet()), new ArrayList<>(grupos.values()), System.nanoTime());
+            System.out.println("[DB] Contadores do painel reconciliados (" + grupos.size() + " grupos) em "
+                    + (System.nanoTime() - inicio) / 1_000_000 + " ms.");
+        } catch (RuntimeException e) {
+            contadores.cancelarReconciliacao();
+            throw e;
+        }
+    }
+
+    // Contribuição atual das tarefas que uma operação em massa vai alterar, lida antes da instrução.
+    private Map<ContadoresTarefas.Linha, Long> agruparPorIds(Collection<Long> ids, boolean apenasEmAndamento) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<ContadoresTarefas.Linha, Long> grupos = new HashMap<>();
+        String condicao = " WHERE t.id IN :ids" + (apenasEmAndamento ? " AND t.situacao = :emAndamento" : "");
+        for (int inicio = 0; inicio < distintos.size(); inicio += LIMITE_IN) {
+            List<Long> bloco = distintos.subList(inicio, Math.min(inicio + LIMITE_IN, distintos.size()));
+            agrupar(String.format(AGREGADO_PAINEL, condicao), query -> {
+                query.setParameter("ids", bloco);
+                if (apenasEmAndamento) {
+                    query.setParameter("emAndamento", Tarefa.Situacao.EM_ANDAMENTO);
+                }
+            }).forEach((linha, quantidade) -> grupos.merge(linha, quantidade, Long::sum));
+        }
+        return grupos;
+    }
+
+    private Map<ContadoresTarefas.Linha, Long> agrupar(String jpql, Consumer<TypedQuery<Object[]>> parametros) {
+        EntityManager em = getEntityManager();
+        try {
+            TypedQuery<Object[]> query = em.createQuery(jpql, Object[].class);
+            if (parametros != null) {
+                parametros.accept(query);
+            }
+            Map<ContadoresTarefas.Linha, Long> grupos = new LinkedHashMap<>();
+            for (Object[] linha : query.getResultList()) {
+                grupos.put(new ContadoresTarefas.Linha((String) linha[0], (Tarefa.Prioridade) linha[1],
+                        (Tarefa.Situacao) linha[2], (LocalDate) linha[3]), (Long) linha[4]);
+            }
+            return grupos;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Move a contribuição lida antes da operação em massa para o novo estado ({@code null} = removida). Se outra
+     * escrita alterou as mesmas tarefas entre a leitura e a instrução, as quantidades não batem e os contadores
+     * são reconciliados na próxima exibição.
+     */
+    private void aplicarEmMassa(Map<ContadoresTarefas.Linha, Long> afetadas, int alteradas,
+                                UnaryOperator<ContadoresTarefas.Linha> novoEstado) {
+        long lidas = afetadas.values().stream().mapToLong(Long::longValue).sum();
+        if (lidas != alteradas) {
+            contadores.marcarDesatualizado();
+            return;
+        }
+        afetadas.forEach((linha, quantidade) -> {
+            contadores.somar(linha, -quantidade);
+            ContadoresTarefas.Linha destino = novoEstado.apply(linha);
+            if (destino != null) {
+                contadores.somar(destino, quantidade);
+            }
+        });
+    }
+
+    /** Número de escritas confirmadas desde a inicialização. */
+    public long getGeracao() {
+        return geracao.get();
+    }
+
+    private void publicar(AlteracaoTarefa alteracao) {
+        notificarTelas(alteracao);
+        canal.publicar(Invalidacao.de(alteracao));
+    }
+
+    private void notificarTelas(AlteracaoTarefa alteracao) {
+        geracao.incrementAndGet();
+        if (alteracoes != null) {
+            alteracoes.fire(alteracao);
+        }
+    }
+
+    /**
+     * Trata a escrita feita por outro nó: descarta as tarefas afetadas do cache de segundo nível e todo o cache
+     * de consultas (os timestamps locais não enxergam escritas remotas), atualiza o índice de busca e repassa a
+     * alteração às telas abertas neste nó.
+     */
+    private void aplicarInvalidacao(Invalidacao invalidacao) {
+        // Não se sabe o estado anterior das tarefas alteradas em outro nó; o painel relê o banco mais tarde
+        contadores.marcarAlteracaoRemota();
+        Cache cache = emf.getCache();
+        if (invalidacao.isCompleta()) {
+            cache.evict(Tarefa.class);
+        } else {
+            invalidacao.getIds().forEach(id -> cache.evict(Tarefa.class, id));
+        }
+        emf.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        if (invalidacao.isCompleta()) {
+            busca = BuscaTextual.criar(emf);
+            carregarResponsaveis();
+            geracao.incrementAndGet();
+            return;
+        }
+        switch (invalidacao.getTipo()) {
+            case INCLUSAO:
+            case ATUALIZACAO:
+                List<Tarefa> tarefas = recarregar(invalidacao.getIds());
+                catalogo.registrar(tarefas.stream().map(Tarefa::getResponsavel).collect(Collectors.toList()));
+                tarefas.forEach(busca::indexar);
+                notificarTelas(AlteracaoTarefa.comTarefas(invalidacao.getTipo(), tarefas));
+                break;
+            case REMOCAO:
+                invalidacao.getIds().forEach(busca::remover);
+                notificarTelas(AlteracaoTarefa.comIds(invalidacao.getTipo(), invalidacao.getIds()));
+                break;
+            default:
+                notificarTelas(AlteracaoTarefa.comIds(invalidacao.getTipo(), invalidacao.getIds()));
+        }
+    }
+
+    // Lê do banco (o cache acabou de ser descartado) as tarefas gravadas por outro nó.
+    private List<Tarefa> recarregar(List<Long> ids) {
+        EntityManager em = getEntityManager();
+        try {
+            List<Tarefa> tarefas = new ArrayList<>();
+            for (int inicio = 0; inicio < ids.size(); inicio += LIMITE_IN) {
+                tarefas.addAll(em.createQuery(ENTIDADE.consultas.porIds(), Tarefa.class)
+                        .setParameter("ids", ids.subList(inicio, Math.min(inicio + LIMITE_IN, ids.size())))
+                        .getResultList());
+            }
+            return tarefas;
+        } finally {
+            em.close();
+        }
+    }
+
+    // Executa a instrução em uma transação, em blocos de LIMITE_IN ids para respeitar o limite de parâmetros do driver.
+    private int executarEmMassa(Collection<Long> ids, String jpql, UnaryOperator<Query<?>> parametros) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        EntityManager em = getEntityManager();
+        try {
+            em.getTransaction().begin();
+            int afetadas = 0;
+            for (int inicio = 0; inicio < distintos.size(); inicio += LIMITE_IN) {
+                Query<?> query = em.createQuery(jpql).unwrap(Query.class);
+                parametros.apply(query).setParameterList("ids", distintos.subList(inicio,
+                        Math.min(inicio + LIMITE_IN, distintos.size())));
+                afetadas += query.executeUpdate();
+            }
+            em.getTransaction().commit();
+            return afetadas;
+        } catch (RuntimeException e) {
+            desfazer(em);
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    // Desfaz a transação ainda aberta após uma falha e a conta nas métricas.
+    private void desfazer(EntityManager em) {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+            metricas.registrarTransacaoDesfeita();
+        }
+    }
+
     public Tarefa buscarPorId(Long id) {
+        long inicio = System.nanoTime();
         EntityManager em = getEntityManager();
         try {
-            return em.find(Tarefa.class, id);
+            Tarefa tarefa = em.find(Tarefa.class, id);
+            metricas.registrar(Operacao.BUSCAR_POR_ID, inicio, tarefa != null ? 1 : 0);
+            return tarefa;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.BUSCAR_POR_ID, inicio);
+            throw e;
         } finally {
             em.close();
         }
     }
 
     public List<Tarefa> listarTodas() {
+        long inicio = System.nanoTime();
         EntityManager em = getEntityManager();
         try {
             TypedQuery<Tarefa> query = em.createQuery("SELECT t FROM Tarefa t", Tarefa.class);
-            return query.getResultList();
+            List<Tarefa> tarefas = query.getResultList();
+            metricas.registrar(Operacao.LISTAR_TODAS, inicio, tarefas.size());
+            return tarefas;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.LISTAR_TODAS, inicio);
+            throw e;
         } finally {
             em.close();
         }
@@ -111,210 +625,388 @@ public class TarefaRepository {
 
     /**
      * Monta uma consulta JPQL adaptando os filtros informados sem exigir todos os parâmetros.
+     * O filtro de título/descrição usa a {@link BuscaTextual} (prefixo, sem acentos) em vez de LIKE.
      */
     public List<Tarefa> filtrar(Long id, String tituloOuDescricao, String responsavel,
                                 Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        return filtrar(id, tituloOuDescricao, responsavel, prioridade, situacao, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Versão paginada de {@link #filtrar(Long, String, String, Tarefa.Prioridade, Tarefa.Situacao)}:
+     * o banco devolve apenas as linhas da página solicitada, ordenadas por {@code (deadline, id)}.
+     * Com busca textual, a ordem passa a ser a relevância calculada pela {@link BuscaTextual}.
+     */
+    public List<Tarefa> filtrar(Long id, String tituloOuDescricao, String responsavel,
+                                Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                int primeiro, int quantidade) {
+        return consultar(Operacao.FILTRAR, ENTIDADE, id, tituloOuDescricao, responsavel, prioridade, situacao,
+                primeiro, quantidade);
+    }
+
+    /**
+     * Mesma página de {@link #filtrar(Long, String, String, Tarefa.Prioridade, Tarefa.Situacao, int, int)}, mas
+     * apenas com as colunas da tabela. As linhas não entram no contexto de persistência e a descrição não é lida.
+     */
+    public List<TarefaResumo> resumir(Long id, String tituloOuDescricao, String responsavel,
+                                      Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                      int primeiro, int quantidade) {
+        return consultar(Operacao.RESUMIR, RESUMO, id, tituloOuDescricao, responsavel, prioridade, situacao,
+                primeiro, quantidade);
+    }
+
+    private <T> List<T> consultar(Operacao operacao, Projecao<T> projecao, Long id, String tituloOuDescricao,
+                                  String responsavel, Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                  int primeiro, int quantidade) {
+        long inicio = System.nanoTime();
+        try {
+            List<T> resultado = consultar(projecao, id, tituloOuDescricao, responsavel, prioridade, situacao,
+                    primeiro, quantidade);
+            metricas.registrar(operacao, inicio, resultado.size());
+            return resultado;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(operacao, inicio);
+            throw e;
+        }
+    }
+
+    private <T> List<T> consultar(Projecao<T> projecao, Long id, String tituloOuDescricao, String responsavel,
+                                  Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                  int primeiro, int quantidade) {
+
+        CriteriosBusca criterios = criteriosBusca(id, tituloOuDescricao, responsavel, prioridade, situacao);
+        if (criterios != null) {
+            return filtrarPorRelevancia(projecao, criterios, primeiro, quantidade);
+        }
 
         EntityManager em = getEntityManager();
 
         try {
-            StringBuilder jpql = new StringBuilder("SELECT t FROM Tarefa t WHERE 1=1");
 
-            if (id != null) {
-                jpql.append(" AND t.id = :id");
-            }
-            if (tituloOuDescricao != null && !tituloOuDescricao.isEmpty()) {
-                jpql.append(" AND (LOWER(t.titulo) LIKE LOWER(:titulo) OR LOWER(t.descricao) LIKE LOWER(:titulo))");
-            }
-            if (responsavel != null && !responsavel.isEmpty()) {
-                jpql.append(" AND LOWER(t.responsavel) = LOWER(:responsavel)");
-            }
-            if (prioridade != null) {
-                jpql.append(" AND t.prioridade = :prioridade");
-            }
-            if (situacao != null) {
-                jpql.append(" AND t.situacao = :situacao");
+            String jpql = projecao.consultas.lista(ConsultasTarefa.mascara(id, null, responsavel, prioridade, situacao));
+
+            TypedQuery<T> query = em.createQuery(jpql, projecao.tipo);
+            ConsultasTarefa.aplicarParametros(query, id, null, responsavel, prioridade, situacao);
+            query.setFirstResult(primeiro);
+            if (quantidade != Integer.MAX_VALUE) {
+                query.setMaxResults(quantidade);
             }
 
-            TypedQuery<Tarefa> query = em.createQuery(jpql.toString(), Tarefa.class);
+            return query.getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Conta as tarefas que atendem aos filtros, usada para dimensionar o paginador da tabela. */
+    public long contar(Long id, String tituloOuDescricao, String responsavel,
+                       Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        long inicio = System.nanoTime();
+        try {
+            long total = contar(criteriosBusca(id, tituloOuDescricao, responsavel, prioridade, situacao),
+                    id, responsavel, prioridade, situacao);
+            metricas.registrar(Operacao.CONTAR, inicio, 1);
+            return total;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.CONTAR, inicio);
+            throw e;
+        }
+    }
 
-            if (id != null) query.setParameter("id", id);
-            if (tituloOuDescricao != null && !tituloOuDescricao.isEmpty())
-                query.setParameter("titulo", "%" + tituloOuDescricao + "%");
-            if (responsavel != null && !responsavel.isEmpty())
-                query.setParameter("responsavel", responsavel);
-            if (prioridade != null) query.setParameter("prioridade", prioridade);
-            if (situacao != null) query.setParameter("situacao", situacao);
+    private long contar(CriteriosBusca criterios, Long id, String responsavel,
+                        Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        // Com busca textual, o total vem da própria busca com os demais filtros, sem limite de resultados
+        if (criterios != null) {
+            return busca.contar(criterios);
+        }
 
-            return query.getResultList();
+        EntityManager em = getEntityManager();
+
+        try {
+            String jpql = ConsultasTarefa.contagem(ConsultasTarefa.mascara(id, null, responsavel, prioridade, situacao));
+
+            TypedQuery<Long> query = em.createQuery(jpql, Long.class);
+            ConsultasTarefa.aplicarParametros(query, id, null, responsavel, prioridade, situacao);
+            return query.getSingleResult();
         } finally {
             em.close();
         }
     }
 
     /**
-     * Resolve configurações de banco para ambientes Heroku/Render baseadas em variáveis de ambiente.
+     * Entrega ao consumidor, uma a uma e na ordem {@code (deadline, id)}, todas as tarefas que atendem aos filtros.
+     * Usa uma sessão sem estado e um cursor do banco com fetch size fixo, então a memória não cresce com o
+     * tamanho do resultado. Com busca textual, a {@link BuscaTextual} entrega os ids na mesma ordem, em blocos, e
+     * cada bloco é lido pelos ids.
+     *
+     * @return quantidade de tarefas entregues
      */
-    private Map<String, Object> resolveCloudDatabaseProperties() {
+    public long percorrer(Long id, String tituloOuDescricao, String responsavel,
+                          Tarefa.Prioridade prioridade, Tarefa.Situacao situacao, Consumer<Tarefa> consumidor) {
+        long inicio = System.nanoTime();
+
+        CriteriosBusca criterios = criteriosBusca(id, tituloOuDescricao, responsavel, prioridade, situacao);
+        StatelessSession sessao = emf.unwrap(SessionFactory.class).openStatelessSession();
         try {
-            Map<String, String> env = System.getenv();
-            String jdbcUrlVar = trimToNull(env.get("JDBC_DATABASE_URL"));
-            String databaseUrlVar = trimToNull(env.get("DATABASE_URL"));
-            String jdbcUserVar = trimToNull(env.get("JDBC_DATABASE_USERNAME"));
-            String jdbcPassVar = trimToNull(env.get("JDBC_DATABASE_PASSWORD"));
-
-            DatabaseCredentials credentials = null;
-
-            // Preferência: URL já em formato JDBC -> URL estilo Heroku -> peças PGHOST/PGDATABASE.
-            if (jdbcUrlVar != null) {
-                credentials = parseDatabaseUrl(jdbcUrlVar, true);
-                System.out.println("[DB] Usando JDBC_DATABASE_URL.");
-            } else if (databaseUrlVar != null) {
-                credentials = parseDatabaseUrl(databaseUrlVar, false);
-                System.out.println("[DB] Usando DATABASE_URL.");
+            // O PostgreSQL só usa cursor (fetch size) dentro de uma transação
+            sessao.beginTransaction();
+            long entregues;
+            if (criterios != null) {
+                long[] total = new long[1];
+                busca.percorrerPorPrazo(criterios, TAMANHO_FETCH_EXPORTACAO, ids -> {
+                    List<Tarefa> bloco = sessao.createQuery(ENTIDADE.consultas.porIds(), Tarefa.class)
+                            .setParameter("ids", ids)
+                            .setReadOnly(true)
+                            .getResultList();
+                    ordenarComo(ids, bloco, ENTIDADE).forEach(consumidor);
+                    total[0] += bloco.size();
+                });
+                entregues = total[0];
             } else {
-                credentials = resolveFromPgPieces(env);
-                if (credentials != null) {
-                    System.out.println("[DB] Usando variáveis PGHOST/PGDATABASE.");
+                Query<Tarefa> query = sessao.createQuery(ENTIDADE.consultas.lista(
+                        ConsultasTarefa.mascara(id, null, responsavel, prioridade, situacao)), Tarefa.class);
+                ConsultasTarefa.aplicarParametros(query, id, null, responsavel, prioridade, situacao);
+                query.setCacheable(false);
+                query.setReadOnly(true);
+                query.setFetchSize(TAMANHO_FETCH_EXPORTACAO);
+
+                entregues = 0;
+                try (ScrollableResults linhas = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (linhas.next()) {
+                        consumidor.accept((Tarefa) linhas.get(0));
+                        entregues++;
+                    }
                 }
             }
-
-            if (credentials == null) {
-                System.out.println("[DB] Variáveis JDBC_DATABASE_URL/DATABASE_URL/PG* não encontradas.");
-                return null;
+            sessao.getTransaction().commit();
+            metricas.registrar(Operacao.PERCORRER, inicio, entregues);
+            return entregues;
+        } catch (RuntimeException e) {
+            if (sessao.getTransaction().isActive()) {
+                sessao.getTransaction().rollback();
+                metricas.registrarTransacaoDesfeita();
             }
+            metricas.registrarFalha(Operacao.PERCORRER, inicio);
+            throw e;
+        } finally {
+            sessao.close();
+        }
+    }
 
-            String username = jdbcUserVar != null ? jdbcUserVar : credentials.username;
-            String password = jdbcPassVar != null ? jdbcPassVar : credentials.password;
-
-            if (username == null) {
-                username = trimToNull(env.get("PGUSER"));
+    /**
+     * Próximo bloco da varredura de prazos: tarefas em andamento com {@code deadline} anterior a {@code fim},
+     * na ordem {@code (deadline, id)} e posteriores à última linha do bloco anterior ({@code null} no primeiro).
+     * Cada bloco é uma busca por faixa no índice {@code (situacao, deadline, id)}, sem OFFSET e fora do cache de
+     * consultas, que não ganharia nada guardando uma varredura que não se repete.
+     */
+    public List<TarefaResumo> prazosAte(LocalDate fim, TarefaResumo apos, int quantidade) {
+        long inicio = System.nanoTime();
+        EntityManager em = getEntityManager();
+        try {
+            TypedQuery<TarefaResumo> query = em.createQuery(apos == null ? PRAZOS_INICIO : PRAZOS_APOS, TarefaResumo.class)
+                    .setParameter("emAndamento", Tarefa.Situacao.EM_ANDAMENTO)
+                    .setParameter("fim", fim)
+                    .setMaxResults(quantidade);
+            if (apos != null) {
+                query.setParameter("cursorDeadline", apos.getDeadline());
+                query.setParameter("cursorId", apos.getId());
             }
-            if (password == null) {
-                password = trimToNull(env.get("PGPASSWORD"));
+            List<TarefaResumo> bloco = query.getResultList();
+            metricas.registrar(Operacao.PRAZOS_ATE, inicio, bloco.size());
+            return bloco;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(Operacao.PRAZOS_ATE, inicio);
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Reserva o envio de um aviso de prazo ({@code VENCENDO}, {@code ATRASADA}) e devolve apenas as tarefas
+     * reservadas agora: as que já receberam esse aviso para o deadline atual (antes de um reinício ou por outro
+     * nó), as concluídas e as que mudaram de prazo ficam de fora. Uma transação por lote.
+     */
+    public List<TarefaResumo> reservarAvisos(String aviso, List<TarefaResumo> tarefas) {
+        long inicio = System.nanoTime();
+        EntityManager em = getEntityManager();
+        try {
+            em.getTransaction().begin();
+            // Sem o espaço declarado, o Hibernate esvaziaria todo o cache de segundo nível a cada INSERT nativo
+            NativeQuery<?> insercao = em.createNativeQuery(RESERVAR_AVISO).unwrap(NativeQuery.class)
+                    .addSynchronizedQuerySpace("avisos_prazo");
+            insercao.setParameter("aviso", aviso);
+            List<TarefaResumo> reservadas = new ArrayList<>(tarefas.size());
+            for (TarefaResumo tarefa : tarefas) {
+                if (insercao.setParameter("id", tarefa.getId()).setParameter("deadline", tarefa.getDeadline())
+                        .executeUpdate() > 0) {
+                    reservadas.add(tarefa);
+                }
             }
+            em.getTransaction().commit();
+            metricas.registrar(Operacao.RESERVAR_AVISOS, inicio, reservadas.size());
+            return reservadas;
+        } catch (RuntimeException e) {
+            desfazer(em);
+            metricas.registrarFalha(Operacao.RESERVAR_AVISOS, inicio);
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
 
-            Map<String, Object> props = new HashMap<>();
-            // Completa o conjunto de propriedades enviadas ao Hibernate quando estivermos na nuvem.
-            props.put("javax.persistence.jdbc.driver", "org.postgresql.Driver");
-            props.put("javax.persistence.jdbc.url", credentials.jdbcUrl);
+    /**
+     * Paginação por cursor (keyset): devolve as tarefas posteriores ao cursor na ordem {@code (deadline, id)}.
+     * Um cursor nulo inicia na primeira página. O custo não cresce com a profundidade, ao contrário do OFFSET.
+     * A busca textual aqui apenas restringe o conjunto; a ordem continua sendo a do cursor.
+     */
+    public PaginaTarefas<Tarefa> filtrarApos(Long id, String tituloOuDescricao, String responsavel,
+                                             Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                             String cursor, int quantidade) {
+        return filtrarPorCursor(Operacao.FILTRAR_CURSOR, ENTIDADE, id, tituloOuDescricao, responsavel, prioridade, situacao, cursor, quantidade, true);
+    }
 
-            if (username != null) {
-                props.put("javax.persistence.jdbc.user", username);
-            }
-            if (password != null) {
-                props.put("javax.persistence.jdbc.password", password);
-            }
+    /** Navega para trás a partir do cursor, devolvendo a página imediatamente anterior a ele. */
+    public PaginaTarefas<Tarefa> filtrarAntes(Long id, String tituloOuDescricao, String responsavel,
+                                              Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                              String cursor, int quantidade) {
+        return filtrarPorCursor(Operacao.FILTRAR_CURSOR, ENTIDADE, id, tituloOuDescricao, responsavel, prioridade, situacao, cursor, quantidade, false);
+    }
 
-            props.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
-            props.put("hibernate.hbm2ddl.auto", "create");
-            props.put("hibernate.show_sql", "false");
-            props.put("hibernate.format_sql", "false");
+    /** Versão de {@link #filtrarApos} que traz apenas as colunas exibidas na tabela. */
+    public PaginaTarefas<TarefaResumo> resumirApos(Long id, String tituloOuDescricao, String responsavel,
+                                                   Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                   String cursor, int quantidade) {
+        return filtrarPorCursor(Operacao.RESUMIR_CURSOR, RESUMO, id, tituloOuDescricao, responsavel, prioridade, situacao, cursor, quantidade, true);
+    }
 
-            return props;
-        } catch (URISyntaxException ex) {
-            System.err.println("[DB] Não foi possível interpretar as variáveis de ambiente do banco: " + ex.getMessage());
-            return null;
-        }
+    /** Versão de {@link #filtrarAntes} que traz apenas as colunas exibidas na tabela. */
+    public PaginaTarefas<TarefaResumo> resumirAntes(Long id, String tituloOuDescricao, String responsavel,
+                                                    Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                    String cursor, int quantidade) {
+        return filtrarPorCursor(Operacao.RESUMIR_CURSOR, RESUMO, id, tituloOuDescricao, responsavel, prioridade, situacao, cursor, quantidade, false);
     }
 
-    // Converte as URLs suportadas (jdbc, postgres://, postgresql://) para um JDBC completo + sslmode.
-    private DatabaseCredentials parseDatabaseUrl(String rawUrl, boolean alreadyJdbc) throws URISyntaxException {
-        String sanitized = trimToNull(rawUrl);
-        if (sanitized == null) {
-            return null;
+    private <T> PaginaTarefas<T> filtrarPorCursor(Operacao operacao, Projecao<T> projecao, Long id,
+                                                  String tituloOuDescricao, String responsavel,
+                                                  Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                  String cursor, int quantidade, boolean avancar) {
+        long inicio = System.nanoTime();
+        try {
+            PaginaTarefas<T> pagina = filtrarPorCursor(projecao, id, tituloOuDescricao, responsavel, prioridade, situacao,
+                    cursor, quantidade, avancar);
+            metricas.registrar(operacao, inicio, pagina.getTarefas().size());
+            return pagina;
+        } catch (RuntimeException e) {
+            metricas.registrarFalha(operacao, inicio);
+            throw e;
         }
+    }
 
-        String jdbcCandidate = sanitized;
-        if (!alreadyJdbc) {
-            if (jdbcCandidate.startsWith("postgres://")) {
-                jdbcCandidate = "jdbc:postgresql://" + jdbcCandidate.substring("postgres://".length());
-            } else if (jdbcCandidate.startsWith("postgresql://")) {
-                jdbcCandidate = "jdbc:" + jdbcCandidate;
-            }
-        }
+    private <T> PaginaTarefas<T> filtrarPorCursor(Projecao<T> projecao, Long id, String tituloOuDescricao, String responsavel,
+                                                  Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                  String cursor, int quantidade, boolean avancar) {
+        CursorTarefa posicao = cursor != null ? CursorTarefa.decodificar(cursor) : null;
+        CriteriosBusca criterios = criteriosBusca(id, tituloOuDescricao, responsavel, prioridade, situacao);
 
-        URI uri = new URI(stripJdbcPrefix(jdbcCandidate));
+        EntityManager em = getEntityManager();
 
-        StringBuilder jdbcBuilder = new StringBuilder("jdbc:postgresql://")
-                .append(uri.getHost());
+        try {
+            // Uma linha extra indica se existe outra página na direção percorrida
+            List<T> resultado;
+            if (criterios != null) {
+                resultado = carregarPorIds(em, projecao, busca.buscarPorPrazo(criterios, posicao, avancar, quantidade + 1));
+            } else {
+                String jpql = projecao.consultas.cursor(ConsultasTarefa.mascara(id, null, responsavel, prioridade, situacao),
+                        posicao != null, avancar);
+
+                TypedQuery<T> query = em.createQuery(jpql, projecao.tipo);
+                ConsultasTarefa.aplicarParametros(query, id, null, responsavel, prioridade, situacao);
+                if (posicao != null) {
+                    query.setParameter("cursorDeadline", posicao.getDeadline());
+                    query.setParameter("cursorId", posicao.getId());
+                }
+                query.setMaxResults(quantidade + 1);
+                resultado = new ArrayList<>(query.getResultList());
+            }
+            boolean haMais = resultado.size() > quantidade;
+            if (haMais) {
+                resultado.remove(quantidade);
+            }
+            if (!avancar) {
+                Collections.reverse(resultado);
+            }
 
-        if (uri.getPort() != -1) {
-            jdbcBuilder.append(":").append(uri.getPort());
-        }
+            if (resultado.isEmpty()) {
+                return new PaginaTarefas<>(resultado, null, null);
+            }
 
-        if (uri.getPath() != null) {
-            jdbcBuilder.append(uri.getPath());
-        }
+            String primeiro = projecao.cursor.apply(resultado.get(0)).codificar();
+            String ultimo = projecao.cursor.apply(resultado.get(resultado.size() - 1)).codificar();
+            boolean temAnterior = avancar ? posicao != null : haMais;
+            boolean temProxima = avancar ? haMais : posicao != null;
 
-        if (uri.getQuery() != null && !uri.getQuery().isEmpty()) {
-            jdbcBuilder.append("?").append(uri.getQuery());
+            return new PaginaTarefas<>(resultado, temAnterior ? primeiro : null, temProxima ? ultimo : null);
+        } finally {
+            em.close();
         }
+    }
 
-        String jdbcUrl = jdbcBuilder.toString();
-        if (!jdbcUrl.contains("sslmode=")) {
-            jdbcUrl = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "sslmode=require";
+    // Página de ids já filtrada e ordenada por relevância pela busca textual; só essas linhas são lidas.
+    private <T> List<T> filtrarPorRelevancia(Projecao<T> projecao, CriteriosBusca criterios, int primeiro, int quantidade) {
+        List<Long> pagina = busca.buscar(criterios, primeiro, quantidade);
+        if (pagina.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        String username = null;
-        String password = null;
-
-        if (uri.getUserInfo() != null) {
-            String[] parts = uri.getUserInfo().split(":", 2);
-            username = parts[0];
-            if (parts.length > 1) {
-                password = parts[1];
-            }
+        EntityManager em = getEntityManager();
+        try {
+            return carregarPorIds(em, projecao, pagina);
+        } finally {
+            em.close();
         }
-
-        System.out.println("[DB] JDBC final montado: " + jdbcUrl);
-        return new DatabaseCredentials(jdbcUrl, username, password);
     }
 
-    private String trimToNull(String value) {
-        if (value == null) return null;
-        String trimmed = value.trim();
-        return trimmed.isEmpty() ? null : trimmed;
+    // Lê as tarefas dos ids informados (em lotes de LIMITE_IN) e as devolve na ordem da lista.
+    private <T> List<T> carregarPorIds(EntityManager em, Projecao<T> projecao, List<Long> ids) {
+        List<T> tarefas = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += LIMITE_IN) {
+            tarefas.addAll(em.createQuery(projecao.consultas.porIds(), projecao.tipo)
+                    .setParameter("ids", ids.subList(inicio, Math.min(inicio + LIMITE_IN, ids.size())))
+                    .getResultList());
+        }
+        return ordenarComo(ids, tarefas, projecao);
     }
 
-    private String stripJdbcPrefix(String jdbcUrl) {
-        return jdbcUrl.startsWith("jdbc:") ? jdbcUrl.substring("jdbc:".length()) : jdbcUrl;
+    private static <T> List<T> ordenarComo(List<Long> ids, List<T> tarefas, Projecao<T> projecao) {
+        Map<Long, Integer> posicoes = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            posicoes.put(ids.get(i), i);
+        }
+        tarefas.sort(Comparator.comparingInt(t -> posicoes.get(projecao.id.apply(t))));
+        return tarefas;
     }
 
-    // Fallback para plataformas que exportam variáveis PGHOST/PGDATABASE/PGPORT em vez da URL completa.
-    private DatabaseCredentials resolveFromPgPieces(Map<String, String> env) {
-        String host = trimToNull(env.get("PGHOST"));
-        String db = trimToNull(env.get("PGDATABASE"));
-
-        if (host == null || db == null) {
+    // Critérios repassados à busca textual, ou null quando o filtro de texto não foi informado.
+    private static CriteriosBusca criteriosBusca(Long id, String tituloOuDescricao, String responsavel,
+                                                 Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        if (tituloOuDescricao == null || tituloOuDescricao.trim().isEmpty()) {
             return null;
         }
-
-        String port = trimToNull(env.get("PGPORT"));
-
-        StringBuilder jdbc = new StringBuilder("jdbc:postgresql://").append(host);
-        if (port != null) {
-            jdbc.append(":").append(port);
-        }
-        jdbc.append("/").append(db);
-
-        String extraOptions = trimToNull(env.get("PGSSLMODE"));
-        jdbc.append("?sslmode=").append(extraOptions != null ? extraOptions : "require");
-
-        System.out.println("[DB] Montando JDBC a partir de PGHOST/PGDATABASE.");
-        return new DatabaseCredentials(jdbc.toString(), null, null);
+        return new CriteriosBusca(tituloOuDescricao, id, responsavel, prioridade, situacao);
     }
 
-    // Estrutura simples para transporte das credenciais derivadas das variáveis de ambiente.
-    private static class DatabaseCredentials {
-        private final String jdbcUrl;
-        private final String username;
-        private final String password;
-
-        private DatabaseCredentials(String jdbcUrl, String username, String password) {
-            this.jdbcUrl = jdbcUrl;
-            this.username = username;
-            this.password = password;
+    // Tipo de resultado de uma listagem, os textos JPQL de seus formatos e como obter dele o id e a posição do cursor.
+    private static final class Projecao<T> {
+        final Class<T> tipo;
+        final ConsultasTarefa consultas;
+        final Function<T, Long> id;
+        final Function<T, CursorTarefa> cursor;
+
+        Projecao(Class<T> tipo, String selecao, Function<T, Long> id, Function<T, CursorTarefa> cursor) {
+            this.tipo = tipo;
+            this.consultas = new ConsultasTarefa(selecao);
+            this.id = id;
+            this.cursor = cursor;
         }
     }
 }
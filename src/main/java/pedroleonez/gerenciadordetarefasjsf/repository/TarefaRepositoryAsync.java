@@ -0,0 +1,312 @@
+package pedroleonez.gerenciadordetarefasjsf.repository;
+
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Versão assíncrona do {@link TarefaRepository}: cada operação roda em um executor próprio, com tamanho fixo,
+ * e devolve um {@link CompletableFuture}. Filtros longos e exportações deixam de ocupar as threads do Tomcat.
+ * A fila é limitada. Sem vaga, o futuro já nasce falho com {@link RejectedExecutionException}, e quem chama
+ * decide entre executar de forma síncrona ou recusar a requisição.
+ * Configuração: {@code REPOSITORIO_ASYNC_THREADS} (padrão 8, não deve passar do pool JDBC),
+ * {@code REPOSITORIO_ASYNC_FILA} (100), {@code REPOSITORIO_ASYNC_LONGAS} (operações longas simultâneas, padrão
+ * 1/4 das threads) e {@code REPOSITORIO_ASYNC_VIRTUAIS} ({@code true} usa threads virtuais quando o JDK as
+ * oferece; a concorrência continua limitada ao número de threads configurado).
+ */
+@ApplicationScoped
+public class TarefaRepositoryAsync {
+
+    private TarefaRepository repository;
+    private ExecutorService executor;
+    private boolean virtuais;
+
+    // Vagas = operações em execução + aguardando; limita a fila mesmo com threads virtuais
+    private Semaphore vagas;
+    // Com threads virtuais, limita quantas operações usam conexões JDBC ao mesmo tempo
+    private Semaphore execucao;
+    // Operações longas (exportações) em execução ao mesmo tempo; o restante das threads fica para a tela
+    private Semaphore longas;
+    private int threads;
+    private int capacidadeFila;
+    private int limiteLongas;
+
+    private final AtomicInteger emExecucao = new AtomicInteger();
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final AtomicLong concluidas = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+
+    // Construtor exigido pelo CDI para criar o proxy do escopo de aplicação.
+    protected TarefaRepositoryAsync() {}
+
+    @Inject
+    public TarefaRepositoryAsync(TarefaRepository repository) {
+        this(repository, lerInteiro("REPOSITORIO_ASYNC_THREADS", 8), lerInteiro("REPOSITORIO_ASYNC_FILA", 100),
+                Boolean.parseBoolean(System.getenv("REPOSITORIO_ASYNC_VIRTUAIS")));
+    }
+
+    TarefaRepositoryAsync(TarefaRepository repository, int threads, int capacidadeFila, boolean usarVirtuais) {
+        this(repository, threads, capacidadeFila, usarVirtuais,
+                lerInteiro("REPOSITORIO_ASYNC_LONGAS", Math.max(1, threads / 4)));
+    }
+
+    TarefaRepositoryAsync(TarefaRepository repository, int threads, int capacidadeFila, boolean usarVirtuais,
+                          int limiteLongas) {
+        this.repository = repository;
+        this.threads = threads;
+        this.capacidadeFila = capacidadeFila;
+        // Ao menos uma thread nunca é ocupada por operações longas (exceto com uma única thread)
+        this.limiteLongas = Math.max(1, Math.min(limiteLongas, threads - 1));
+        this.longas = new Semaphore(this.limiteLongas);
+        this.vagas = new Semaphore(threads + capacidadeFila);
+        ExecutorService porTarefa = usarVirtuais ? criarExecutorVirtual() : null;
+        if (porTarefa != null) {
+            this.executor = porTarefa;
+            this.virtuais = true;
+            this.execucao = new Semaphore(threads);
+        } else {
+            AtomicInteger contador = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), tarefa -> {
+                        Thread thread = new Thread(tarefa, "tarefas-repositorio-" + contador.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+        System.out.println("[DB] Repositório assíncrono com " + threads + (virtuais ? " threads virtuais" : " threads")
+                + ", fila de " + capacidadeFila + " e até " + this.limiteLongas + " operações longas.");
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Executa qualquer operação do repositório no executor. Usado pelos métodos abaixo e por quem precisa de
+     * várias chamadas na mesma thread (ex.: exportação em streaming).
+     */
+    public <T> CompletableFuture<T> executar(Function<TarefaRepository, T> operacao) {
+        if (!vagas.tryAcquire()) {
+            rejeitadas.incrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Fila do repositório cheia (" + (threads + capacidadeFila) + " operações)."));
+        }
+        long enfileiradaEm = System.nanoTime();
+        aguardando.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> executarNaVez(operacao, enfileiradaEm), executor);
+        } catch (RejectedExecutionException e) {
+            // Executor encerrado (undeploy)
+            aguardando.decrementAndGet();
+            vagas.release();
+            rejeitadas.incrementAndGet();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Como {@link #executar}, para operações que prendem a thread por muito tempo (exportação em streaming).
+     * Acima do limite de operações longas simultâneas, o futuro já nasce falho com
+     * {@link RejectedExecutionException}.
+     */
+    public <T> CompletableFuture<T> executarLonga(Function<TarefaRepository, T> operacao) {
+        if (!longas.tryAcquire()) {
+            rejeitadas.incrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Limite de operações longas do repositório atingido (" + limiteLongas + ")."));
+        }
+        CompletableFuture<T> resultado = executar(operacao);
+        resultado.whenComplete((valor, erro) -> longas.release());
+        return resultado;
+    }
+
+    /**
+     * Indica se uma operação enviada agora começaria sem esperar na fila. Quem precisa da resposta na mesma
+     * requisição (ex.: a contagem da tabela) executa de forma síncrona quando não há thread livre.
+     */
+    public boolean temThreadLivre() {
+        return emExecucao.get() + aguardando.get() < threads;
+    }
+
+    private <T> T executarNaVez(Function<TarefaRepository, T> operacao, long enfileiradaEm) {
+        try {
+            if (execucao != null) {
+                execucao.acquireUninterruptibly();
+            }
+            long espera = System.nanoTime() - enfileiradaEm;
+            esperaTotalNanos.addAndGet(espera);
+            esperaMaximaNanos.accumulateAndGet(espera, Math::max);
+            aguardando.decrementAndGet();
+            emExecucao.incrementAndGet();
+            try {
+                T resultado = operacao.apply(repository);
+                concluidas.incrementAndGet();
+                return resultado;
+            } catch (RuntimeException e) {
+                falhas.incrementAndGet();
+                throw e;
+            } finally {
+                emExecucao.decrementAndGet();
+                if (execucao != null) {
+                    execucao.release();
+                }
+            }
+        } finally {
+            vagas.release();
+        }
+    }
+
+    public CompletableFuture<Void> salvarAsync(Tarefa tarefa) {
+        return executar(repo -> { repo.salvar(tarefa); return null; });
+    }
+
+    public CompletableFuture<Void> salvarLoteAsync(List<Tarefa> tarefas) {
+        return executar(repo -> { repo.salvarLote(tarefas); return null; });
+    }
+
+    public CompletableFuture<Void> atualizarAsync(Tarefa tarefa) {
+        return executar(repo -> { repo.atualizar(tarefa); return null; });
+    }
+
+    public CompletableFuture<Void> removerAsync(Long id) {
+        return executar(repo -> { repo.remover(id); return null; });
+    }
+
+    public CompletableFuture<Integer> concluirAsync(Collection<Long> ids) {
+        return executar(repo -> repo.concluir(ids));
+    }
+
+    public CompletableFuture<Integer> removerTodasAsync(Collection<Long> ids) {
+        return executar(repo -> repo.removerTodas(ids));
+    }
+
+    public CompletableFuture<Tarefa> buscarPorIdAsync(Long id) {
+        return executar(repo -> repo.buscarPorId(id));
+    }
+
+    public CompletableFuture<List<Tarefa>> filtrarAsync(Long id, String tituloOuDescricao, String responsavel,
+                                                        Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                        int primeiro, int quantidade) {
+        return executar(repo -> repo.filtrar(id, tituloOuDescricao, responsavel, prioridade, situacao, primeiro, quantidade));
+    }
+
+    public CompletableFuture<List<TarefaResumo>> resumirAsync(Long id, String tituloOuDescricao, String responsavel,
+                                                              Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                              int primeiro, int quantidade) {
+        return executar(repo -> repo.resumir(id, tituloOuDescricao, responsavel, prioridade, situacao, primeiro, quantidade));
+    }
+
+    public CompletableFuture<Long> contarAsync(Long id, String tituloOuDescricao, String responsavel,
+                                               Tarefa.Prioridade prioridade, Tarefa.Situacao situacao) {
+        return executar(repo -> repo.contar(id, tituloOuDescricao, responsavel, prioridade, situacao));
+    }
+
+    /** O consumidor é chamado na thread do executor, na ordem {@code (deadline, id)}. */
+    public CompletableFuture<Long> percorrerAsync(Long id, String tituloOuDescricao, String responsavel,
+                                                  Tarefa.Prioridade prioridade, Tarefa.Situacao situacao,
+                                                  Consumer<Tarefa> consumidor) {
+        return executar(repo -> repo.percorrer(id, tituloOuDescricao, responsavel, prioridade, situacao, consumidor));
+    }
+
+    /** Ocupação atual da fila e totais desde a inicialização. */
+    public Metricas metricas() {
+        long iniciadas = concluidas.get() + falhas.get();
+        return new Metricas(virtuais, threads, capacidadeFila, emExecucao.get(), aguardando.get(),
+                limiteLongas - longas.availablePermits(), limiteLongas, concluidas.get(), falhas.get(), rejeitadas.get(),
+                iniciadas == 0 ? 0 : esperaTotalNanos.get() / iniciadas / 1_000,
+                esperaMaximaNanos.get() / 1_000);
+    }
+
+    /** Estado do executor do repositório exposto em {@code /estatisticas/repositorio}. */
+    public static final class Metricas {
+        private final boolean virtuais;
+        private final int threads;
+        private final int capacidadeFila;
+        private final int emExecucao;
+        private final int aguardando;
+        private final int longas;
+        private final int limiteLongas;
+        private final long concluidas;
+        private final long falhas;
+        private final long rejeitadas;
+        private final long esperaMediaMicros;
+        private final long esperaMaximaMicros;
+
+        Metricas(boolean virtuais, int threads, int capacidadeFila, int emExecucao, int aguardando, int longas,
+                 int limiteLongas, long concluidas, long falhas, long rejeitadas, long esperaMediaMicros,
+                 long esperaMaximaMicros) {
+            this.virtuais = virtuais;
+            this.threads = threads;
+            this.capacidadeFila = capacidadeFila;
+            this.emExecucao = emExecucao;
+            this.aguardando = aguardando;
+            this.longas = longas;
+            this.limiteLongas = limiteLongas;
+            this.concluidas = concluidas;
+            this.falhas = falhas;
+            this.rejeitadas = rejeitadas;
+            this.esperaMediaMicros = esperaMediaMicros;
+            this.esperaMaximaMicros = esperaMaximaMicros;
+        }
+
+        public boolean isVirtuais() { return virtuais; }
+        public int getThreads() { return threads; }
+        public int getCapacidadeFila() { return capacidadeFila; }
+        public int getEmExecucao() { return emExecucao; }
+        public int getAguardando() { return aguardando; }
+        public int getLongas() { return longas; }
+        public int getLimiteLongas() { return limiteLongas; }
+        public long getConcluidas() { return concluidas; }
+        public long getFalhas() { return falhas; }
+        public long getRejeitadas() { return rejeitadas; }
+        public long getEsperaMediaMicros() { return esperaMediaMicros; }
+        public long getEsperaMaximaMicros() { return esperaMaximaMicros; }
+    }
+
+    // Threads virtuais só existem a partir do JDK 21; o projeto compila para o 11, por isso a busca por reflexão.
+    private static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("[DB] Threads virtuais indisponíveis neste JDK (" + System.getProperty("java.version")
+                    + "); usando threads de plataforma.");
+            return null;
+        }
+    }
+
+    private static int lerInteiro(String variavel, int padrao) {
+        String valor = System.getenv(variavel);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("[DB] Valor inválido para " + variavel + ": " + valor + ". Usando " + padrao + ".");
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Estrutura inicial para o H2 usado nos testes (mesmo formato da migração PostgreSQL).
+CREATE TABLE IF NOT EXISTS tarefas (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo      VARCHAR(120) NOT NULL,
+    descricao   VARCHAR(500) NOT NULL,
+    responsavel VARCHAR(80)  NOT NULL,
+    prioridade  VARCHAR(255) NOT NULL,
+    deadline    DATE         NOT NULL,
+    situacao    VARCHAR(255) NOT NULL
+);
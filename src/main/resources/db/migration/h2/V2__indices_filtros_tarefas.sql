@@ -0,0 +1,5 @@
+-- Mesmos índices da migração PostgreSQL. O H2 não suporta índices por expressão,
+-- por isso LOWER(responsavel) não possui índice dedicado aqui.
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_deadline ON tarefas (situacao, deadline, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_responsavel ON tarefas (situacao, responsavel);
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_prioridade_deadline ON tarefas (situacao, prioridade, deadline);
@@ -0,0 +1,3 @@
+-- Sequência em blocos de 50 para Tarefa.id (ver migração V4 do PostgreSQL). No H2 a coluna IDENTITY
+-- usa uma sequência interna, por isso a sequência nomeada é criada aqui.
+CREATE SEQUENCE IF NOT EXISTS tarefas_id_seq START WITH 1 INCREMENT BY 50;
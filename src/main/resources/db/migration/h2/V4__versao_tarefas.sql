@@ -0,0 +1,2 @@
+-- Controle de concorrência otimista (ver migração V5 do PostgreSQL).
+ALTER TABLE tarefas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Catálogo de responsáveis (ver migração V6 do PostgreSQL).
+CREATE SEQUENCE IF NOT EXISTS responsaveis_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS responsaveis (
+    id   BIGINT      PRIMARY KEY,
+    nome VARCHAR(80) NOT NULL,
+    CONSTRAINT uk_responsaveis_nome UNIQUE (nome)
+);
+
+INSERT INTO responsaveis (id, nome)
+SELECT NEXT VALUE FOR responsaveis_id_seq, nome
+FROM (SELECT responsavel AS nome FROM tarefas
+      UNION SELECT 'João' UNION SELECT 'Maria' UNION SELECT 'Carlos' UNION SELECT 'Ana') nomes;
+
+ALTER TABLE tarefas ADD CONSTRAINT fk_tarefas_responsavel FOREIGN KEY (responsavel) REFERENCES responsaveis (nome);
@@ -0,0 +1,7 @@
+-- Avisos de prazo já entregues (ver migração V7 do PostgreSQL).
+CREATE TABLE IF NOT EXISTS avisos_prazo (
+    tarefa_id BIGINT      NOT NULL REFERENCES tarefas (id) ON DELETE CASCADE,
+    aviso     VARCHAR(20) NOT NULL,
+    deadline  DATE        NOT NULL,
+    CONSTRAINT pk_avisos_prazo PRIMARY KEY (tarefa_id, aviso, deadline)
+);
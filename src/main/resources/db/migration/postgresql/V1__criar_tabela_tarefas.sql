@@ -0,0 +1,11 @@
+-- Estrutura inicial equivalente à gerada pelo Hibernate até então.
+-- IF NOT EXISTS preserva bancos criados antes das migrações (baseline na versão 0).
+CREATE TABLE IF NOT EXISTS tarefas (
+    id          BIGSERIAL    PRIMARY KEY,
+    titulo      VARCHAR(120) NOT NULL,
+    descricao   VARCHAR(500) NOT NULL,
+    responsavel VARCHAR(80)  NOT NULL,
+    prioridade  VARCHAR(255) NOT NULL,
+    deadline    DATE         NOT NULL,
+    situacao    VARCHAR(255) NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Índices alinhados aos formatos de consulta de TarefaRepository.filtrar.
+-- (situacao, deadline, id) atende ao filtro padrão por situação e à ordenação/paginação por cursor.
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_deadline ON tarefas (situacao, deadline, id);
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_responsavel ON tarefas (situacao, responsavel);
+CREATE INDEX IF NOT EXISTS idx_tarefas_situacao_prioridade_deadline ON tarefas (situacao, prioridade, deadline);
+-- Igualdade case-insensitive: LOWER(t.responsavel) = LOWER(:responsavel)
+CREATE INDEX IF NOT EXISTS idx_tarefas_lower_responsavel ON tarefas (LOWER(responsavel));
@@ -0,0 +1,20 @@
+-- Busca textual em título/descrição: português com stemming, sem distinção de acentos.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'pt_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION pt_unaccent (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION pt_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+-- Coluna mantida pelo próprio banco; o título pesa mais (A) que a descrição (B) no ts_rank.
+ALTER TABLE tarefas ADD COLUMN IF NOT EXISTS busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(titulo, '')), 'A') ||
+    setweight(to_tsvector('pt_unaccent'::regconfig, coalesce(descricao, '')), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tarefas_busca ON tarefas USING GIN (busca);
@@ -0,0 +1,4 @@
+-- Ids passam a vir da sequência em blocos de 50 (allocationSize de Tarefa.id), o que permite ao
+-- Hibernate agrupar INSERTs em lotes JDBC. A sequência é a mesma criada pelo BIGSERIAL da V1,
+-- então os ids já usados continuam reservados.
+ALTER SEQUENCE tarefas_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Controle de concorrência otimista: cada UPDATE incrementa a versão e falha se ela mudou desde a leitura.
+ALTER TABLE tarefas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
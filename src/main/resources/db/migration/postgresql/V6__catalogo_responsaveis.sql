@@ -0,0 +1,18 @@
+-- Catálogo de responsáveis: tarefas.responsavel passa a ser chave estrangeira para responsaveis.nome.
+-- A chave natural mantém o texto na tarefa, então filtros, projeções e exportação não mudam.
+CREATE SEQUENCE IF NOT EXISTS responsaveis_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS responsaveis (
+    id   BIGINT      PRIMARY KEY,
+    nome VARCHAR(80) NOT NULL,
+    CONSTRAINT uk_responsaveis_nome UNIQUE (nome)
+);
+
+-- Nomes já usados pelas tarefas e os responsáveis de exemplo da tela
+INSERT INTO responsaveis (id, nome)
+SELECT nextval('responsaveis_id_seq'), nome
+FROM (SELECT responsavel AS nome FROM tarefas
+      UNION SELECT 'João' UNION SELECT 'Maria' UNION SELECT 'Carlos' UNION SELECT 'Ana') nomes
+ON CONFLICT (nome) DO NOTHING;
+
+ALTER TABLE tarefas ADD CONSTRAINT fk_tarefas_responsavel FOREIGN KEY (responsavel) REFERENCES responsaveis (nome);
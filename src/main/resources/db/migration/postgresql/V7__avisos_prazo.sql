@@ -0,0 +1,8 @@
+-- Avisos de prazo já entregues: um por tarefa, tipo de aviso e deadline. A inserção é a reserva do envio,
+-- então nenhum aviso se repete após reinícios nem entre os nós que rodam o agendador.
+CREATE TABLE IF NOT EXISTS avisos_prazo (
+    tarefa_id BIGINT      NOT NULL REFERENCES tarefas (id) ON DELETE CASCADE,
+    aviso     VARCHAR(20) NOT NULL,
+    deadline  DATE        NOT NULL,
+    CONSTRAINT pk_avisos_prazo PRIMARY KEY (tarefa_id, aviso, deadline)
+);
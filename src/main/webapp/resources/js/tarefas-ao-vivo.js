@@ -0,0 +1,127 @@
+/*
+ * Aplica na tabela de tarefas as alterações publicadas pelo servidor no canal "tarefas" (<f:websocket>).
+ * Atualizações e remoções corrigem apenas as linhas visíveis; inclusões exibem um aviso, pois a posição
+ * de uma nova linha na página depende da ordenação feita pelo banco. Avisos de prazo ("PRAZO") destacam
+ * as linhas das tarefas vencendo ou atrasadas.
+ */
+var TarefasAoVivo = (function () {
+    var novas = 0;
+    var painelAgendado = null;
+
+    function tabela() {
+        return document.getElementById("tabelaForm:tabelaTarefas");
+    }
+
+    function linha(id) {
+        var t = tabela();
+        return t ? t.querySelector("tr[data-rk='" + id + "']") : null;
+    }
+
+    // Situação filtrada na página exibida (vazia quando o filtro mostra todas)
+    function situacaoFiltrada() {
+        var t = tabela();
+        return t ? (t.getAttribute("data-situacao") || "") : "";
+    }
+
+    function removerLinha(id) {
+        var tr = linha(id);
+        if (tr) {
+            tr.parentNode.removeChild(tr);
+        }
+    }
+
+    function atualizarCelula(tr, classe, valor) {
+        var celula = tr.querySelector("td." + classe);
+        if (celula) {
+            celula.textContent = valor;
+        }
+    }
+
+    function mostrarAviso(texto) {
+        var aviso = document.getElementById("avisoNovasTarefas");
+        if (aviso) {
+            aviso.querySelector(".aviso-texto").textContent = texto;
+            aviso.style.display = "";
+        }
+    }
+
+    // Relê o painel de resumo uma vez por rajada de alterações (ex.: vários usuários salvando ao mesmo tempo)
+    function agendarPainel() {
+        if (painelAgendado || typeof atualizarPainel !== "function") {
+            return;
+        }
+        painelAgendado = setTimeout(function () {
+            painelAgendado = null;
+            atualizarPainel();
+        }, 500);
+    }
+
+    // Avisos do agendador de prazos: apenas destacam as linhas visíveis
+    function marcarPrazo(mensagem) {
+        var classe = mensagem.aviso === "ATRASADA" ? "linha-prazo-atrasada" : "linha-prazo-vencendo";
+        (mensagem.ids || []).forEach(function (id) {
+            var tr = linha(id);
+            if (tr) {
+                tr.classList.remove("linha-prazo-vencendo");
+                tr.classList.add(classe);
+            }
+        });
+    }
+
+    function aplicar(mensagem) {
+        agendarPainel();
+        if (mensagem.tipo === "PRAZO") {
+            marcarPrazo(mensagem);
+            return;
+        }
+        var ids = mensagem.ids;
+        if (!ids) {
+            // Lote grande (ex.: importação): sem os ids, apenas sugere recarregar a página atual
+            mostrarAviso(mensagem.quantidade + " tarefas alteradas.");
+            return;
+        }
+        var filtro = situacaoFiltrada();
+
+        switch (mensagem.tipo) {
+            case "REMOCAO":
+                ids.forEach(removerLinha);
+                break;
+            case "CONCLUSAO":
+                if (filtro === "EM_ANDAMENTO") {
+                    ids.forEach(removerLinha);
+                }
+                break;
+            case "ATUALIZACAO":
+                mensagem.tarefas.forEach(function (tarefa) {
+                    var tr = linha(tarefa.id);
+                    if (!tr) {
+                        return;
+                    }
+                    if (filtro && filtro !== tarefa.situacao) {
+                        tr.parentNode.removeChild(tr);
+                        return;
+                    }
+                    atualizarCelula(tr, "col-titulo", tarefa.titulo);
+                    atualizarCelula(tr, "col-responsavel", tarefa.responsavel);
+                });
+                break;
+            case "INCLUSAO":
+                var visiveis = ids.filter(function (id) { return !linha(id); }).length;
+                if (visiveis > 0 && (!filtro || filtro === "EM_ANDAMENTO")) {
+                    novas += visiveis;
+                    mostrarAviso(novas === 1 ? "1 nova tarefa." : novas + " novas tarefas.");
+                }
+                break;
+        }
+    }
+
+    function ocultarAviso() {
+        novas = 0;
+        var aviso = document.getElementById("avisoNovasTarefas");
+        if (aviso) {
+            aviso.style.display = "none";
+        }
+    }
+
+    return { aplicar: aplicar, ocultarAviso: ocultarAviso };
+})();
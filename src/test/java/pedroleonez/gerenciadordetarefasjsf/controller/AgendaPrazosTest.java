@@ -0,0 +1,179 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.junit.jupiter.api.Test;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.AlteracaoTarefa;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Varredura em blocos, avisos de prazo e ajustes da fila pelas escritas, com fonte e reservas em memória. */
+class AgendaPrazosTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2030, 3, 10);
+
+    private final List<TarefaResumo> banco = new ArrayList<>();
+    private final List<String> avisos = new ArrayList<>();
+    private int consultas;
+
+    // Mesma ordem e mesmo corte da consulta do repositório
+    private final AgendaPrazos.Fonte fonte = (fim, apos, quantidade) -> {
+        consultas++;
+        return banco.stream()
+                .sorted(Comparator.comparing(TarefaResumo::getDeadline).thenComparing(TarefaResumo::getId))
+                .filter(t -> t.getDeadline().isBefore(fim))
+                .filter(t -> apos == null || t.getDeadline().isAfter(apos.getDeadline())
+                        || (t.getDeadline().equals(apos.getDeadline()) && t.getId() > apos.getId()))
+                .limit(quantidade)
+                .collect(Collectors.toList());
+    };
+
+    // Avisos já entregues, como a tabela avisos_prazo: sobrevive à agenda (reinício) e é comum às agendas (nós)
+    private final Set<String> entregues = new HashSet<>();
+    private final AgendaPrazos.Registro reservas = (aviso, tarefas) -> tarefas.stream()
+            .filter(t -> entregues.add(aviso + ":" + t.getId() + ":" + t.getDeadline()))
+            .collect(Collectors.toList());
+
+    private final TratadorPrazo registro = new TratadorPrazo() {
+        @Override
+        public String getNome() { return "teste"; }
+
+        @Override
+        public void tratar(Aviso aviso, List<TarefaResumo> tarefas) {
+            tarefas.forEach(t -> avisos.add(aviso + ":" + t.getId()));
+        }
+    };
+
+    @Test
+    void deveAvisarVencendoEAtrasadaUmaVezCada() {
+        banco.add(new TarefaResumo(1L, "Atrasada", "Ana", HOJE.minusDays(30)));
+        banco.add(new TarefaResumo(2L, "Vence amanhã", "Ana", HOJE.plusDays(1)));
+        banco.add(new TarefaResumo(3L, "Fora da janela", "Bruno", HOJE.plusDays(10)));
+        AgendaPrazos agenda = novaAgenda(10, 10);
+
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(List.of("VENCENDO:2", "ATRASADA:1"), avisos);
+
+        avisos.clear();
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(List.of(), avisos, "Nada novo no mesmo dia");
+
+        agenda.executarCiclo(dia(HOJE.plusDays(2)));
+        assertEquals(List.of("ATRASADA:2"), avisos);
+
+        avisos.clear();
+        agenda.executarCiclo(dia(HOJE.plusDays(8)));
+        assertEquals(List.of("VENCENDO:3"), avisos, "A janela avança e alcança a tarefa mais distante");
+    }
+
+    @Test
+    void varreduraDeveAndarEmBlocosSemReler() {
+        for (long id = 1; id <= 25; id++) {
+            banco.add(new TarefaResumo(id, "Atrasada " + id, "Ana", HOJE.minusDays(id)));
+        }
+        AgendaPrazos agenda = novaAgenda(5, 2);
+
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(5, avisos.size(), "Dois lotes por ciclo: um bloco lido e um lote entregue");
+        assertTrue(agenda.metricas(dia(HOJE)).isVarreduraPendente());
+
+        for (int i = 0; i < 10; i++) {
+            agenda.executarCiclo(dia(HOJE));
+        }
+        assertEquals(25, avisos.size());
+        assertEquals(25, avisos.stream().distinct().count(), "Cada tarefa avisada uma única vez");
+        AgendaPrazos.Metricas metricas = agenda.metricas(dia(HOJE));
+        assertFalse(metricas.isVarreduraPendente());
+        assertEquals(0, metricas.getBacklog());
+
+        int consultasAntes = consultas;
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(consultasAntes, consultas, "Janela já percorrida não é lida de novo");
+    }
+
+    @Test
+    void escritasDevemAjustarAFilaSemNovaVarredura() {
+        banco.add(new TarefaResumo(1L, "Vence amanhã", "Ana", HOJE.plusDays(1)));
+        AgendaPrazos agenda = novaAgenda(10, 10);
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(List.of("VENCENDO:1"), avisos);
+
+        // Concluída antes de atrasar: o segundo aviso é cancelado
+        agenda.aplicar(AlteracaoTarefa.comIds(AlteracaoTarefa.Tipo.CONCLUSAO, List.of(1L)));
+        // Incluída depois da varredura, dentro da parte já percorrida da janela
+        agenda.aplicar(AlteracaoTarefa.comTarefas(AlteracaoTarefa.Tipo.INCLUSAO,
+                List.of(tarefa(2L, HOJE), tarefa(3L, HOJE.plusDays(20)))));
+
+        int consultasAntes = consultas;
+        avisos.clear();
+        agenda.executarCiclo(dia(HOJE));
+        assertEquals(List.of("VENCENDO:2"), avisos);
+        assertEquals(consultasAntes, consultas);
+
+        avisos.clear();
+        agenda.executarCiclo(dia(HOJE.plusDays(2)));
+        assertEquals(List.of("ATRASADA:2"), avisos);
+        assertEquals(0, agenda.metricas(dia(HOJE.plusDays(2))).getAgendadas());
+    }
+
+    @Test
+    void reinicioOuOutroNoNaoDevemRepetirAvisosJaEntregues() {
+        banco.add(new TarefaResumo(1L, "Atrasada", "Ana", HOJE.minusDays(3)));
+        banco.add(new TarefaResumo(2L, "Vence amanhã", "Ana", HOJE.plusDays(1)));
+        List<String> marcadas = new ArrayList<>();
+        TratadorPrazo marcacao = new TratadorPrazo() {
+            @Override
+            public String getNome() { return "marcacao"; }
+
+            @Override
+            public boolean isLocal() { return true; }
+
+            @Override
+            public void tratar(Aviso aviso, List<TarefaResumo> tarefas) {
+                tarefas.forEach(t -> marcadas.add(aviso + ":" + t.getId()));
+            }
+        };
+        List<TratadorPrazo> tratadores = List.of(registro, marcacao);
+        new AgendaPrazos(fonte, reservas, tratadores, 2, 10, 10, ZoneOffset.UTC).executarCiclo(dia(HOJE));
+        assertEquals(List.of("VENCENDO:2", "ATRASADA:1"), avisos);
+
+        // Agenda nova com a fila vazia: o mesmo nó reiniciado ou um segundo nó
+        AgendaPrazos outra = new AgendaPrazos(fonte, reservas, tratadores, 2, 10, 10, ZoneOffset.UTC);
+        outra.executarCiclo(dia(HOJE));
+        assertEquals(List.of("VENCENDO:2", "ATRASADA:1"), avisos, "Avisos reservados não são entregues de novo");
+        assertEquals(List.of("VENCENDO:2", "ATRASADA:1", "VENCENDO:2", "ATRASADA:1"), marcadas,
+                "Tratadores locais agem em cada nó");
+
+        outra.executarCiclo(dia(HOJE.plusDays(2)));
+        assertEquals(List.of("VENCENDO:2", "ATRASADA:1", "ATRASADA:2"), avisos);
+        assertEquals(1, outra.metricas(dia(HOJE.plusDays(2))).getAtrasadas());
+    }
+
+    private AgendaPrazos novaAgenda(int lote, int lotesPorCiclo) {
+        return new AgendaPrazos(fonte, reservas, List.of(registro), 2, lote, lotesPorCiclo, ZoneOffset.UTC);
+    }
+
+    private static Instant dia(LocalDate data) {
+        return data.atTime(9, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private static Tarefa tarefa(Long id, LocalDate deadline) {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(id);
+        tarefa.setTitulo("Tarefa " + id);
+        tarefa.setResponsavel("Carla");
+        tarefa.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
+        tarefa.setDeadline(deadline);
+        return tarefa;
+    }
+}
@@ -0,0 +1,126 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.EntityManagerFactoryProducer;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.Validation;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Importação e exportação em massa contra o H2: conversão dos formatos, validação e gravação em blocos. */
+class ImportadorTarefasTest {
+
+    private static final EntityManagerFactoryProducer producer = new EntityManagerFactoryProducer();
+    private static EntityManagerFactory emf;
+
+    private TarefaRepository repository;
+    private ImportadorTarefas importador;
+
+    @BeforeAll
+    static void configurarPersistenceUnit() {
+        System.setProperty("tarefas.persistence.unit", "tarefasPU-test");
+        emf = producer.criarEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void limparPersistenceUnit() {
+        producer.fecharEntityManagerFactory(emf);
+        System.clearProperty("tarefas.persistence.unit");
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new TarefaRepository(emf);
+        // Fora do container não há implementação de EL para interpolar as mensagens
+        importador = new ImportadorTarefas(repository, Validation.byDefaultProvider().configure()
+                .messageInterpolator(new ParameterMessageInterpolator())
+                .buildValidatorFactory().getValidator());
+        repository.listarTodas().forEach(tarefa -> repository.remover(tarefa.getId()));
+    }
+
+    @Test
+    void importarCsvDeveGravarRegistrosValidosERelatarOsInvalidos() throws IOException {
+        String amanha = LocalDate.now().plusDays(1).toString();
+        String csv = "Título;Descrição;Responsável;Prioridade;Deadline;Situação\n"
+                + "Migrar dados;\"Origem; planilha \"\"antiga\"\"\";Ana;Alta;" + amanha + ";Em andamento\n"
+                + "Sem prioridade;Registro incompleto;Maria;;" + amanha + ";\n"
+                + "Prioridade errada;Valor fora da lista;Carlos;URGENTE;" + amanha + ";\n"
+                + "Revisar;Conferir carga;João;baixa;" + amanha + ";CONCLUIDA\n";
+
+        ImportadorTarefas.Resultado resultado = importador.importarCsv(new StringReader(csv));
+
+        assertEquals(2, resultado.getImportadas());
+        assertEquals(2, resultado.getRejeitadas());
+        assertEquals(List.of("Registro 2: Selecione uma prioridade.", "Registro 3: valor inválido para prioridade: URGENTE"),
+                resultado.getErros());
+
+        List<Tarefa> gravadas = repository.filtrar(null, null, "ana", null, null);
+        assertEquals(1, gravadas.size());
+        assertEquals("Origem; planilha \"antiga\"", gravadas.get(0).getDescricao());
+        assertEquals(Tarefa.Prioridade.ALTA, gravadas.get(0).getPrioridade());
+        assertEquals(Tarefa.Situacao.CONCLUIDA, repository.filtrar(null, null, "joão", null, null).get(0).getSituacao());
+    }
+
+    @Test
+    void importarJsonDeveGravarEmBlocosSemCarregarTudoEmMemoria() {
+        int total = ImportadorTarefas.TAMANHO_BLOCO * 2 + 10;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < total; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"titulo\":\"Tarefa ").append(i).append("\",\"descricao\":\"Importada\",\"responsavel\":\"Ana\",")
+                    .append("\"prioridade\":\"MEDIA\",\"deadline\":\"").append(LocalDate.now().plusDays(i % 60)).append("\"}");
+        }
+        json.append(",{\"titulo\":\"Sem responsável\",\"descricao\":\"Registro incompleto\",\"responsavel\":\" \",")
+                .append("\"prioridade\":\"MEDIA\",\"deadline\":\"").append(LocalDate.now().plusDays(1)).append("\"}]");
+
+        ImportadorTarefas.Resultado resultado = importador.importarJson(new StringReader(json.toString()));
+
+        assertEquals(total, resultado.getImportadas());
+        assertEquals(1, resultado.getRejeitadas());
+        assertEquals("Registro " + (total + 1) + ": Informe o responsável pela tarefa.", resultado.getErros().get(0));
+        assertEquals(total, repository.contar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO));
+        assertTrue(resultado.getLinhasPorSegundo() > 0);
+    }
+
+    @Test
+    void csvExportadoDeveSerReimportadoSemPerdas() throws IOException {
+        String amanha = LocalDate.now().plusDays(1).toString();
+        String ontem = LocalDate.now().minusDays(1).toString();
+        importador.importarCsv(new StringReader("titulo,descricao,responsavel,prioridade,deadline,situacao\n"
+                + "\"Planejar; revisar\",\"Linha 1\nLinha 2\",Ana,ALTA," + amanha + ",\n"
+                + "Atrasada,Prazo vencido,Ana,MEDIA," + ontem + ",EM_ANDAMENTO\n"
+                + "Entregue,Concluída no mês passado,Ana,BAIXA," + LocalDate.now().minusMonths(1) + ",CONCLUIDA\n"));
+        ExportadorTarefas exportador = new ExportadorTarefas(repository);
+
+        StringWriter csv = new StringWriter();
+        assertEquals(3, exportador.exportarCsv(null, null, "Ana", null, null, csv));
+        StringWriter json = new StringWriter();
+        exportador.exportarJson(null, null, "Ana", null, null, json);
+        assertTrue(json.toString().contains("\"descricao\":\"Linha 1\\nLinha 2\""), json.toString());
+
+        repository.listarTodas().forEach(tarefa -> repository.remover(tarefa.getId()));
+        ImportadorTarefas.Resultado resultado = importador.importarCsv(new StringReader(csv.toString()));
+        assertEquals(3, resultado.getImportadas(), resultado.getErros().toString());
+        Tarefa reimportada = repository.filtrar(null, "planejar", null, null, null).get(0);
+        assertEquals("Planejar; revisar", reimportada.getTitulo());
+        assertEquals("Linha 1\nLinha 2", reimportada.getDescricao());
+        Tarefa atrasada = repository.filtrar(null, "atrasada", null, null, null).get(0);
+        assertEquals(ontem, atrasada.getDeadline().toString());
+        assertEquals(Tarefa.Situacao.EM_ANDAMENTO, atrasada.getSituacao());
+        assertEquals(Tarefa.Situacao.CONCLUIDA, repository.filtrar(null, "entregue", null, null, null).get(0).getSituacao());
+    }
+}
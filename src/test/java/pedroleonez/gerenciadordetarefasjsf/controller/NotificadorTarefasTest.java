@@ -0,0 +1,52 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.junit.jupiter.api.Test;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.repository.AlteracaoTarefa;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Formato das mensagens enviadas aos navegadores a cada alteração de tarefas. */
+class NotificadorTarefasTest {
+
+    @Test
+    void atualizacaoDeveLevarApenasAsColunasDaTabela() {
+        Tarefa tarefa = new Tarefa();
+        tarefa.setId(7L);
+        tarefa.setTitulo("Revisar contrato");
+        tarefa.setDescricao("Descrição que não vai para o navegador");
+        tarefa.setResponsavel("Maria");
+        tarefa.setPrioridade(Tarefa.Prioridade.ALTA);
+        tarefa.setSituacao(Tarefa.Situacao.EM_ANDAMENTO);
+        tarefa.setDeadline(LocalDate.of(2030, 1, 15));
+
+        Map<String, Object> mensagem = NotificadorTarefas.mensagem(
+                AlteracaoTarefa.comTarefas(AlteracaoTarefa.Tipo.ATUALIZACAO, List.of(tarefa)));
+
+        assertEquals("ATUALIZACAO", mensagem.get("tipo"));
+        assertEquals(List.of(7L), mensagem.get("ids"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> linhas = (List<Map<String, Object>>) mensagem.get("tarefas");
+        assertEquals(Map.of("id", 7L, "titulo", "Revisar contrato", "responsavel", "Maria",
+                "deadline", "2030-01-15", "situacao", "EM_ANDAMENTO"), linhas.get(0));
+    }
+
+    @Test
+    void loteGrandeDeveEnviarSomenteAQuantidade() {
+        List<Long> ids = LongStream.rangeClosed(1, NotificadorTarefas.LIMITE_LINHAS + 1).boxed().collect(Collectors.toList());
+
+        Map<String, Object> mensagem = NotificadorTarefas.mensagem(
+                AlteracaoTarefa.comIds(AlteracaoTarefa.Tipo.REMOCAO, new ArrayList<>(ids)));
+
+        assertEquals(NotificadorTarefas.LIMITE_LINHAS + 1, mensagem.get("quantidade"));
+        assertFalse(mensagem.containsKey("ids"), "Sem ids o navegador apenas sugere recarregar a página");
+        assertEquals(List.of(), mensagem.get("tarefas"));
+    }
+}
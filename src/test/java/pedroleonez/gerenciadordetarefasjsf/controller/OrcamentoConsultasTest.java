@@ -0,0 +1,115 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.EntityManagerFactoryProducer;
+import pedroleonez.gerenciadordetarefasjsf.repository.MonitorConsultas;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orçamento de instruções SQL das ações da tela de tarefas. Cada ação roda em um escopo estrito do
+ * {@link MonitorConsultas}: um N+1 ou uma recarga da tabela inteira faz o teste falhar com a lista das instruções.
+ */
+class OrcamentoConsultasTest {
+
+    private static final int TAMANHO_PAGINA = 10;
+
+    private static final EntityManagerFactoryProducer producer = new EntityManagerFactoryProducer();
+    private static EntityManagerFactory emf;
+
+    private TarefaRepository repository;
+    private TarefaTabelaBean tabela;
+
+    @BeforeAll
+    static void configurarPersistenceUnit() {
+        System.setProperty("tarefas.persistence.unit", "tarefasPU-test");
+        emf = producer.criarEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void limparPersistenceUnit() {
+        executar("DELETE FROM tarefas");
+        producer.fecharEntityManagerFactory(emf);
+        System.clearProperty("tarefas.persistence.unit");
+    }
+
+    @BeforeEach
+    void setUp() {
+        executar("DELETE FROM tarefas");
+        executar("INSERT INTO tarefas (id, titulo, descricao, responsavel, prioridade, deadline, situacao) "
+                + "SELECT X, 'Tarefa ' || X, 'Descrição ' || X, 'Ana', 'MEDIA', "
+                + "DATEADD('DAY', MOD(X, 30), CURRENT_DATE), 'EM_ANDAMENTO' FROM SYSTEM_RANGE(1, 500)");
+        repository = new TarefaRepository(emf);
+        tabela = new TarefaTabelaBean(repository, new TarefaBean(repository));
+        tabela.init();
+    }
+
+    @Test
+    void abrirATelaDeveConsultarApenasContagemEPagina() {
+        try (MonitorConsultas.Escopo escopo = MonitorConsultas.abrir("abrir tela", 2, true)) {
+            List<TarefaResumo> pagina = carregarPagina();
+            assertEquals(TAMANHO_PAGINA, pagina.size());
+            assertTrue(escopo.getQuantidade() > 0);
+        }
+    }
+
+    @Test
+    void acoesDaTabelaDevemCaberNoOrcamento() {
+        carregarPagina();
+
+        // Leitura da contribuição ao painel + UPDATE, sem reler a tarefa nem a tabela
+        try (MonitorConsultas.Escopo escopo = MonitorConsultas.abrir("concluirTarefa", 2, true)) {
+            tabela.concluirTarefa(1L);
+        }
+        try (MonitorConsultas.Escopo escopo = MonitorConsultas.abrir("removerTarefa", 2, true)) {
+            tabela.removerTarefa(2L);
+        }
+        // Abrir a edição e salvar: leitura da tarefa, find + UPDATE condicionado à versão
+        try (MonitorConsultas.Escopo escopo = MonitorConsultas.abrir("editar e salvar", 3, true)) {
+            Tarefa tarefa = repository.buscarPorId(3L);
+            tarefa.setTitulo("Tarefa 3 revisada");
+            repository.atualizar(tarefa);
+        }
+    }
+
+    @Test
+    void escopoEstritoDeveFalharAcimaDoOrcamento() {
+        MonitorConsultas.OrcamentoExcedido erro = assertThrows(MonitorConsultas.OrcamentoExcedido.class, () -> {
+            try (MonitorConsultas.Escopo escopo = MonitorConsultas.abrir("recarga completa", 1, true)) {
+                // Uma leitura por linha da página: o N+1 que o orçamento deve pegar
+                for (TarefaResumo resumo : carregarPagina()) {
+                    repository.buscarPorId(resumo.getId());
+                }
+            }
+        });
+        assertTrue(erro.getMessage().startsWith("recarga completa: "), erro.getMessage());
+        assertTrue(erro.getMessage().toLowerCase().contains("from tarefas"), erro.getMessage());
+    }
+
+    private List<TarefaResumo> carregarPagina() {
+        return tabela.getTarefas().load(0, TAMANHO_PAGINA, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    private static void executar(String sql) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery(sql).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package pedroleonez.gerenciadordetarefasjsf.controller;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
+import pedroleonez.gerenciadordetarefasjsf.repository.EntityManagerFactoryProducer;
+import pedroleonez.gerenciadordetarefasjsf.repository.TarefaRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Estado da tela (sessão + view): o tamanho serializado não deve crescer com o volume de tarefas, e a
+ * exportação segue o filtro aplicado na view, não o digitado na sessão.
+ */
+class SessaoTarefasTest {
+
+    private static final int TAMANHO_PAGINA = 10;
+
+    private static final EntityManagerFactoryProducer producer = new EntityManagerFactoryProducer();
+    private static EntityManagerFactory emf;
+
+    private TarefaRepository repository;
+
+    @BeforeAll
+    static void configurarPersistenceUnit() {
+        System.setProperty("tarefas.persistence.unit", "tarefasPU-test");
+        emf = producer.criarEntityManagerFactory();
+    }
+
+    @AfterAll
+    static void limparPersistenceUnit() {
+        executar("DELETE FROM tarefas");
+        producer.fecharEntityManagerFactory(emf);
+        System.clearProperty("tarefas.persistence.unit");
+    }
+
+    @BeforeEach
+    void setUp() {
+        repository = new TarefaRepository(emf);
+        executar("DELETE FROM tarefas");
+    }
+
+    @Test
+    void sessaoNaoDeveCrescerComOTotalDeTarefas() throws IOException {
+        popular(1, 10);
+        int comPoucas = tamanhoSerializado();
+
+        popular(11, 100_000);
+        int comMuitas = tamanhoSerializado();
+
+        // Apenas a página visível e as chaves do filtro são guardadas; pequenas variações vêm dos cursores e ids
+        assertTrue(comMuitas < comPoucas * 1.1,
+                "Estado da tela não deve crescer com o número de tarefas (" + comPoucas + " -> " + comMuitas + " bytes)");
+        assertTrue(comMuitas < 16 * 1024, "Estado da tela deve ficar em poucos KB: " + comMuitas + " bytes");
+    }
+
+    @Test
+    void exportacaoDeveUsarOFiltroAplicadoNaView() {
+        TarefaBean sessao = new TarefaBean(repository);
+        TarefaTabelaBean tabela = new TarefaTabelaBean(repository, sessao);
+        tabela.init();
+        assertEquals("&situacao=EM_ANDAMENTO", tabela.getParametrosExportacao());
+
+        sessao.setFiltroTitulo("relatório mensal");
+        sessao.setFiltroResponsavel("Ana");
+        sessao.setFiltroSituacao(null);
+        tabela.filtrarTarefas();
+
+        // Outra aba (mesma sessão) altera o filtro digitado sem aplicá-lo nesta view
+        sessao.setFiltroResponsavel("João");
+        sessao.setFiltroSituacao(Tarefa.Situacao.CONCLUIDA);
+        assertEquals("&titulo=relat%C3%B3rio+mensal&responsavel=Ana", tabela.getParametrosExportacao());
+    }
+
+    // Monta a tela como o contêiner faria, exibe a primeira página e serializa sessão e view juntas
+    private int tamanhoSerializado() throws IOException {
+        TarefaBean sessao = new TarefaBean(repository);
+        TarefaTabelaBean tabela = new TarefaTabelaBean(repository, sessao);
+        tabela.init();
+
+        List<TarefaResumo> pagina = tabela.getTarefas().load(0, TAMANHO_PAGINA, Collections.emptyMap(), Collections.emptyMap());
+        tabela.getTarefas().setWrappedData(pagina);
+        assertEquals(TAMANHO_PAGINA, pagina.size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            saida.writeObject(sessao);
+            saida.writeObject(tabela);
+        }
+        return bytes.size();
+    }
+
+    private static void popular(int primeiro, int ultimo) {
+        executar("INSERT INTO tarefas (id, titulo, descricao, responsavel, prioridade, deadline, situacao) "
+                + "SELECT X, 'Tarefa ' || X, 'Descrição ' || X, 'Ana', 'MEDIA', "
+                + "DATEADD('DAY', MOD(X, 365), CURRENT_DATE), 'EM_ANDAMENTO' FROM SYSTEM_RANGE(" + primeiro + ", " + ultimo + ")");
+    }
+
+    private static void executar(String sql) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery(sql).executeUpdate();
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+}
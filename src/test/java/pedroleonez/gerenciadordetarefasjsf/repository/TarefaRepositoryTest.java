@@ -5,30 +5,50 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import pedroleonez.gerenciadordetarefasjsf.model.Tarefa;
+import pedroleonez.gerenciadordetarefasjsf.model.TarefaResumo;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
+import javax.persistence.PersistenceException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 /** Garante que o repositório opere corretamente contra o banco em memória H2. */
 class TarefaRepositoryTest {
 
+    private static final EntityManagerFactoryProducer producer = new EntityManagerFactoryProducer();
+    private static EntityManagerFactory emf;
+
     private TarefaRepository repository;
 
     @BeforeAll
     static void configurarPersistenceUnit() {
         System.setProperty("tarefas.persistence.unit", "tarefasPU-test");
+        emf = producer.criarEntityManagerFactory();
     }
 
     @AfterAll
     static void limparPersistenceUnit() {
+        producer.fecharEntityManagerFactory(emf);
         System.clearProperty("tarefas.persistence.unit");
     }
 
     @BeforeEach
     void setUp() {
-        repository = new TarefaRepository();
+        repository = new TarefaRepository(emf);
         limparBanco();
     }
 
@@ -51,6 +71,70 @@ class TarefaRepositoryTest {
         assertEquals(Tarefa.Situacao.EM_ANDAMENTO, armazenada.getSituacao());
     }
 
+    @Test
+    void salvarLoteDeveAgruparInsertsEmLotesJdbc() {
+        List<Tarefa> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            lote.add(novaTarefa("Importada " + i, "Carga em lote", "Ana",
+                    Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(i % 30)));
+        }
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        repository.salvarLote(lote);
+
+        assertEquals(120, repository.contar(null, null, null, null, null));
+        assertTrue(lote.stream().allMatch(tarefa -> tarefa.getId() != null));
+        // Sem lotes seriam 120 INSERTs; com ids em blocos de 50 são poucos statements de INSERT e de sequência
+        assertTrue(estatisticas.getPrepareStatementCount() < 20,
+                "Esperado INSERT em lote, mas foram preparados " + estatisticas.getPrepareStatementCount() + " statements");
+        assertEquals(1, repository.filtrar(null, "importada 7", null, null, null).stream()
+                .filter(tarefa -> tarefa.getTitulo().equals("Importada 7")).count(), "O lote deve entrar na busca textual");
+    }
+
+    @Test
+    void percorrerDeveEntregarUmaAUmaNaOrdemDaListagem() {
+        Tarefa tarde = novaTarefa("Entrega final", "Fechar versão", "Ana",
+                Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(9));
+        Tarefa cedo = novaTarefa("Entrega parcial", "Validar versão", "ana",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(1));
+        Tarefa outra = novaTarefa("Outra equipe", "Fora do filtro", "Carlos",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2));
+        repository.salvarLote(List.of(tarde, cedo, outra));
+
+        List<Long> entregues = new ArrayList<>();
+        long total = repository.percorrer(null, null, "Ana", null, Tarefa.Situacao.EM_ANDAMENTO,
+                tarefa -> entregues.add(tarefa.getId()));
+
+        assertEquals(2, total);
+        assertEquals(List.of(cedo.getId(), tarde.getId()), entregues);
+        assertEquals(0, repository.percorrer(null, "inexistente", null, null, null, tarefa -> fail()));
+    }
+
+    @Test
+    void operacoesEmMassaDevemConcluirERemoverVariasTarefasDeUmaVez() {
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tarefas.add(novaTarefa("Sprint " + i, "Limpeza da sprint", "Ana",
+                    Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(i)));
+        }
+        repository.salvarLote(tarefas);
+        repository.buscarPorId(tarefas.get(0).getId()); // entidade no cache de segundo nível
+
+        List<Long> todas = ids(tarefas);
+        assertEquals(3, repository.concluir(todas.subList(0, 3)));
+        assertEquals(0, repository.concluir(todas.subList(0, 1)), "Tarefas já concluídas não devem ser alteradas");
+        assertEquals(Tarefa.Situacao.CONCLUIDA, repository.buscarPorId(todas.get(0)).getSituacao(),
+                "O UPDATE em massa deve invalidar a entidade em cache");
+        assertEquals(2, repository.contar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO));
+
+        assertEquals(4, repository.removerTodas(todas.subList(1, 5)));
+        assertEquals(List.of(todas.get(0)), ids(repository.listarTodas()));
+        assertTrue(repository.filtrar(null, "sprint 3", null, null, null).isEmpty(),
+                "Tarefas removidas devem sair da busca textual");
+        assertEquals(0, repository.removerTodas(List.of()));
+    }
+
     @Test
     void atualizarDeveAplicarAlteracoesPersistidas() {
         Tarefa tarefa = novaTarefa("Revisar layout", "Ajustar CSS", "Maria",
@@ -69,6 +153,36 @@ class TarefaRepositoryTest {
         assertEquals(Tarefa.Situacao.CONCLUIDA, atualizada.getSituacao());
     }
 
+    @Test
+    void edicoesConcorrentesDevemSerDetectadasPelaVersao() {
+        Tarefa tarefa = novaTarefa("Revisar contrato", "Primeira versão", "Ana",
+                Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2));
+        repository.salvar(tarefa);
+
+        Tarefa edicaoAna = repository.buscarPorId(tarefa.getId());
+        Tarefa edicaoMaria = repository.buscarPorId(tarefa.getId());
+
+        edicaoAna.setDescricao("Ajustada pela Ana");
+        repository.atualizar(edicaoAna);
+        assertEquals(1L, edicaoAna.getVersao(), "A cópia gravada deve receber a nova versão");
+
+        edicaoMaria.setTitulo("Título da Maria");
+        assertThrows(OptimisticLockException.class, () -> repository.atualizar(edicaoMaria));
+        assertEquals("Revisar contrato", repository.buscarPorId(tarefa.getId()).getTitulo(),
+                "A edição desatualizada não deve sobrescrever a gravação anterior");
+
+        // Concluir pela tabela também muda a versão e invalida a edição aberta
+        repository.concluir(List.of(tarefa.getId()));
+        edicaoAna.setDescricao("Segunda edição");
+        assertThrows(OptimisticLockException.class, () -> repository.atualizar(edicaoAna));
+
+        Tarefa atual = repository.buscarPorId(tarefa.getId());
+        repository.remover(tarefa.getId());
+        assertThrows(OptimisticLockException.class, () -> repository.atualizar(atual),
+                "Editar uma tarefa removida não deve recriá-la");
+        assertTrue(repository.listarTodas().isEmpty());
+    }
+
     @Test
     void removerDeveExcluirRegistro() {
         Tarefa tarefa = novaTarefa("Remover tarefa", "Verificar exclusão", "Carlos",
@@ -114,11 +228,548 @@ class TarefaRepositoryTest {
         assertEquals(tarefaA.getId(), porId.get(0).getId());
     }
 
+    @Test
+    void buscaTextualDeveIgnorarAcentosCasarPrefixosEOrdenarPorRelevancia() {
+        Tarefa naDescricao = novaTarefa("Revisar contrato", "Publicar versão de homologação", "Ana",
+                Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(1));
+        Tarefa noTitulo = novaTarefa("Publicação do relatório", "Enviar para a diretoria", "Maria",
+                Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2));
+        Tarefa semRelacao = novaTarefa("Configurar servidor", "Ajustar memória", "Carlos",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(3));
+        repository.salvar(naDescricao);
+        repository.salvar(noTitulo);
+        repository.salvar(semRelacao);
+
+        List<Tarefa> porPrefixo = repository.filtrar(null, "publi", null, null, null);
+        assertEquals(List.of(noTitulo.getId(), naDescricao.getId()), ids(porPrefixo),
+                "Termos no título devem ter mais relevância que na descrição");
+
+        List<Tarefa> semAcento = repository.filtrar(null, "HOMOLOGACAO", null, null, null);
+        assertEquals(List.of(naDescricao.getId()), ids(semAcento), "A busca deve ignorar acentos e caixa");
+
+        assertTrue(repository.filtrar(null, "publi servidor", null, null, null).isEmpty(),
+                "Todos os termos precisam estar presentes");
+        assertEquals(1, repository.contar(null, "publi", "maria", null, null),
+                "A busca textual deve combinar com os demais filtros");
+
+        noTitulo.setTitulo("Relatório anual");
+        noTitulo.setDescricao("Enviar para a diretoria");
+        repository.atualizar(noTitulo);
+        assertEquals(List.of(naDescricao.getId()), ids(repository.filtrar(null, "publi", null, null, null)),
+                "Alterações devem refletir no índice textual");
+    }
+
+    @Test
+    void buscaTextualDeveFiltrarAntesDePaginarSemLimiteDeResultados() {
+        // Mais de mil tarefas concluídas com o termo no título, mais relevantes que as em andamento
+        List<Tarefa> lote = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            lote.add(novaTarefa("Relatório " + i, "Arquivo", "Ana",
+                    Tarefa.Prioridade.MEDIA, Tarefa.Situacao.CONCLUIDA, LocalDate.now().plusDays(i % 30)));
+        }
+        List<Tarefa> emAndamento = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            emAndamento.add(novaTarefa("Revisão " + i, "Conferir o relatório", "Maria",
+                    Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(3 - i)));
+        }
+        repository.salvarLote(lote);
+        repository.salvarLote(emAndamento);
+
+        assertEquals(3, repository.filtrar(null, "relatorio", null, null, Tarefa.Situacao.EM_ANDAMENTO, 0, 10).size(),
+                "Os demais filtros devem ser aplicados antes do corte por relevância");
+        assertEquals(3, repository.contar(null, "relatorio", null, null, Tarefa.Situacao.EM_ANDAMENTO));
+        assertEquals(1203, repository.contar(null, "relatorio", null, null, null), "A contagem não tem limite");
+
+        long[] exportadas = new long[1];
+        assertEquals(1203, repository.percorrer(null, "relatorio", null, null, null, tarefa -> exportadas[0]++));
+        assertEquals(1203, exportadas[0]);
+
+        // Cursor: mesma ordem (deadline, id) da listagem sem texto, restrita às tarefas encontradas
+        PaginaTarefas<Tarefa> pagina = repository.filtrarApos(null, "relatorio", "maria", null, null, null, 2);
+        assertEquals(List.of(emAndamento.get(2).getId(), emAndamento.get(1).getId()), ids(pagina.getTarefas()));
+        PaginaTarefas<Tarefa> ultima = repository.filtrarApos(null, "relatorio", "maria", null, null,
+                pagina.getCursorProximo(), 2);
+        assertEquals(List.of(emAndamento.get(0).getId()), ids(ultima.getTarefas()));
+        assertFalse(ultima.isTemProxima());
+        assertEquals(ids(pagina.getTarefas()), ids(repository.filtrarAntes(null, "relatorio", "maria", null, null,
+                ultima.getCursorAnterior(), 2).getTarefas()));
+    }
+
+    @Test
+    void cacheDeveServirLeiturasRepetidasEInvalidarNasEscritas() {
+        Tarefa tarefa = novaTarefa("Cachear consulta", "Verificar cache", "Ana",
+                Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(1));
+        repository.salvar(tarefa);
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        repository.buscarPorId(tarefa.getId());
+        repository.buscarPorId(tarefa.getId());
+        assertTrue(estatisticas.getSecondLevelCacheHitCount() > 0, "Leituras repetidas devem vir do cache");
+
+        assertEquals(1, repository.contar(null, null, "ana", null, Tarefa.Situacao.EM_ANDAMENTO));
+        assertEquals(1, repository.contar(null, null, "ana", null, Tarefa.Situacao.EM_ANDAMENTO));
+        assertEquals(1, estatisticas.getQueryCacheHitCount(), "O mesmo filtro deve ser servido pelo cache de consultas");
+
+        tarefa.setResponsavel("Maria");
+        repository.atualizar(tarefa);
+        assertEquals(0, repository.contar(null, null, "ana", null, Tarefa.Situacao.EM_ANDAMENTO),
+                "Atualizações devem invalidar consultas em cache");
+        assertEquals("Maria", repository.buscarPorId(tarefa.getId()).getResponsavel());
+
+        repository.remover(tarefa.getId());
+        assertNull(repository.buscarPorId(tarefa.getId()), "Remoções devem invalidar a entidade em cache");
+        assertEquals(0, repository.contar(null, null, "maria", null, null));
+
+        assertTrue(new EstatisticasCache(emf).regioes().stream()
+                .anyMatch(regiao -> regiao.getNome().equals(Tarefa.class.getName()) && regiao.getAcertos() > 0));
+    }
+
+    @Test
+    void poolDeveRegistrarAquisicoesEDevolverAsConexoes() {
+        EstatisticasConexoes estatisticas = new EstatisticasConexoes(emf);
+        long antes = estatisticas.pool().getAquisicoes();
+
+        repository.salvar(novaTarefa("Medir pool", "Conexões", "Ana",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now()));
+        repository.listarTodas();
+
+        EstatisticasConexoes.Pool pool = estatisticas.pool();
+        assertTrue(pool.getAquisicoes() > antes, "Cada operação deve obter conexão do pool");
+        assertEquals(0, pool.getAtivas(), "Nenhuma conexão deve ficar presa após as operações");
+        assertEquals(0, pool.getTimeouts());
+    }
+
+    @Test
+    void filtrarPaginadoDeveRetornarSomenteAPaginaSolicitada() {
+        for (int i = 1; i <= 25; i++) {
+            Tarefa.Situacao situacao = i % 5 == 0 ? Tarefa.Situacao.CONCLUIDA : Tarefa.Situacao.EM_ANDAMENTO;
+            repository.salvar(novaTarefa("Tarefa " + i, "Descrição " + i, "Ana",
+                    Tarefa.Prioridade.MEDIA, situacao, LocalDate.now().plusDays(1)));
+        }
+
+        long total = repository.contar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO);
+        assertEquals(20, total, "A contagem deve considerar apenas tarefas em andamento");
+
+        List<Tarefa> primeiraPagina = repository.filtrar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, 0, 10);
+        List<Tarefa> ultimaPagina = repository.filtrar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, 10, 10);
+
+        assertEquals(10, primeiraPagina.size());
+        assertEquals(10, ultimaPagina.size());
+        assertEquals("Tarefa 1", primeiraPagina.get(0).getTitulo(), "Páginas devem seguir a ordem do ID");
+        assertEquals("Tarefa 24", ultimaPagina.get(9).getTitulo());
+        assertTrue(primeiraPagina.stream().allMatch(t -> t.getSituacao() == Tarefa.Situacao.EM_ANDAMENTO));
+        assertTrue(repository.filtrar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, 20, 10).isEmpty());
+    }
+
+    @Test
+    void filtrarPorCursorDeveNavegarParaFrenteEParaTras() {
+        for (int i = 1; i <= 25; i++) {
+            // Deadlines repetidos garantem que o desempate por ID seja exercitado
+            repository.salvar(novaTarefa("Tarefa " + i, "Descrição " + i, "Maria",
+                    Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(i % 4)));
+        }
+
+        PaginaTarefas<Tarefa> primeira = repository.filtrarApos(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, null, 10);
+        PaginaTarefas<Tarefa> segunda = repository.filtrarApos(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO,
+                primeira.getCursorProximo(), 10);
+        PaginaTarefas<Tarefa> terceira = repository.filtrarApos(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO,
+                segunda.getCursorProximo(), 10);
+
+        assertFalse(primeira.isTemAnterior(), "A primeira página não possui anterior");
+        assertEquals(ids(repository.filtrar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, 10, 10)),
+                ids(segunda.getTarefas()), "Cursor e OFFSET devem produzir a mesma página");
+        assertEquals(5, terceira.getTarefas().size());
+        assertFalse(terceira.isTemProxima(), "A última página não possui próxima");
+
+        PaginaTarefas<Tarefa> voltaSegunda = repository.filtrarAntes(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO,
+                terceira.getCursorAnterior(), 10);
+        PaginaTarefas<Tarefa> voltaPrimeira = repository.filtrarAntes(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO,
+                voltaSegunda.getCursorAnterior(), 10);
+
+        assertEquals(ids(segunda.getTarefas()), ids(voltaSegunda.getTarefas()));
+        assertEquals(ids(primeira.getTarefas()), ids(voltaPrimeira.getTarefas()));
+        assertFalse(voltaPrimeira.isTemAnterior());
+        assertThrows(IllegalArgumentException.class, () -> repository.filtrarApos(null, null, null, null, null, "invalido", 10));
+    }
+
+    @Test
+    void resumirDeveTrazerAsMesmasLinhasSemCarregarEntidades() {
+        for (int i = 1; i <= 15; i++) {
+            repository.salvar(novaTarefa("Tarefa " + i, "Descrição longa " + i, i % 2 == 0 ? "Ana" : "Carlos",
+                    Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(i % 3)));
+        }
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        PaginaTarefas<TarefaResumo> primeira = repository.resumirApos(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, null, 10);
+        PaginaTarefas<TarefaResumo> segunda = repository.resumirApos(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO,
+                primeira.getCursorProximo(), 10);
+        List<TarefaResumo> porOffset = repository.resumir(null, null, "ana", null, null, 0, 10);
+        List<TarefaResumo> porTexto = repository.resumir(null, "longa 1", null, null, null, 0, 10);
+
+        assertEquals(0, estatisticas.getEntityLoadCount(), "A projeção não deve materializar entidades");
+        List<Tarefa> entidades = repository.filtrar(null, null, null, null, Tarefa.Situacao.EM_ANDAMENTO, 0, 10);
+        assertEquals(ids(entidades), primeira.getTarefas().stream().map(TarefaResumo::getId).collect(Collectors.toList()));
+        assertEquals(entidades.get(0).getTitulo(), primeira.getTarefas().get(0).getTitulo());
+        assertEquals(entidades.get(0).getResponsavel(), primeira.getTarefas().get(0).getResponsavel());
+        assertEquals(5, segunda.getTarefas().size());
+        assertEquals(7, porOffset.size());
+        assertTrue(porOffset.stream().allMatch(t -> t.getResponsavel().equals("Ana")));
+        assertFalse(porTexto.isEmpty());
+        assertTrue(porTexto.stream().allMatch(t -> t.getTitulo().startsWith("Tarefa 1")));
+    }
+
+    @Test
+    void filtrosDevemReutilizarPlanosPreCompilados() {
+        Tarefa tarefa = novaTarefa("Planejar sprint", "Definir escopo", "Ana",
+                Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2));
+        repository.salvar(tarefa);
+        emf.unwrap(SessionFactory.class).getStatistics().clear();
+
+        // Todas as combinações de filtros sem busca textual, nos caminhos de listagem, contagem e cursor
+        for (int mascara = 0; mascara < ConsultasTarefa.FORMATOS; mascara++) {
+            if ((mascara & ConsultasTarefa.BUSCA) != 0) {
+                continue;
+            }
+            Long id = (mascara & ConsultasTarefa.ID) != 0 ? tarefa.getId() : null;
+            String responsavel = (mascara & ConsultasTarefa.RESPONSAVEL) != 0 ? "ana" : null;
+            Tarefa.Prioridade prioridade = (mascara & ConsultasTarefa.PRIORIDADE) != 0 ? Tarefa.Prioridade.ALTA : null;
+            Tarefa.Situacao situacao = (mascara & ConsultasTarefa.SITUACAO) != 0 ? Tarefa.Situacao.EM_ANDAMENTO : null;
+
+            assertEquals(1, repository.filtrar(id, null, responsavel, prioridade, situacao, 0, 10).size());
+            assertEquals(1, repository.contar(id, null, responsavel, prioridade, situacao));
+            repository.resumirApos(id, null, responsavel, prioridade, situacao, null, 10);
+        }
+
+        EstatisticasCache.PlanosConsulta planos = new EstatisticasCache(emf).planosConsulta();
+        assertEquals(0, planos.getFalhas(), "Nenhum formato deve precisar de nova tradução do JPQL");
+        assertTrue(planos.getAcertos() >= 48);
+        assertEquals(1.0, planos.getTaxaAcerto());
+    }
+
+    @Test
+    void escritasConfirmadasDevemAvancarAGeracao() {
+        long inicial = repository.getGeracao();
+        Tarefa tarefa = novaTarefa("Enviar relatório", "Relatório mensal", "Carlos",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(1));
+
+        repository.salvar(tarefa);
+        assertEquals(inicial + 1, repository.getGeracao());
+
+        // Nada concluído nem removido: a contagem guardada pelas telas continua válida
+        repository.concluir(List.of(-1L));
+        repository.removerTodas(List.of(-1L));
+        repository.remover(-1L);
+        assertEquals(inicial + 1, repository.getGeracao());
+
+        repository.concluir(List.of(tarefa.getId()));
+        repository.removerTodas(List.of(tarefa.getId()));
+        assertEquals(inicial + 3, repository.getGeracao());
+    }
+
+    @Test
+    void escritaEmUmNoDeveInvalidarOsDadosEmMemoriaDosDemais() {
+        CanalInvalidacaoMemoria canalA = new CanalInvalidacaoMemoria();
+        CanalInvalidacaoMemoria canalB = canalA.novoNo();
+        TarefaRepository noA = new TarefaRepository(emf, canalA);
+        TarefaRepository noB = new TarefaRepository(emf, canalB);
+        try {
+            // O índice de busca do nó B foi carregado antes da inclusão feita pelo nó A
+            Tarefa tarefa = novaTarefa("Orçamento anual", "Consolidar planilhas", "Ana",
+                    Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(5));
+            long geracaoB = noB.getGeracao();
+            noA.salvar(tarefa);
+
+            assertEquals(List.of(tarefa.getId()), ids(noB.filtrar(null, "orcamento", null, null, null)));
+            assertEquals(geracaoB + 1, noB.getGeracao(), "A tela do nó B deve recontar após a escrita remota");
+
+            // Conclusão feita em outro nó: a entidade em cache ficou velha e é descartada (inclusões e
+            // atualizações são relidas do banco logo em seguida)
+            noB.buscarPorId(tarefa.getId());
+            assertTrue(emf.getCache().contains(Tarefa.class, tarefa.getId()));
+            canalA.novoNo().publicar(Invalidacao.de(AlteracaoTarefa.Tipo.CONCLUSAO, List.of(tarefa.getId())));
+            assertFalse(emf.getCache().contains(Tarefa.class, tarefa.getId()));
+
+            noA.removerTodas(List.of(tarefa.getId()));
+            assertTrue(noB.filtrar(null, "orcamento", null, null, null).isEmpty());
+        } finally {
+            noA.encerrar();
+            noB.encerrar();
+        }
+    }
+
+    @Test
+    void avisoDeInvalidacaoDeveSobreviverACodificacao() {
+        Invalidacao aviso = Invalidacao.de(AlteracaoTarefa.Tipo.CONCLUSAO, List.of(3L, 5L, 8L));
+
+        Invalidacao lido = Invalidacao.decodificar(aviso.codificar());
+        assertEquals(AlteracaoTarefa.Tipo.CONCLUSAO, lido.getTipo());
+        assertEquals(List.of(3L, 5L, 8L), lido.getIds());
+        assertTrue(Invalidacao.decodificar(Invalidacao.completa().codificar()).isCompleta());
+        assertEquals(2, aviso.dividir(2).size());
+        assertThrows(IllegalArgumentException.class, () -> Invalidacao.decodificar("sem separador"));
+    }
+
+    @Test
+    void painelDeveAcompanharAsEscritasSemConsultarOBanco() {
+        Tarefa atrasada = novaTarefa("Fechar folha", "Folha de pagamento", "Ana",
+                Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().minusDays(2));
+        repository.salvar(atrasada);
+        assertEquals(1, repository.painel().getAtrasadas(), "A primeira exibição reconcilia com o banco");
+
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Tarefa tarefa = novaTarefa("Revisar contrato", "Cláusulas novas", "Bruno",
+                Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(4));
+        repository.salvarLote(List.of(tarefa, novaTarefa("Planejar sprint", "Backlog", "Ana",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(1))));
+        tarefa.setResponsavel("Ana");
+        repository.atualizar(tarefa);
+        repository.concluir(List.of(atrasada.getId()));
+
+        long consultasAntes = estatisticas.getQueryExecutionCount();
+        PainelTarefas painel = repository.painel();
+        assertEquals(consultasAntes, estatisticas.getQueryExecutionCount(), "O painel deve vir dos contadores em memória");
+
+        assertEquals(2, painel.getAbertas());
+        assertEquals(0, painel.getAtrasadas());
+        assertEquals(List.of("Ana"), painel.getAbertasPorResponsavel().stream()
+                .map(PainelTarefas.Contagem::getRotulo).collect(Collectors.toList()));
+        assertEquals(2, painel.getAbertasPorResponsavel().get(0).getQuantidade());
+        assertEquals(List.of(0L, 1L, 1L), painel.getAbertasPorPrioridade().stream()
+                .map(PainelTarefas.Contagem::getQuantidade).collect(Collectors.toList()));
+        assertEquals(List.of(2L, 1L), painel.getPorSituacao().stream()
+                .map(PainelTarefas.Contagem::getQuantidade).collect(Collectors.toList()));
+
+        // Os valores incrementais coincidem com uma nova reconciliação a partir do zero
+        PainelTarefas reconciliado = new TarefaRepository(emf).painel();
+        assertEquals(painel.getAbertas(), reconciliado.getAbertas());
+        assertEquals(painel.getAtrasadas(), reconciliado.getAtrasadas());
+        assertEquals(painel.getAbertasPorResponsavel().get(0).getQuantidade(),
+                reconciliado.getAbertasPorResponsavel().get(0).getQuantidade());
+        assertEquals(List.of(2L, 1L), reconciliado.getPorSituacao().stream()
+                .map(PainelTarefas.Contagem::getQuantidade).collect(Collectors.toList()), "Concluídas só pelo total");
+
+        repository.removerTodas(List.of(tarefa.getId(), atrasada.getId()));
+        assertEquals(1, repository.painel().getAbertas());
+        assertEquals(List.of(1L, 0L), repository.painel().getPorSituacao().stream()
+                .map(PainelTarefas.Contagem::getQuantidade).collect(Collectors.toList()));
+    }
+
+    @Test
+    void escritasRemotasDevemReconciliarOPainelNoMaximoUmaVezPorIntervalo() {
+        long minuto = TimeUnit.MINUTES.toNanos(1);
+        long segundo = TimeUnit.SECONDS.toNanos(1);
+        ContadoresTarefas contadores = new ContadoresTarefas();
+        assertTrue(contadores.iniciarReconciliacao(0, 5 * minuto, 10 * segundo), "Primeira exibição");
+        contadores.recarregar(List.of(), List.of(), 0);
+
+        for (int i = 0; i < 100; i++) {
+            contadores.marcarAlteracaoRemota();
+        }
+        assertFalse(contadores.iniciarReconciliacao(segundo, 5 * minuto, 10 * segundo),
+                "Uma rajada de escritas remotas não relê o banco a cada escrita");
+        assertTrue(contadores.iniciarReconciliacao(10 * segundo, 5 * minuto, 10 * segundo));
+        contadores.recarregar(List.of(), List.of(), 10 * segundo);
+        assertFalse(contadores.iniciarReconciliacao(30 * segundo, 5 * minuto, 10 * segundo),
+                "Sem novas escritas remotas vale o intervalo longo");
+
+        contadores.marcarDesatualizado();
+        assertTrue(contadores.iniciarReconciliacao(31 * segundo, 5 * minuto, 10 * segundo),
+                "Desvio local continua reconciliando na próxima leitura");
+    }
+
+    @Test
+    void prazosAteDevePercorrerAJanelaEmBlocosPeloCursor() {
+        LocalDate hoje = LocalDate.now();
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tarefas.add(novaTarefa("Prazo " + i, "Descrição", "Ana", Tarefa.Prioridade.MEDIA,
+                    Tarefa.Situacao.EM_ANDAMENTO, hoje.plusDays(i)));
+        }
+        tarefas.add(novaTarefa("Concluída", "Descrição", "Ana", Tarefa.Prioridade.MEDIA,
+                Tarefa.Situacao.CONCLUIDA, hoje));
+        repository.salvarLote(tarefas);
+
+        List<TarefaResumo> primeiro = repository.prazosAte(hoje.plusDays(3), null, 2);
+        List<TarefaResumo> segundo = repository.prazosAte(hoje.plusDays(3), primeiro.get(1), 2);
+
+        assertEquals(List.of(tarefas.get(0).getId(), tarefas.get(1).getId()),
+                primeiro.stream().map(TarefaResumo::getId).collect(Collectors.toList()));
+        assertEquals(List.of(tarefas.get(2).getId()), segundo.stream().map(TarefaResumo::getId).collect(Collectors.toList()),
+                "Apenas tarefas em andamento com prazo antes do fim da janela");
+    }
+
+    @Test
+    void avisosDePrazoDevemSerReservadosUmaVezPorDeadline() {
+        LocalDate hoje = LocalDate.now();
+        Tarefa tarefa = novaTarefa("Renovar contrato", "Prazo do fornecedor", "Ana", Tarefa.Prioridade.ALTA,
+                Tarefa.Situacao.EM_ANDAMENTO, hoje.plusDays(1));
+        Tarefa concluida = novaTarefa("Pagar fatura", "Já paga", "Ana", Tarefa.Prioridade.MEDIA,
+                Tarefa.Situacao.CONCLUIDA, hoje.plusDays(1));
+        repository.salvarLote(List.of(tarefa, concluida));
+        TarefaResumo resumo = repository.prazosAte(hoje.plusDays(2), null, 10).get(0);
+        TarefaResumo resumoConcluida = new TarefaResumo(concluida.getId(), concluida.getTitulo(),
+                concluida.getResponsavel(), concluida.getDeadline());
+
+        assertEquals(List.of(resumo), repository.reservarAvisos("VENCENDO", List.of(resumo, resumoConcluida)));
+        assertEquals(List.of(), repository.reservarAvisos("VENCENDO", List.of(resumo)));
+        // Outro nó (ou o mesmo após reiniciar) vê a reserva no banco
+        assertEquals(List.of(), new TarefaRepository(emf).reservarAvisos("VENCENDO", List.of(resumo)));
+        assertEquals(List.of(resumo), repository.reservarAvisos("ATRASADA", List.of(resumo)));
+
+        // Prazo adiado: o aviso vale de novo para o novo deadline
+        Tarefa adiada = repository.buscarPorId(tarefa.getId());
+        adiada.setDeadline(hoje.plusDays(2));
+        repository.atualizar(adiada);
+        assertEquals(List.of(), repository.reservarAvisos("VENCENDO", List.of(resumo)), "Resumo com o prazo antigo");
+        TarefaResumo novoPrazo = repository.prazosAte(hoje.plusDays(3), null, 10).get(0);
+        assertEquals(List.of(novoPrazo), repository.reservarAvisos("VENCENDO", List.of(novoPrazo)));
+    }
+
+    @Test
+    void responsaveisDevemVirDoCatalogoEmMemoria() {
+        repository.salvar(novaTarefa("Conciliar contas", "Extratos de março", "Maria da Silva",
+                Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2)));
+
+        Statistics estatisticas = emf.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        assertEquals(List.of("João"), repository.sugerirResponsaveis("joao", 10), "Sem distinção de acentos");
+        assertEquals(List.of("Maria", "Maria da Silva"), repository.sugerirResponsaveis("MAR", 10));
+        assertEquals(List.of("Maria da Silva"), repository.sugerirResponsaveis("silv", 10), "Qualquer palavra do nome");
+        assertEquals(1, repository.sugerirResponsaveis("", 1).size());
+        assertEquals(0, estatisticas.getPrepareStatementCount(), "O autocompletar não consulta o banco");
+
+        // Outro nó (instância nova) carrega o catálogo já com o responsável cadastrado pela inclusão
+        assertEquals(List.of("Maria da Silva"), new TarefaRepository(emf).sugerirResponsaveis("da s", 10));
+
+        // tarefas.responsavel é chave estrangeira para responsaveis.nome
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            assertThrows(PersistenceException.class, () -> em.createNativeQuery("INSERT INTO tarefas"
+                    + " (id, titulo, descricao, responsavel, prioridade, deadline, situacao, versao)"
+                    + " VALUES (-1, 'x', 'x', 'Ninguém', 'ALTA', CURRENT_DATE, 'EM_ANDAMENTO', 0)").executeUpdate());
+        } finally {
+            em.getTransaction().rollback();
+            em.close();
+        }
+    }
+
+    @Test
+    void repositorioAssincronoDeveLimitarAFilaERecusarExcedentes() throws Exception {
+        TarefaRepositoryAsync async = new TarefaRepositoryAsync(repository, 1, 1, false);
+        try {
+            Tarefa tarefa = novaTarefa("Auditar acessos", "Logs do trimestre", "Carlos",
+                    Tarefa.Prioridade.ALTA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(3));
+            async.salvarAsync(tarefa).get(10, TimeUnit.SECONDS);
+            assertEquals(1L, async.contarAsync(null, null, "Carlos", null, null).get(10, TimeUnit.SECONDS));
+
+            // Uma operação ocupa a única thread e outra espera na fila: a terceira é recusada na hora
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Object> ocupada = async.executar(repo -> aguardar(liberar));
+            CompletableFuture<List<TarefaResumo>> enfileirada = async.resumirAsync(null, null, null, null, null, 0, 10);
+            CompletableFuture<Long> recusada = async.contarAsync(null, null, null, null, null);
+
+            assertTrue(recusada.isCompletedExceptionally());
+            ExecutionException erro = assertThrows(ExecutionException.class, recusada::get);
+            assertTrue(erro.getCause() instanceof RejectedExecutionException);
+            assertEquals(1, async.metricas().getRejeitadas());
+
+            liberar.countDown();
+            ocupada.get(10, TimeUnit.SECONDS);
+            assertEquals(List.of(tarefa.getId()), enfileirada.get(10, TimeUnit.SECONDS).stream()
+                    .map(TarefaResumo::getId).collect(Collectors.toList()));
+            TarefaRepositoryAsync.Metricas metricas = async.metricas();
+            assertEquals(0, metricas.getAguardando());
+            assertEquals(4, metricas.getConcluidas());
+        } finally {
+            async.encerrar();
+        }
+    }
+
+    @Test
+    void operacoesLongasNaoDevemOcuparTodasAsThreadsDoRepositorioAssincrono() throws Exception {
+        TarefaRepositoryAsync async = new TarefaRepositoryAsync(repository, 2, 10, false, 1);
+        try {
+            // Uma exportação ocupa uma das duas threads; a segunda é recusada em vez de tomar a outra
+            CountDownLatch liberar = new CountDownLatch(1);
+            CompletableFuture<Object> exportacao = async.executarLonga(repo -> aguardar(liberar));
+            CompletableFuture<Object> outraExportacao = async.executarLonga(repo -> aguardar(liberar));
+            assertTrue(outraExportacao.isCompletedExceptionally());
+            assertEquals(1, async.metricas().getLongas());
+
+            // A contagem da tabela continua com thread livre e não espera pela exportação
+            assertTrue(async.temThreadLivre());
+            assertEquals(0L, async.contarAsync(null, null, "Ninguém", null, null).get(10, TimeUnit.SECONDS));
+
+            liberar.countDown();
+            exportacao.get(10, TimeUnit.SECONDS);
+            assertEquals(0, async.metricas().getLongas());
+            assertFalse(async.executarLonga(repo -> null).isCompletedExceptionally());
+        } finally {
+            async.encerrar();
+        }
+    }
+
+    @Test
+    void metricasDevemRegistrarChamadasLinhasEFalhas() {
+        MetricasRepositorio metricas = repository.getMetricas();
+        long salvarAntes = metricas.getChamadas(MetricasRepositorio.Operacao.SALVAR);
+        long listarAntes = metricas.getLinhas(MetricasRepositorio.Operacao.LISTAR_TODAS);
+
+        Tarefa tarefa = novaTarefa("Medir latência", "Instrumentar o repositório", "Ana",
+                Tarefa.Prioridade.MEDIA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(2));
+        repository.salvar(tarefa);
+        repository.salvar(novaTarefa("Publicar métricas", "Endpoint do Prometheus", "Ana",
+                Tarefa.Prioridade.BAIXA, Tarefa.Situacao.EM_ANDAMENTO, LocalDate.now().plusDays(4)));
+        repository.resumir(null, null, "Ana", null, null, 0, 10);
+        repository.listarTodas();
+
+        Tarefa antiga = repository.buscarPorId(tarefa.getId());
+        Tarefa editada = repository.buscarPorId(tarefa.getId());
+        editada.setTitulo("Medir latência e linhas");
+        repository.atualizar(editada);
+        antiga.setTitulo("Edição concorrente");
+        assertThrows(OptimisticLockException.class, () -> repository.atualizar(antiga));
+
+        assertEquals(salvarAntes + 2, metricas.getChamadas(MetricasRepositorio.Operacao.SALVAR));
+        assertEquals(2, metricas.getLinhas(MetricasRepositorio.Operacao.RESUMIR));
+        assertEquals(listarAntes + 2, metricas.getLinhas(MetricasRepositorio.Operacao.LISTAR_TODAS));
+        assertEquals(2, metricas.getChamadas(MetricasRepositorio.Operacao.ATUALIZAR));
+        assertEquals(1, metricas.getFalhas(MetricasRepositorio.Operacao.ATUALIZAR));
+        assertEquals(1, metricas.getConflitosVersao());
+        assertEquals(1, metricas.getTransacoesDesfeitas());
+
+        StringBuilder saida = new StringBuilder();
+        metricas.escrever(saida);
+        String texto = saida.toString();
+        assertTrue(texto.contains("# TYPE tarefas_repositorio_segundos histogram\n"));
+        assertTrue(texto.contains("tarefas_repositorio_segundos_count{operacao=\"atualizar\"} 2\n"));
+        assertTrue(texto.contains("tarefas_repositorio_segundos_bucket{operacao=\"salvar\",le=\"+Inf\"} "));
+        assertTrue(texto.contains("tarefas_repositorio_falhas_total{operacao=\"atualizar\"} 1\n"));
+    }
+
+    private static Object aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
     /** Remove todos os registros para manter os testes independentes. */
     private void limparBanco() {
         repository.listarTodas().forEach(tarefa -> repository.remover(tarefa.getId()));
     }
 
+    private List<Long> ids(List<Tarefa> tarefas) {
+        return tarefas.stream().map(Tarefa::getId).collect(Collectors.toList());
+    }
+
     private Tarefa novaTarefa(String titulo, String descricao, String responsavel,
                               Tarefa.Prioridade prioridade, Tarefa.Situacao situacao, LocalDate deadline) {
         Tarefa tarefa = new Tarefa();